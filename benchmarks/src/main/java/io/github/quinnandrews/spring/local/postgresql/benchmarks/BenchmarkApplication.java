@@ -0,0 +1,76 @@
+package io.github.quinnandrews.spring.local.postgresql.benchmarks;
+
+import io.github.quinnandrews.spring.local.postgresql.config.EnableLocalPostgreSQL;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p> The Application the benchmarks start, which does nothing but connect to the
+ * database in the Container that {@link EnableLocalPostgreSQL} configures.
+ *
+ * @author Quinn Andrews
+ */
+@EnableLocalPostgreSQL
+@SpringBootApplication
+public class BenchmarkApplication {
+
+    /**
+     * The Docker Image all benchmarks run.
+     */
+    public static final String IMAGE = "postgres:15";
+
+    /**
+     * The configuration every benchmark starts from, as in the test profiles of the
+     * library itself.
+     */
+    private static final Map<String, Object> DEFAULT_PROPERTIES = Map.of(
+            "spring.local.postgresql.container.image", IMAGE,
+            "spring.local.postgresql.database.name", "pedals",
+            "spring.local.postgresql.database.username", "fuzz",
+            "spring.local.postgresql.database.password", "echo",
+            // Keeps the output of JMH readable.
+            "logging.level.root", "WARN");
+
+    /**
+     * Starts the Application in the given configuration mode.
+     *
+     * @param mode The configuration mode.
+     * @return ConfigurableApplicationContext
+     */
+    public static ConfigurableApplicationContext start(final ConfigurationMode mode) {
+        final var properties = new HashMap<>(DEFAULT_PROPERTIES);
+        properties.putAll(mode.getProperties());
+        return new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * Executes 'SELECT 1' over a connection from the Application's DataSource, which
+     * is when the Application is ready to use in every configuration mode, including
+     * those that defer the start of the Container.
+     *
+     * @param context The Application Context.
+     * @return int
+     * @throws SQLException If the query fails.
+     */
+    public static int selectOne(final ConfigurableApplicationContext context) throws SQLException {
+        try (final var connection = context.getBean(DataSource.class).getConnection();
+             final var statement = connection.createStatement();
+             final var resultSet = statement.executeQuery("SELECT 1")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.quinnandrews.spring.local.postgresql.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Optional;
+
+/**
+ * <p> Runs the benchmarks, accepting the same options as JMH's own main class, but
+ * writing the results as JSON to 'jmh-result-&lt;version&gt;.json' unless told
+ * otherwise (with '-rf' and '-rff'), so that the results of different versions of
+ * the library can be compared.
+ *
+ * @author Quinn Andrews
+ */
+public class Benchmarks {
+
+    public static void main(final String[] args) throws Exception {
+        final var commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp()) {
+            commandLineOptions.showHelp();
+            return;
+        }
+        final var options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .resultFormat(commandLineOptions.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(commandLineOptions.getResult().orElse(defaultResultFile()))
+                .build();
+        final var runner = new Runner(options);
+        if (commandLineOptions.shouldList()) {
+            runner.list();
+            return;
+        }
+        runner.run();
+    }
+
+    /**
+     * Returns the name of the result file, after the version of the library under
+     * test, as recorded in the manifest of the benchmarks' jar.
+     *
+     * @return String
+     */
+    private static String defaultResultFile() {
+        return "jmh-result-" + Optional.ofNullable(Benchmarks.class.getPackage().getImplementationVersion())
+                .orElse("dev") + ".json";
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.quinnandrews.spring.local.postgresql.benchmarks;
+
+import java.util.Map;
+
+/**
+ * <p> The configuration modes of the Container the benchmarks compare, each of which
+ * adds its properties to the defaults of {@link BenchmarkApplication}.
+ *
+ * @author Quinn Andrews
+ */
+public enum ConfigurationMode {
+
+    /**
+     * Starts the Container when its Bean is created (the default).
+     */
+    EAGER(Map.of()),
+    /**
+     * Starts the Container in the background.
+     */
+    ASYNC(Map.of("spring.local.postgresql.container.startup", "async")),
+    /**
+     * Starts the Container once the database is first used.
+     */
+    LAZY(Map.of("spring.local.postgresql.container.startup", "lazy")),
+    /**
+     * Keeps the data in memory and disables durability.
+     */
+    FAST(Map.of("spring.local.postgresql.performance.mode", "fast")),
+    /**
+     * Connects the Application to its own clone of the database.
+     */
+    CLONE(Map.of("spring.local.postgresql.database.clone", "true")),
+    /**
+     * Starts the Container from a snapshot, once one has been taken.
+     */
+    SNAPSHOT(Map.of("spring.local.postgresql.container.snapshot.enabled", "true")),
+    /**
+     * Attaches to a running Container, once one has been left running. Requires
+     * 'testcontainers.reuse.enable=true' in '~/.testcontainers.properties'.
+     */
+    REUSE(Map.of("spring.local.postgresql.container.reuse", "true"));
+
+    private final Map<String, String> properties;
+
+    ConfigurationMode(final Map<String, String> properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Returns the properties of the mode.
+     *
+     * @return Map of property names to values.
+     */
+    public Map<String, String> getProperties() {
+        return properties;
+    }
+}
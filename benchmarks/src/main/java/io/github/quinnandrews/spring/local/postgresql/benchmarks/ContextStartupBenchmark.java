@@ -0,0 +1,71 @@
+package io.github.quinnandrews.spring.local.postgresql.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p> Measures how long it takes to start an Application with
+ * {@code @EnableLocalPostgreSQL} in each {@link ConfigurationMode}, until its
+ * DataSource has executed a first query, so that the modes that defer the start of
+ * the Container are not credited with time they only move elsewhere.
+ *
+ * <p> A 'cold' start is the first start in a fresh JVM, with nothing loaded or
+ * compiled yet, so each measurement gets a fork of its own. A 'warm' start is any
+ * later start in the same JVM, as when a test suite starts one Application Context
+ * after another. Each Application Context is closed before the next starts, which is
+ * not measured. The 'SNAPSHOT' and 'REUSE' modes only show their benefit once a
+ * snapshot has been taken or a Container left running, that is, after the first
+ * start of the first fork.
+ *
+ * @author Quinn Andrews
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ContextStartupBenchmark {
+
+    @Param
+    public ConfigurationMode mode;
+
+    private ConfigurableApplicationContext context;
+
+    @Benchmark
+    @Fork(5)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public int cold() throws SQLException {
+        context = BenchmarkApplication.start(mode);
+        return BenchmarkApplication.selectOne(context);
+    }
+
+    @Benchmark
+    @Fork(1)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public int warm() throws SQLException {
+        context = BenchmarkApplication.start(mode);
+        return BenchmarkApplication.selectOne(context);
+    }
+
+    @TearDown(Level.Iteration)
+    public void close() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.quinnandrews.spring.local.postgresql.benchmarks;
+
+import io.github.quinnandrews.spring.local.postgresql.config.JdbcProbeWaitStrategy;
+import io.github.quinnandrews.spring.local.postgresql.config.LocalPostgreSQLContainer;
+import io.github.quinnandrews.spring.local.postgresql.config.PostgreSQLContainerConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p> Measures the time to first connection, from the moment the JDBC URL is asked of
+ * {@link PostgreSQLContainerConfig.LocalPostgreSQLConnectionDetails}, as Spring Boot
+ * does, to an open connection, with a 'lazy' Container, so that its whole start is
+ * included, without an Application Context around it. Compares the readiness
+ * strategies, 'log' (Testcontainers' default) and 'jdbc'.
+ *
+ * @author Quinn Andrews
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 10)
+public class FirstConnectionBenchmark {
+
+    @Param({"log", "jdbc"})
+    public String readiness;
+
+    private LocalPostgreSQLContainer container;
+
+    @Setup(Level.Iteration)
+    public void createContainer() {
+        container = new LocalPostgreSQLContainer(DockerImageName.parse(BenchmarkApplication.IMAGE))
+                .withStartupMode(LocalPostgreSQLContainer.StartupMode.LAZY)
+                .withDatabaseName("pedals")
+                .withUsername("fuzz")
+                .withPassword("echo");
+        if ("jdbc".equals(readiness)) {
+            container.waitingFor(new JdbcProbeWaitStrategy());
+        }
+        // Deferred until the JDBC URL is first asked for.
+        container.start();
+    }
+
+    @Benchmark
+    public boolean firstConnection() throws SQLException {
+        final var connectionDetails = new PostgreSQLContainerConfig.LocalPostgreSQLConnectionDetails(
+                null, null, container);
+        try (final var connection = DriverManager.getConnection(connectionDetails.getJdbcUrl(),
+                connectionDetails.getUsername(), connectionDetails.getPassword())) {
+            return connection.isValid(1);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopContainer() {
+        container.stop();
+    }
+}
@@ -0,0 +1,151 @@
+package io.github.quinnandrews.spring.local.postgresql.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p> Measures the throughput of JDBC round trips to the database in the Container,
+ * through the Application's DataSource, of single-row and batched inserts and
+ * selects, in the 'EAGER' (standard) and 'FAST' configuration modes.
+ *
+ * <p> Each thread holds a connection of its own for the whole run, so that what is
+ * measured is the round trip rather than the connection pool. The batched benchmarks
+ * count batches, of {@code batchSize} rows each, not rows.
+ *
+ * @author Quinn Andrews
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+public class JdbcThroughputBenchmark {
+
+    /**
+     * The rows in the table before the run, which the selects read.
+     */
+    private static final int SEEDED_ROWS = 100_000;
+
+    @Param({"EAGER", "FAST"})
+    public ConfigurationMode mode;
+
+    @Param({"100"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private DataSource dataSource;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws SQLException {
+        context = BenchmarkApplication.start(mode);
+        dataSource = context.getBean(DataSource.class);
+        try (final var connection = dataSource.getConnection();
+             final var statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS benchmark_pedal");
+            statement.execute("CREATE TABLE benchmark_pedal (id BIGSERIAL PRIMARY KEY, name TEXT NOT NULL, "
+                    + "brand TEXT NOT NULL)");
+            statement.execute("INSERT INTO benchmark_pedal (name, brand) SELECT 'Pedal ' || n, 'Brand ' || (n % 100) "
+                    + "FROM generate_series(1, " + SEEDED_ROWS + ") AS n");
+            statement.execute("ANALYZE benchmark_pedal");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closeApplication() {
+        context.close();
+    }
+
+    /**
+     * The connection and prepared statements of a thread.
+     */
+    @State(Scope.Thread)
+    public static class Session {
+
+        private Connection connection;
+        private PreparedStatement insert;
+        private PreparedStatement selectById;
+        private PreparedStatement selectRange;
+
+        @Setup(Level.Trial)
+        public void open(final JdbcThroughputBenchmark benchmark) throws SQLException {
+            connection = benchmark.dataSource.getConnection();
+            connection.setAutoCommit(true);
+            insert = connection.prepareStatement("INSERT INTO benchmark_pedal (name, brand) VALUES (?, ?)");
+            selectById = connection.prepareStatement("SELECT id, name, brand FROM benchmark_pedal WHERE id = ?");
+            selectRange = connection.prepareStatement(
+                    "SELECT id, name, brand FROM benchmark_pedal WHERE id BETWEEN ? AND ?");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            // Closes the statements as well.
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public int insertSingleRow(final Session session) throws SQLException {
+        session.insert.setString(1, "Fuzz");
+        session.insert.setString(2, "Pedals");
+        return session.insert.executeUpdate();
+    }
+
+    @Benchmark
+    public int[] insertBatch(final Session session) throws SQLException {
+        for (var i = 0; i < batchSize; i++) {
+            session.insert.setString(1, "Fuzz");
+            session.insert.setString(2, "Pedals");
+            session.insert.addBatch();
+        }
+        return session.insert.executeBatch();
+    }
+
+    @Benchmark
+    public void selectSingleRow(final Session session, final Blackhole blackhole) throws SQLException {
+        session.selectById.setLong(1, ThreadLocalRandom.current().nextLong(1, SEEDED_ROWS + 1));
+        try (final var resultSet = session.selectById.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getLong(1));
+                blackhole.consume(resultSet.getString(2));
+                blackhole.consume(resultSet.getString(3));
+            }
+        }
+    }
+
+    @Benchmark
+    public void selectBatch(final Session session, final Blackhole blackhole) throws SQLException {
+        final var from = ThreadLocalRandom.current().nextLong(1, SEEDED_ROWS - batchSize + 2);
+        session.selectRange.setLong(1, from);
+        session.selectRange.setLong(2, from + batchSize - 1);
+        try (final var resultSet = session.selectRange.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getLong(1));
+                blackhole.consume(resultSet.getString(2));
+                blackhole.consume(resultSet.getString(3));
+            }
+        }
+    }
+}
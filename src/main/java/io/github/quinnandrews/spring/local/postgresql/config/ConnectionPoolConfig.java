@@ -0,0 +1,104 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * <p> Sizes the Application's Hikari connection pool to match what the Container
+ * can serve, if 'spring.local.postgresql.datasource.pool.auto-size' is enabled
+ * and HikariCP is on the classpath. See {@link ConnectionPoolSizing}.
+ *
+ * <p> Settings configured explicitly with 'spring.datasource.hikari.*' are left alone,
+ * in any of the forms Spring Boot binds (example: 'SPRING_DATASOURCE_HIKARI_MAXIMUMPOOLSIZE').
+ *
+ * @author Quinn Andrews
+ */
+@ConditionalOnClass(name="com.zaxxer.hikari.HikariDataSource")
+@ConditionalOnProperty(name="spring.local.postgresql.engaged",
+                       havingValue="true",
+                       matchIfMissing = true)
+@Configuration
+public class ConnectionPoolConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolConfig.class);
+
+    /**
+     * Returns a Spring Bean recommending the size of the connection pool.
+     *
+     * @param container         The instance of LocalPostgreSQLContainer the pool connects to.
+     * @param maximumPoolSize   The maximum pool size to use instead of the recommendation (optional).
+     * @param minimumIdle       The minimum number of idle connections to use instead of the
+     *                          recommendation (optional).
+     * @param connectionTimeout The connection timeout to use instead of the recommendation (optional).
+     * @return ConnectionPoolSizing
+     */
+    @Bean
+    @ConditionalOnProperty(name="spring.local.postgresql.datasource.pool.auto-size",
+                           havingValue="true")
+    public ConnectionPoolSizing connectionPoolSizing(final LocalPostgreSQLContainer container,
+                                                     @Value("${spring.local.postgresql.datasource.pool.maximum-size:#{null}}")
+                                                     final Integer maximumPoolSize,
+                                                     @Value("${spring.local.postgresql.datasource.pool.minimum-idle:#{null}}")
+                                                     final Integer minimumIdle,
+                                                     @Value("${spring.local.postgresql.datasource.pool.connection-timeout:#{null}}")
+                                                     final Duration connectionTimeout) {
+        return new ConnectionPoolSizing(container, maximumPoolSize, minimumIdle, connectionTimeout);
+    }
+
+    /**
+     * Returns a BeanPostProcessor that applies the recommended size to the Application's
+     * HikariDataSource, once Spring Boot has bound 'spring.datasource.hikari.*' to it.
+     * The DataSources of the additional, named instances are left alone, since they
+     * connect to Containers of their own.
+     *
+     * @param connectionPoolSizing The recommended size of the connection pool.
+     * @param environment          The Environment holding any explicit Hikari settings.
+     * @return BeanPostProcessor
+     */
+    @Bean
+    @ConditionalOnProperty(name="spring.local.postgresql.datasource.pool.auto-size",
+                           havingValue="true")
+    public static BeanPostProcessor connectionPoolSizer(final ObjectProvider<ConnectionPoolSizing> connectionPoolSizing,
+                                                        final Environment environment) {
+        final var instanceDataSources = PostgreSQLInstancesConfig.dataSourceBeanNames(environment);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(final Object bean, final String beanName) {
+                if (bean instanceof HikariDataSource dataSource && !instanceDataSources.contains(beanName)) {
+                    connectionPoolSizing.ifAvailable(sizing -> size(dataSource, sizing, environment));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static void size(final HikariDataSource dataSource,
+                             final ConnectionPoolSizing sizing,
+                             final Environment environment) {
+        final var binder = Binder.get(environment);
+        if (!binder.bind("spring.datasource.hikari.maximum-pool-size", Integer.class).isBound()) {
+            dataSource.setMaximumPoolSize(sizing.getMaximumPoolSize());
+        }
+        if (!binder.bind("spring.datasource.hikari.minimum-idle", Integer.class).isBound()) {
+            dataSource.setMinimumIdle(sizing.getMinimumIdle());
+        }
+        if (!binder.bind("spring.datasource.hikari.connection-timeout", Long.class).isBound()) {
+            dataSource.setConnectionTimeout(sizing.getConnectionTimeout().toMillis());
+        }
+        logger.info("Sized connection pool '{}': maximum-pool-size={}, minimum-idle={}, connection-timeout={}ms.",
+                dataSource.getPoolName(), dataSource.getMaximumPoolSize(), dataSource.getMinimumIdle(),
+                dataSource.getConnectionTimeout());
+    }
+}
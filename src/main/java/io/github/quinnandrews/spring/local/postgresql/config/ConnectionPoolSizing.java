@@ -0,0 +1,187 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.DockerClientFactory;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * <p> Recommends a size for the Application's connection pool from what the
+ * Container can actually serve: the connections PostgreSQL accepts
+ * ('max_connections', less those reserved for superusers and those already in
+ * use) and the CPUs and memory available to the Container (its limits, or the
+ * Docker host's if it has none).
+ *
+ * <p> The maximum pool size follows the well known formula of twice the number
+ * of cores plus one, lowered if PostgreSQL cannot accept that many more connections,
+ * or if a quarter of the memory could not cover 'work_mem' plus a baseline for each
+ * of them. The pool is kept at its maximum size, since there is little reason for
+ * it to shrink against a dedicated local database, and waiting for a connection
+ * times out after {@link #DEFAULT_CONNECTION_TIMEOUT}, so that a starved pool
+ * shows up as errors rather than as latency. Each value can be overridden.
+ *
+ * <p> The recommendation is made once, when first requested, which waits for the
+ * Container to start.
+ *
+ * @author Quinn Andrews
+ */
+public class ConnectionPoolSizing {
+
+    /**
+     * How long to wait for a connection from the pool, by default.
+     */
+    public static final Duration DEFAULT_CONNECTION_TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * The memory assumed to be used by each connection, besides 'work_mem'.
+     */
+    private static final long CONNECTION_BASELINE_BYTES = 10L * 1024 * 1024;
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolSizing.class);
+
+    private final LocalPostgreSQLContainer container;
+    private final Integer maximumPoolSizeOverride;
+    private final Integer minimumIdleOverride;
+    private final Duration connectionTimeoutOverride;
+    private volatile boolean computed;
+    private int maxConnections;
+    private int availableConnections;
+    private int cpus;
+    private long memoryBytes;
+    private int maximumPoolSize;
+
+    /**
+     * Constructs an instance for the given Container, with the given overrides.
+     *
+     * @param container         The Container the pool connects to.
+     * @param maximumPoolSize   The maximum pool size to use instead of the recommendation (optional).
+     * @param minimumIdle       The minimum number of idle connections to use instead of the
+     *                          recommendation (optional).
+     * @param connectionTimeout The connection timeout to use instead of the recommendation (optional).
+     */
+    public ConnectionPoolSizing(final LocalPostgreSQLContainer container,
+                                final Integer maximumPoolSize,
+                                final Integer minimumIdle,
+                                final Duration connectionTimeout) {
+        this.container = container;
+        this.maximumPoolSizeOverride = maximumPoolSize;
+        this.minimumIdleOverride = minimumIdle;
+        this.connectionTimeoutOverride = connectionTimeout;
+    }
+
+    /**
+     * Returns the maximum size of the pool.
+     *
+     * @return int
+     */
+    public int getMaximumPoolSize() {
+        compute();
+        return Optional.ofNullable(maximumPoolSizeOverride).orElse(maximumPoolSize);
+    }
+
+    /**
+     * Returns the minimum number of idle connections in the pool.
+     *
+     * @return int
+     */
+    public int getMinimumIdle() {
+        return Optional.ofNullable(minimumIdleOverride).orElseGet(this::getMaximumPoolSize);
+    }
+
+    /**
+     * Returns how long to wait for a connection from the pool.
+     *
+     * @return Duration
+     */
+    public Duration getConnectionTimeout() {
+        return Optional.ofNullable(connectionTimeoutOverride).orElse(DEFAULT_CONNECTION_TIMEOUT);
+    }
+
+    /**
+     * Returns the value of 'max_connections'.
+     *
+     * @return int
+     */
+    public int getMaxConnections() {
+        compute();
+        return maxConnections;
+    }
+
+    /**
+     * Returns the number of connections PostgreSQL could still accept from regular
+     * users when the recommendation was made.
+     *
+     * @return int
+     */
+    public int getAvailableConnections() {
+        compute();
+        return availableConnections;
+    }
+
+    /**
+     * Returns the number of CPUs available to the Container.
+     *
+     * @return int
+     */
+    public int getCpus() {
+        compute();
+        return cpus;
+    }
+
+    /**
+     * Returns the memory available to the Container, in bytes.
+     *
+     * @return long
+     */
+    public long getMemoryBytes() {
+        compute();
+        return memoryBytes;
+    }
+
+    private void compute() {
+        if (computed) {
+            return;
+        }
+        synchronized (this) {
+            if (computed) {
+                return;
+            }
+            container.awaitStartup();
+            final var hostConfig = container.getContainerInfo().getHostConfig();
+            final var info = DockerClientFactory.instance().getInfo();
+            cpus = Optional.ofNullable(hostConfig.getNanoCPUs())
+                    .filter(nanoCpus -> nanoCpus > 0)
+                    .map(nanoCpus -> (int) Math.max(1, nanoCpus / 1_000_000_000L))
+                    .orElseGet(info::getNCPU);
+            memoryBytes = Optional.ofNullable(hostConfig.getMemory())
+                    .filter(memory -> memory > 0)
+                    .orElseGet(info::getMemTotal);
+            final long workMemBytes;
+            try (final var connection = container.openConnection(container.getDatabaseName());
+                 final var statement = connection.createStatement();
+                 final var resultSet = statement.executeQuery("SELECT "
+                         + "current_setting('max_connections')::int, "
+                         + "current_setting('superuser_reserved_connections')::int, "
+                         + "(SELECT count(*) FROM pg_stat_activity WHERE backend_type = 'client backend'), "
+                         + "(SELECT setting::bigint * 1024 FROM pg_settings WHERE name = 'work_mem')")) {
+                resultSet.next();
+                maxConnections = resultSet.getInt(1);
+                // The connection used to read the settings is about to be closed.
+                availableConnections = Math.max(1, maxConnections - resultSet.getInt(2) - resultSet.getInt(3) + 1);
+                workMemBytes = resultSet.getLong(4);
+            } catch (final SQLException e) {
+                throw new IllegalStateException("Could not read the connection settings of PostgreSQL.", e);
+            }
+            final var byCpu = cpus * 2 + 1;
+            final var byMemory = (int) Math.max(1, memoryBytes / 4 / (workMemBytes + CONNECTION_BASELINE_BYTES));
+            maximumPoolSize = Math.max(1, Math.min(byCpu, Math.min(byMemory, availableConnections)));
+            computed = true;
+            logger.info("Recommended a connection pool of {} (cpus: {}, memory: {}MB, max_connections: {}, "
+                            + "available: {}).",
+                    maximumPoolSize, cpus, memoryBytes / 1024 / 1024, maxConnections, availableConnections);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+
+/**
+ * <p> Computes a SHA-256 fingerprint of the settings that shape a Container,
+ * so that a Container created with one configuration can be recognized when
+ * the same configuration is used again.
+ *
+ * @author Quinn Andrews
+ */
+final class ContainerFingerprint {
+
+    /**
+     * The Docker Label holding the fingerprint of a Container's configuration.
+     */
+    static final String LABEL = "io.github.quinnandrews.spring.local.postgresql.fingerprint";
+
+    private final MessageDigest digest;
+
+    ContainerFingerprint() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM.", e);
+        }
+    }
+
+    /**
+     * Adds a named value to the fingerprint.
+     *
+     * @param name  The name of the setting.
+     * @param value The value of the setting (may be null).
+     * @return ContainerFingerprint
+     */
+    ContainerFingerprint with(final String name, final Object value) {
+        update(name + "=" + value + "\n");
+        return this;
+    }
+
+    /**
+     * Adds the names and contents of all resources matching the given location
+     * pattern (example: 'classpath*:db/migration/**') to the fingerprint, in a
+     * stable order, so that adding, removing, renaming or editing any of them
+     * changes the fingerprint.
+     *
+     * @param name    The name of the setting.
+     * @param pattern The location pattern.
+     * @return ContainerFingerprint
+     */
+    ContainerFingerprint withResources(final String name, final String pattern) {
+        with(name, pattern);
+        try {
+            final var resources = new PathMatchingResourcePatternResolver().getResources(pattern);
+            Arrays.sort(resources, Comparator.comparing(ContainerFingerprint::describe));
+            for (final Resource resource : resources) {
+                if (!resource.isReadable()) {
+                    continue;
+                }
+                with(name + ".resource", describe(resource));
+                try (final InputStream inputStream = resource.getInputStream()) {
+                    digest.update(inputStream.readAllBytes());
+                }
+                update("\n");
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not read '" + pattern + "' to fingerprint the Container.", e);
+        }
+        return this;
+    }
+
+    /**
+     * Completes the fingerprint. This instance must not be used afterward.
+     *
+     * @return The fingerprint as a hexadecimal String.
+     */
+    String toHex() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String describe(final Resource resource) {
+        return String.valueOf(resource.getFilename());
+    }
+
+    private void update(final String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
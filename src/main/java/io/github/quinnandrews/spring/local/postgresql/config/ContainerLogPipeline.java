@@ -0,0 +1,224 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.output.OutputFrame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * <p> Follows the log of a Container without slowing it down: lines are put in a
+ * bounded buffer by the thread Docker streams the log on, and drained in batches
+ * by a background thread, which parses them into {@link PostgreSQLLogEvent}s, logs
+ * those at or above the minimum severity, and passes them on to any listeners.
+ *
+ * <p> When the buffer fills up faster than it is drained (with 'log_statement=all',
+ * for example), lines are sampled once it is three quarters full, keeping one line
+ * in every 'sample rate', and dropped once it is full. Warnings and errors are never
+ * sampled, only dropped when there is no room left. How many lines were sampled out
+ * or dropped is logged at most once a second.
+ *
+ * @author Quinn Andrews
+ */
+public class ContainerLogPipeline implements Consumer<OutputFrame>, AutoCloseable {
+
+    /**
+     * The number of lines buffered by default.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /**
+     * One line in how many is kept under back-pressure, by default.
+     */
+    public static final int DEFAULT_SAMPLE_RATE = 10;
+
+    private static final int BATCH_SIZE = 256;
+
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final Set<String> DETAILS = Set.of("STATEMENT", "DETAIL", "HINT", "CONTEXT", "QUERY", "LOCATION");
+
+    private final Logger logger;
+    private final BlockingQueue<String> buffer;
+    private final int sampleThreshold;
+    private final int sampleRate;
+    private final int minimumRank;
+    private final List<Consumer<PostgreSQLLogEvent>> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong offered = new AtomicLong();
+    private final AtomicLong sampledOut = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread drainer;
+    private volatile boolean closed;
+    private int previousRank = PostgreSQLLogEvent.rank("LOG");
+
+    /**
+     * Constructs an instance that logs under its own category, and starts draining it.
+     *
+     * @param name            The name of the drain thread.
+     * @param bufferSize      The most lines to buffer.
+     * @param sampleRate      One line in how many to keep under back-pressure (1 keeps them all
+     *                        until the buffer is full).
+     * @param minimumSeverity The lowest severity to log (example: 'WARNING'). All events are
+     *                        passed on to listeners.
+     */
+    public ContainerLogPipeline(final String name,
+                                final int bufferSize,
+                                final int sampleRate,
+                                final String minimumSeverity) {
+        this(LoggerFactory.getLogger(ContainerLogPipeline.class), name, bufferSize, sampleRate, minimumSeverity);
+    }
+
+    /**
+     * Constructs an instance and starts draining it.
+     *
+     * @param logger          The Logger to log the lines with.
+     * @param name            The name of the drain thread.
+     * @param bufferSize      The most lines to buffer.
+     * @param sampleRate      One line in how many to keep under back-pressure (1 keeps them all
+     *                        until the buffer is full).
+     * @param minimumSeverity The lowest severity to log (example: 'WARNING'). All events are
+     *                        passed on to listeners.
+     */
+    public ContainerLogPipeline(final Logger logger,
+                                final String name,
+                                final int bufferSize,
+                                final int sampleRate,
+                                final String minimumSeverity) {
+        this.logger = logger;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, bufferSize));
+        this.sampleThreshold = Math.max(1, bufferSize * 3 / 4);
+        this.sampleRate = Math.max(1, sampleRate);
+        this.minimumRank = PostgreSQLLogEvent.rank(minimumSeverity);
+        this.drainer = new Thread(this::drain, name);
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    /**
+     * Registers a listener for every parsed event, called on the drain thread.
+     *
+     * @param listener The listener.
+     * @return ContainerLogPipeline
+     */
+    public ContainerLogPipeline addListener(final Consumer<PostgreSQLLogEvent> listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Returns the number of lines dropped because the buffer was full.
+     *
+     * @return long
+     */
+    public long getDroppedLines() {
+        return dropped.get();
+    }
+
+    /**
+     * Returns the number of lines left out by sampling under back-pressure.
+     *
+     * @return long
+     */
+    public long getSampledOutLines() {
+        return sampledOut.get();
+    }
+
+    @Override
+    public void accept(final OutputFrame frame) {
+        final var text = frame.getUtf8StringWithoutLineEnding();
+        if (closed || frame.getType() == OutputFrame.OutputType.END || text == null || text.isEmpty()) {
+            return;
+        }
+        if (buffer.size() >= sampleThreshold && offered.incrementAndGet() % sampleRate != 0
+                && !text.contains("WARNING:") && !text.contains("ERROR:") && !text.contains("FATAL:")
+                && !text.contains("PANIC:")) {
+            sampledOut.incrementAndGet();
+            return;
+        }
+        if (!buffer.offer(text)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Stops draining, once the lines buffered so far have been drained.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        drainer.interrupt();
+        try {
+            drainer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        final var batch = new ArrayList<String>(BATCH_SIZE);
+        long reportedSampledOut = 0;
+        long reportedDropped = 0;
+        long reportedAt = 0;
+        while (!closed || !buffer.isEmpty()) {
+            try {
+                if (buffer.drainTo(batch, BATCH_SIZE) == 0) {
+                    final var line = buffer.poll(100, TimeUnit.MILLISECONDS);
+                    if (line == null) {
+                        continue;
+                    }
+                    batch.add(line);
+                    buffer.drainTo(batch, BATCH_SIZE - 1);
+                }
+            } catch (final InterruptedException e) {
+                // Interrupted by close(), so drain whatever is left and stop.
+                buffer.drainTo(batch);
+                closed = true;
+            }
+            batch.forEach(this::publish);
+            batch.clear();
+            final var sampledOutNow = sampledOut.get();
+            final var droppedNow = dropped.get();
+            if ((sampledOutNow > reportedSampledOut || droppedNow > reportedDropped)
+                    && (reportedAt == 0 || System.nanoTime() - reportedAt > REPORT_INTERVAL_NANOS || closed)) {
+                logger.warn("The Container log is written faster than it can be followed: {} lines sampled out "
+                                + "and {} lines dropped so far.", sampledOutNow, droppedNow);
+                reportedSampledOut = sampledOutNow;
+                reportedDropped = droppedNow;
+                reportedAt = System.nanoTime();
+            }
+        }
+    }
+
+    private void publish(final String line) {
+        final var event = PostgreSQLLogEvent.parse(line);
+        // Details are logged at the severity of the line they belong to.
+        final var rank = DETAILS.contains(event.severity()) ? previousRank : event.rank();
+        previousRank = rank;
+        if (rank >= minimumRank) {
+            if (rank >= PostgreSQLLogEvent.rank("ERROR")) {
+                logger.error(line);
+            } else if (rank >= PostgreSQLLogEvent.rank("WARNING")) {
+                logger.warn(line);
+            } else if (rank >= PostgreSQLLogEvent.rank("LOG")) {
+                logger.info(line);
+            } else {
+                logger.debug(line);
+            }
+        }
+        for (final Consumer<PostgreSQLLogEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (final RuntimeException e) {
+                logger.warn("A listener failed to handle a Container log event.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * <p> Coordinates a fixed number of reusable Containers ("slots") between JVMs,
+ * such as the forks of a parallel test run, so that each JVM leases a Container
+ * of its own, which is warm unless the JVM is among the first to start.
+ *
+ * <p> Leases are file locks in the temporary directory, one file per slot,
+ * which the operating system releases when the JVM exits. A lease is held for
+ * the lifetime of the JVM and shared by every Application Context in it that
+ * has the same configuration.
+ *
+ * <p> Once a JVM has started the Container in its own slot, it warms the free
+ * slots in the background, so that JVMs started later attach to running
+ * Containers. JVMs started at the same time, before any slot has been warmed,
+ * each cold-start the Container of their own slot.
+ * Containers in the pool are reusable, so they outlive the JVM that started
+ * them, which requires 'testcontainers.reuse.enable=true'.
+ *
+ * @author Quinn Andrews
+ */
+final class ContainerPool {
+
+    /**
+     * The Docker Label holding the slot a pooled Container belongs to.
+     */
+    static final String SLOT_LABEL = "io.github.quinnandrews.spring.local.postgresql.pool.slot";
+
+    private static final Logger logger = LoggerFactory.getLogger(ContainerPool.class);
+
+    private static final long LEASE_RETRY_MILLIS = 100;
+
+    private static final Duration LEASE_LOG_INTERVAL = Duration.ofSeconds(10);
+
+    private static final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    /**
+     * The one channel this JVM holds open to each lock file, guarded by the class.
+     */
+    private static final Map<Path, FileChannel> channels = new HashMap<>();
+
+    /**
+     * The lock files of the slots this JVM holds, leased or warming, guarded by the class.
+     */
+    private static final Set<Path> heldSlots = new HashSet<>();
+
+    private ContainerPool() {
+        // no-op
+    }
+
+    /**
+     * Leases a slot in the pool for the given configuration, waiting up to the given
+     * timeout for one to be released if all are taken. Returns the slot already leased
+     * by this JVM, if any.
+     *
+     * @param fingerprint The fingerprint of the Container configuration.
+     * @param size        The number of slots in the pool.
+     * @param timeout     How long to wait for a slot to be released.
+     * @return The leased slot, from 0 to size - 1.
+     * @throws IllegalStateException If no slot was released within the timeout.
+     */
+    static int lease(final String fingerprint,
+                     final int size,
+                     final Duration timeout) {
+        return leases.computeIfAbsent(fingerprint, f -> acquire(f, size, timeout)).slot();
+    }
+
+    /**
+     * Starts the Containers of all slots not leased by any JVM, in the background,
+     * holding each slot while its Container starts.
+     *
+     * @param fingerprint      The fingerprint of the Container configuration.
+     * @param size             The number of slots in the pool.
+     * @param containerFactory Creates the (unstarted) Container for a slot.
+     */
+    static void warm(final String fingerprint,
+                     final int size,
+                     final IntFunction<LocalPostgreSQLContainer> containerFactory) {
+        if (!TestcontainersConfiguration.getInstance().environmentSupportsReuse()) {
+            logger.warn("Container pool is not warmed, since Container reuse is not enabled "
+                    + "('testcontainers.reuse.enable=true').");
+            return;
+        }
+        for (int slot = 0; slot < size; slot++) {
+            final var lease = tryAcquire(fingerprint, slot);
+            if (lease == null) {
+                continue;
+            }
+            final var thread = new Thread(() -> {
+                try {
+                    containerFactory.apply(lease.slot()).start();
+                    logger.info("Warmed Container pool slot {}.", lease.slot());
+                } catch (final RuntimeException e) {
+                    logger.warn("Could not warm Container pool slot {}.", lease.slot(), e);
+                } finally {
+                    lease.release();
+                }
+            }, "local-postgresql-pool-" + slot);
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Returns the lock file of a slot.
+     *
+     * @param fingerprint The fingerprint of the Container configuration.
+     * @param slot        The slot.
+     * @return Path
+     */
+    static Path lockFile(final String fingerprint, final int slot) {
+        return Path.of(System.getProperty("java.io.tmpdir"), "spring-local-postgresql",
+                fingerprint.substring(0, 16), "slot-" + slot + ".lock");
+    }
+
+    private static Lease acquire(final String fingerprint,
+                                 final int size,
+                                 final Duration timeout) {
+        final var startedAt = System.nanoTime();
+        var loggedAt = startedAt - LEASE_LOG_INTERVAL.toNanos();
+        while (true) {
+            for (int slot = 0; slot < size; slot++) {
+                final var lease = tryAcquire(fingerprint, slot);
+                if (lease != null) {
+                    logger.info("Leased Container pool slot {} of {}.", slot, size);
+                    return lease;
+                }
+            }
+            final var now = System.nanoTime();
+            if (now - startedAt >= timeout.toNanos()) {
+                throw new IllegalStateException("None of the " + size + " Container pool slots was released within "
+                        + timeout.toSeconds() + " seconds. They are held, by other JVMs or while they are warmed, "
+                        + "through the lock files in " + lockFile(fingerprint, 0).getParent() + ". Increase "
+                        + "'spring.local.postgresql.container.pool.size', or run fewer JVMs at once.");
+            }
+            if (now - loggedAt >= LEASE_LOG_INTERVAL.toNanos()) {
+                logger.info("Waiting for one of the {} Container pool slots to be released ({}s of {}s).",
+                        size, Duration.ofNanos(now - startedAt).toSeconds(), timeout.toSeconds());
+                loggedAt = now;
+            }
+            try {
+                Thread.sleep(LEASE_RETRY_MILLIS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a Container pool slot.", e);
+            }
+        }
+    }
+
+    /**
+     * Locks the file of a slot, unless this JVM already holds it (leased or warming)
+     * or another JVM does. Slots held by this JVM are skipped without touching their
+     * files, and each file is only ever opened once, since closing any descriptor of
+     * a file releases all of the process's locks on it (on Linux, at least).
+     *
+     * @param fingerprint The fingerprint of the Container configuration.
+     * @param slot        The slot.
+     * @return The Lease, or null if the slot is held.
+     */
+    private static synchronized Lease tryAcquire(final String fingerprint, final int slot) {
+        final var file = lockFile(fingerprint, slot);
+        if (heldSlots.contains(file)) {
+            return null;
+        }
+        try {
+            var channel = channels.get(file);
+            if (channel == null) {
+                Files.createDirectories(file.getParent());
+                channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                channels.put(file, channel);
+            }
+            final var lock = channel.tryLock();
+            if (lock == null) {
+                return null;
+            }
+            heldSlots.add(file);
+            return new Lease(slot, file, lock);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not lease Container pool slot " + slot + ".", e);
+        }
+    }
+
+    private static synchronized void release(final Lease lease) {
+        try {
+            // The channel stays open, for the next time the slot is acquired.
+            lease.lock().release();
+        } catch (final IOException e) {
+            logger.debug("Could not release Container pool slot {}.", lease.slot(), e);
+        } finally {
+            heldSlots.remove(lease.file());
+        }
+    }
+
+    private record Lease(int slot, Path file, FileLock lock) {
+
+        void release() {
+            ContainerPool.release(this);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.output.OutputFrame;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * <p> Shares running Containers between the Application Contexts of a JVM, such
+ * as the contexts a test suite creates for different profiles, mock beans or
+ * after '@DirtiesContext', so that contexts with the same Container configuration
+ * use one Container rather than each starting their own.
+ *
+ * <p> Containers are reference counted: each context that acquires a Container
+ * releases it when it closes, and the Container is stopped once the last of them
+ * has released it.
+ *
+ * <p> The log of a shared Container is followed by the registry, which passes each
+ * line on to the log consumers of the contexts using it, so that a context that
+ * follows the log keeps doing so after the context that created the Container has
+ * closed, and a closed context is no longer fed.
+ *
+ * @author Quinn Andrews
+ */
+final class ContainerRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContainerRegistry.class);
+
+    private static final Map<String, Registration> registrations = new HashMap<>();
+
+    private ContainerRegistry() {
+        // no-op
+    }
+
+    /**
+     * Returns the Container registered for the given configuration, creating (and
+     * starting) it with the given factory if there is none, and counts a reference
+     * to it. The factory is given the log consumer to create the Container with,
+     * which passes the log on to the log consumer of each context using it.
+     *
+     * @param key              The fingerprint of the Container configuration.
+     * @param logConsumer      The log consumer of the acquiring context (optional).
+     * @param containerFactory Creates and starts the Container, with the given log consumer.
+     * @return LocalPostgreSQLContainer
+     */
+    static LocalPostgreSQLContainer acquire(final String key,
+                                            final Consumer<OutputFrame> logConsumer,
+                                            final Function<Consumer<OutputFrame>, LocalPostgreSQLContainer> containerFactory) {
+        synchronized (registrations) {
+            final var registration = registrations.get(key);
+            if (registration != null) {
+                registration.references++;
+                registration.log.subscribe(logConsumer);
+                logger.info("Sharing the Container with {} other Application Context(s).", registration.references - 1);
+                return registration.container;
+            }
+            final var log = new LogFanOut();
+            log.subscribe(logConsumer);
+            final var container = containerFactory.apply(log);
+            registrations.put(key, new Registration(container, log));
+            return container;
+        }
+    }
+
+    /**
+     * Releases a reference to the Container registered for the given configuration,
+     * no longer passing its log on to the given log consumer, and stops it if that
+     * was the last reference.
+     *
+     * @param key         The fingerprint of the Container configuration.
+     * @param logConsumer The log consumer of the releasing context (optional).
+     */
+    static void release(final String key,
+                        final Consumer<OutputFrame> logConsumer) {
+        final LocalPostgreSQLContainer released;
+        synchronized (registrations) {
+            final var registration = registrations.get(key);
+            if (registration == null) {
+                return;
+            }
+            registration.log.unsubscribe(logConsumer);
+            if (--registration.references > 0) {
+                return;
+            }
+            registrations.remove(key);
+            released = registration.container;
+        }
+        released.stop();
+    }
+
+    /**
+     * Returns whether the given Container is still referenced by an Application Context.
+     *
+     * @param container The Container.
+     * @return boolean
+     */
+    static boolean isShared(final LocalPostgreSQLContainer container) {
+        synchronized (registrations) {
+            return registrations.values().stream()
+                    .anyMatch(registration -> registration.container == container);
+        }
+    }
+
+    private static final class Registration {
+
+        private final LocalPostgreSQLContainer container;
+        private final LogFanOut log;
+        private int references = 1;
+
+        private Registration(final LocalPostgreSQLContainer container,
+                             final LogFanOut log) {
+            this.container = container;
+            this.log = log;
+        }
+    }
+
+    /**
+     * Passes each line of the log of a shared Container on to the log consumers
+     * subscribed to it.
+     */
+    private static final class LogFanOut implements Consumer<OutputFrame> {
+
+        private final List<Consumer<OutputFrame>> subscribers = new CopyOnWriteArrayList<>();
+
+        private void subscribe(final Consumer<OutputFrame> subscriber) {
+            if (subscriber != null) {
+                subscribers.add(subscriber);
+            }
+        }
+
+        private void unsubscribe(final Consumer<OutputFrame> subscriber) {
+            if (subscriber != null) {
+                subscribers.remove(subscriber);
+            }
+        }
+
+        @Override
+        public void accept(final OutputFrame frame) {
+            subscribers.forEach(subscriber -> subscriber.accept(frame));
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import com.github.dockerjava.api.exception.ConflictException;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.Image;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * <p> A locally tagged Docker Image holding the state of a Container after it
+ * was fully initialized: the init script, migrations and any data loaded while
+ * the Application started.
+ *
+ * <p> The tag is a fingerprint of the base image and of every initialization
+ * input. If an Image with the tag exists, the Container is started from it and
+ * initialization is skipped. Otherwise the Container is started from the base
+ * image as usual, and committed to the tag once the Application is ready. Any
+ * change to an input changes the tag, so the snapshot is rebuilt on the next run.
+ *
+ * <p> Each snapshot Image is labelled with the name of the configuration it was
+ * taken of. Once a new snapshot has been committed, the older snapshot Images with
+ * the same name are removed, since nothing starts from them anymore, unless a
+ * Container still uses one.
+ *
+ * <p> PostgreSQL keeps its data in a Docker Volume by default, which is not part
+ * of a committed Image, so Containers that use snapshots keep their data in
+ * {@link #DATA_DIRECTORY} instead.
+ *
+ * @author Quinn Andrews
+ */
+public class ContainerSnapshot implements ApplicationListener<ApplicationReadyEvent> {
+
+    /**
+     * The repository snapshot Images are tagged in.
+     */
+    public static final String REPOSITORY = "local-postgresql-snapshot";
+
+    /**
+     * The directory PostgreSQL keeps its data in when snapshots are enabled,
+     * outside the Volume declared by the official Docker Image.
+     */
+    public static final String DATA_DIRECTORY = "/var/lib/postgresql/snapshot";
+
+    /**
+     * The Docker Label holding the name of the configuration a snapshot Image was taken of.
+     */
+    public static final String NAME_LABEL = "io.github.quinnandrews.spring.local.postgresql.snapshot";
+
+    private static final Logger logger = LoggerFactory.getLogger(ContainerSnapshot.class);
+
+    private final String name;
+    private final String tag;
+
+    /**
+     * Constructs an instance for the given fingerprint of the initialization inputs,
+     * which leaves older snapshot Images alone.
+     *
+     * @param tag The fingerprint to tag the snapshot Image with.
+     */
+    public ContainerSnapshot(final String tag) {
+        this(null, tag);
+    }
+
+    /**
+     * Constructs an instance for the given configuration name and fingerprint of the
+     * initialization inputs, which replaces the older snapshot Images with the same name.
+     *
+     * @param name The name of the configuration (optional).
+     * @param tag  The fingerprint to tag the snapshot Image with.
+     */
+    public ContainerSnapshot(final String name,
+                             final String tag) {
+        this.name = name;
+        this.tag = tag;
+    }
+
+    /**
+     * Returns the name of the configuration the snapshot is taken of, if any.
+     *
+     * @return Optional of String
+     */
+    public Optional<String> getName() {
+        return Optional.ofNullable(name);
+    }
+
+    /**
+     * Returns the name of the snapshot Image.
+     *
+     * @return String
+     */
+    public String getImageName() {
+        return REPOSITORY + ":" + tag;
+    }
+
+    /**
+     * Returns the snapshot Image as a substitute for the official PostgreSQL Image.
+     *
+     * @return DockerImageName
+     */
+    public DockerImageName getDockerImageName() {
+        return DockerImageName.parse(getImageName())
+                .asCompatibleSubstituteFor("postgres");
+    }
+
+    /**
+     * Returns whether the snapshot Image exists locally.
+     *
+     * @return boolean
+     */
+    public boolean exists() {
+        try {
+            DockerClientFactory.instance().client()
+                    .inspectImageCmd(getImageName())
+                    .exec();
+            return true;
+        } catch (final NotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Commits the Container to the snapshot Image once the Application is ready, by
+     * which point migrations and any data loaded on startup have been applied, and
+     * removes the older snapshot Images with the same name. Does nothing if the
+     * snapshot Image already exists.
+     *
+     * @param event The event published when the Application is ready.
+     */
+    @Override
+    public void onApplicationEvent(final ApplicationReadyEvent event) {
+        event.getApplicationContext()
+                .getBeanProvider(LocalPostgreSQLContainer.class)
+                .ifAvailable(this::commit);
+    }
+
+    private void commit(final LocalPostgreSQLContainer container) {
+        if (!container.isRunning() || exists()) {
+            return;
+        }
+        // Flush everything to the data files, so the snapshot does not depend on
+        // crash recovery when it is started.
+        try (final var connection = container.openConnection(container.getDatabaseName());
+             final var statement = connection.createStatement()) {
+            statement.execute("CHECKPOINT");
+        } catch (final SQLException e) {
+            logger.warn("Could not checkpoint before committing snapshot {}.", getImageName(), e);
+        }
+        // Detach the Image from this Testcontainers session, otherwise it is
+        // removed along with the Container when the JVM exits.
+        final var labels = name == null
+                ? Map.of(DockerClientFactory.TESTCONTAINERS_SESSION_ID_LABEL, "")
+                : Map.of(DockerClientFactory.TESTCONTAINERS_SESSION_ID_LABEL, "", NAME_LABEL, name);
+        DockerClientFactory.instance().client()
+                .commitCmd(container.getContainerId())
+                .withRepository(REPOSITORY)
+                .withTag(tag)
+                .withLabels(labels)
+                .exec();
+        logger.info("Committed Container {} to snapshot {}.", container.getContainerName(), getImageName());
+        if (name != null) {
+            removeOutdated();
+        }
+    }
+
+    /**
+     * Removes the snapshot Images with the same name but another tag. An Image that a
+     * Container still uses, or that is gone already, is left alone.
+     */
+    private void removeOutdated() {
+        final var client = DockerClientFactory.instance().client();
+        final var outdated = client.listImagesCmd()
+                .withLabelFilter(Map.of(NAME_LABEL, name))
+                .exec()
+                .stream()
+                .filter(image -> Optional.ofNullable(image.getRepoTags()).stream()
+                        .flatMap(Arrays::stream)
+                        .noneMatch(getImageName()::equals))
+                .map(Image::getId)
+                .toList();
+        for (final String imageId : outdated) {
+            try {
+                client.removeImageCmd(imageId).exec();
+                logger.info("Removed outdated snapshot {} of '{}'.", imageId, name);
+            } catch (final ConflictException | NotFoundException e) {
+                logger.debug("Could not remove outdated snapshot {} of '{}'.", imageId, name, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.model.BlkioStatEntry;
+import com.github.dockerjava.api.model.BlkioStatsConfig;
+import com.github.dockerjava.api.model.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * <p> Samples live statistics of the PostgreSQL Container, to tell whether the
+ * Container or PostgreSQL is the bottleneck when the Application slows down: the
+ * CPU, memory and block IO usage Docker reports for the Container, and the key
+ * statistics PostgreSQL keeps in 'pg_stat_database' (for the Application's database),
+ * 'pg_stat_bgwriter' and 'pg_stat_activity' (summarized for the Application's database).
+ *
+ * <p> PostgreSQL is queried from the 'postgres' maintenance database, so sampling
+ * never holds a connection to the Application's database, which would keep it from
+ * being cloned or dropped. Statistics are only sampled once the Container has
+ * started, either on demand with {@link #sample()} or on an interval, once
+ * {@link #startSampling()} has been called.
+ *
+ * @author Quinn Andrews
+ */
+public class ContainerStatistics implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContainerStatistics.class);
+
+    /**
+     * How long to wait for Docker to report the statistics of the Container, which
+     * takes about a second, since it measures CPU usage over one.
+     */
+    private static final Duration DOCKER_STATS_TIMEOUT = Duration.ofSeconds(5);
+
+    private static final String ACTIVITY_QUERY = """
+            SELECT count(*) AS total,
+                   count(*) FILTER (WHERE state = 'active') AS active,
+                   count(*) FILTER (WHERE state = 'idle') AS idle,
+                   count(*) FILTER (WHERE state LIKE 'idle in transaction%') AS idle_in_transaction,
+                   count(*) FILTER (WHERE wait_event_type = 'Lock') AS waiting_on_lock,
+                   coalesce(extract(epoch FROM max(now() - xact_start)), 0) AS longest_transaction_seconds,
+                   coalesce(extract(epoch FROM max(now() - query_start) FILTER (WHERE state = 'active')), 0)
+                       AS longest_query_seconds
+            FROM pg_stat_activity
+            WHERE datname = ?""";
+
+    /**
+     * A sample of the statistics, each by name.
+     *
+     * @param sampledAt The time the sample was taken.
+     * @param container The CPU, memory and block IO usage of the Container, as reported by Docker.
+     * @param database  The statistics of the Application's database, from 'pg_stat_database',
+     *                  with the ratio of blocks read from the buffer cache.
+     * @param bgwriter  The statistics of the background writer, from 'pg_stat_bgwriter'.
+     * @param activity  The connections to the Application's database by state, and the
+     *                  longest running transaction and query, from 'pg_stat_activity'.
+     */
+    public record Sample(Instant sampledAt,
+                         Map<String, Double> container,
+                         Map<String, Double> database,
+                         Map<String, Double> bgwriter,
+                         Map<String, Double> activity) {
+    }
+
+    private final LocalPostgreSQLContainer container;
+    private final DatabaseClone databaseClone;
+    private final Duration interval;
+    private final List<Consumer<Sample>> sampleListeners = new CopyOnWriteArrayList<>();
+    private final Consumer<LocalPostgreSQLContainer> markStarted = c -> started = true;
+    private final Consumer<LocalPostgreSQLContainer> scheduleSampling = c -> scheduleSampling();
+    private volatile boolean started;
+    private volatile Sample latest;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Constructs an instance sampling the given Container.
+     *
+     * @param container     The Container.
+     * @param databaseClone The clone of the database the Application is connected to,
+     *                      if cloning is enabled (optional).
+     * @param interval      The interval to sample the statistics on, once sampling has been started.
+     */
+    public ContainerStatistics(final LocalPostgreSQLContainer container,
+                               final DatabaseClone databaseClone,
+                               final Duration interval) {
+        this.container = container;
+        this.databaseClone = databaseClone;
+        this.interval = interval;
+        container.onStarted(markStarted);
+    }
+
+    /**
+     * Returns the interval the statistics are sampled on.
+     *
+     * @return Duration
+     */
+    public Duration getInterval() {
+        return interval;
+    }
+
+    /**
+     * Returns the latest sample, if any has been taken.
+     *
+     * @return Optional of Sample
+     */
+    public Optional<Sample> getLatest() {
+        return Optional.ofNullable(latest);
+    }
+
+    /**
+     * Registers a listener to call with each sample taken.
+     *
+     * @param listener The listener.
+     * @return ContainerStatistics
+     */
+    public ContainerStatistics onSample(final Consumer<Sample> listener) {
+        sampleListeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Samples the statistics on the interval, on a background thread, from once the
+     * Container has started, unless that has already been done.
+     *
+     * @return ContainerStatistics
+     */
+    public ContainerStatistics startSampling() {
+        container.onStarted(scheduleSampling);
+        return this;
+    }
+
+    /**
+     * Samples the statistics now, unless the Container has not started yet.
+     *
+     * @return Optional of Sample
+     */
+    public Optional<Sample> sample() {
+        if (!started) {
+            return Optional.empty();
+        }
+        final Sample sample;
+        try (final var connection = container.openConnection("postgres")) {
+            final var name = Optional.ofNullable(databaseClone)
+                    .map(DatabaseClone::getDatabaseName)
+                    .orElseGet(container::getDatabaseName);
+            sample = new Sample(Instant.now(),
+                    readContainerStatistics(),
+                    readDatabaseStatistics(connection, name),
+                    readNumbers(connection, "SELECT * FROM pg_stat_bgwriter", null),
+                    readNumbers(connection, ACTIVITY_QUERY, name));
+        } catch (final SQLException | RuntimeException e) {
+            // The Container may be stopping, or PostgreSQL restarting.
+            logger.debug("Could not sample the statistics of the PostgreSQL Container.", e);
+            return getLatest();
+        }
+        latest = sample;
+        sampleListeners.forEach(listener -> listener.accept(sample));
+        return Optional.of(sample);
+    }
+
+    /**
+     * Stops sampling the statistics, and no longer waits for the Container to start,
+     * since it may be shared with other Application Contexts and outlive this one.
+     */
+    @Override
+    public synchronized void close() {
+        container.removeOnStarted(markStarted);
+        container.removeOnStarted(scheduleSampling);
+        Optional.ofNullable(scheduler).ifPresent(ScheduledExecutorService::shutdownNow);
+    }
+
+    private synchronized void scheduleSampling() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "local-postgresql-statistics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::sample, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the CPU, memory and block IO usage of the Container, as reported by
+     * Docker, or none if Docker does not report them in time.
+     *
+     * @return Map of statistic names to values.
+     */
+    private Map<String, Double> readContainerStatistics() {
+        final var reported = new AtomicReference<Statistics>();
+        try (final var callback = container.getDockerClient().statsCmd(container.getContainerId())
+                .withNoStream(true)
+                .exec(new ResultCallback.Adapter<Statistics>() {
+                    @Override
+                    public void onNext(final Statistics statistics) {
+                        reported.set(statistics);
+                    }
+                })) {
+            callback.awaitCompletion(DOCKER_STATS_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final IOException e) {
+            logger.debug("Could not close the request for the statistics of the PostgreSQL Container.", e);
+        }
+        final var statistics = new LinkedHashMap<String, Double>();
+        Optional.ofNullable(reported.get()).ifPresent(s -> {
+            cpuPercent(s).ifPresent(cpu -> statistics.put("cpu_percent", cpu));
+            Optional.ofNullable(s.getMemoryStats()).ifPresent(memory -> {
+                Optional.ofNullable(memory.getUsage()).ifPresent(usage ->
+                        statistics.put("memory_usage_bytes", usage.doubleValue()));
+                Optional.ofNullable(memory.getLimit()).ifPresent(limit ->
+                        statistics.put("memory_limit_bytes", limit.doubleValue()));
+                if (memory.getUsage() != null && memory.getLimit() != null && memory.getLimit() > 0) {
+                    statistics.put("memory_percent", memory.getUsage() * 100.0 / memory.getLimit());
+                }
+            });
+            Optional.ofNullable(s.getBlkioStats())
+                    .map(BlkioStatsConfig::getIoServiceBytesRecursive)
+                    .ifPresent(entries -> {
+                        statistics.put("blkio_read_bytes", sumBlkio(entries, "read"));
+                        statistics.put("blkio_write_bytes", sumBlkio(entries, "write"));
+                    });
+        });
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    /**
+     * Returns the share of the host's CPUs the Container used since Docker's previous
+     * reading, as 'docker stats' does, where 100 is one CPU.
+     *
+     * @param statistics The statistics reported by Docker.
+     * @return Optional of Double
+     */
+    private static Optional<Double> cpuPercent(final Statistics statistics) {
+        final var cpu = statistics.getCpuStats();
+        final var previous = statistics.getPreCpuStats();
+        if (cpu == null || previous == null || cpu.getCpuUsage() == null || previous.getCpuUsage() == null
+                || cpu.getCpuUsage().getTotalUsage() == null || previous.getCpuUsage().getTotalUsage() == null
+                || cpu.getSystemCpuUsage() == null || previous.getSystemCpuUsage() == null) {
+            return Optional.empty();
+        }
+        final var cpuDelta = cpu.getCpuUsage().getTotalUsage() - previous.getCpuUsage().getTotalUsage();
+        final var systemDelta = cpu.getSystemCpuUsage() - previous.getSystemCpuUsage();
+        if (systemDelta <= 0) {
+            return Optional.empty();
+        }
+        final var cpus = Optional.ofNullable(cpu.getOnlineCpus()).orElse(1L);
+        return Optional.of((double) cpuDelta / systemDelta * cpus * 100.0);
+    }
+
+    private static double sumBlkio(final List<BlkioStatEntry> entries, final String operation) {
+        // Reported as 'Read' and 'Write' with cgroup v1, and 'read' and 'write' with v2.
+        return entries.stream()
+                .filter(entry -> operation.equalsIgnoreCase(entry.getOp()))
+                .mapToDouble(entry -> Optional.ofNullable(entry.getValue()).orElse(0L))
+                .sum();
+    }
+
+    /**
+     * Returns the statistics of the given database from 'pg_stat_database', with the
+     * ratio of blocks read from the buffer cache rather than from disk.
+     *
+     * @param connection   The connection to the maintenance database.
+     * @param databaseName The name of the database.
+     * @return Map of statistic names to values.
+     * @throws SQLException If the statistics cannot be read.
+     */
+    private static Map<String, Double> readDatabaseStatistics(final Connection connection,
+                                                              final String databaseName) throws SQLException {
+        final var statistics = new LinkedHashMap<>(readNumbers(connection,
+                "SELECT * FROM pg_stat_database WHERE datname = ?", databaseName));
+        statistics.remove("datid");
+        final var hit = statistics.getOrDefault("blks_hit", 0.0);
+        final var read = statistics.getOrDefault("blks_read", 0.0);
+        if (hit + read > 0) {
+            statistics.put("cache_hit_ratio", hit / (hit + read));
+        }
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    /**
+     * Returns the numeric columns of the first row a query returns, by name, so that
+     * whatever columns the running version of PostgreSQL has are included.
+     *
+     * @param connection   The connection.
+     * @param query        The query.
+     * @param databaseName The name of the database to bind to the query, if it has a parameter.
+     * @return Map of column names to values.
+     * @throws SQLException If the query fails.
+     */
+    private static Map<String, Double> readNumbers(final Connection connection,
+                                                   final String query,
+                                                   final String databaseName) throws SQLException {
+        final var numbers = new LinkedHashMap<String, Double>();
+        try (final var statement = connection.prepareStatement(query)) {
+            if (databaseName != null) {
+                statement.setString(1, databaseName);
+            }
+            try (final var resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    final var metaData = resultSet.getMetaData();
+                    for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                        if (resultSet.getObject(column) instanceof Number number) {
+                            numbers.put(metaData.getColumnLabel(column), number.doubleValue());
+                        }
+                    }
+                }
+            }
+        }
+        return Collections.unmodifiableMap(numbers);
+    }
+}
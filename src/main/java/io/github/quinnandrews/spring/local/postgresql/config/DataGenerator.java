@@ -0,0 +1,277 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * <p> Fills the tables configured by {@link DataGeneratorProperties} with
+ * synthetic rows, so that queries can be tried against production volumes of
+ * data. Rows are generated by the server itself, with 'INSERT ... SELECT ...
+ * FROM generate_series(...)' in batches, so nothing is transferred but the
+ * statements.
+ *
+ * <p> The values of each column follow a distribution, given as one of:
+ * <ul>
+ *     <li>'sequence' or 'sequence(start)': consecutive integers.</li>
+ *     <li>'uniform(min, max)': integers, uniformly distributed.</li>
+ *     <li>'normal(mean, stddev)': numbers, normally distributed.</li>
+ *     <li>'exponential(mean)': numbers, exponentially distributed.</li>
+ *     <li>'skewed(max, exponent)': integers from 1 to max, skewed toward 1 by the exponent.</li>
+ *     <li>'choice(value, ...)': one of the given literals, uniformly chosen.</li>
+ *     <li>'text(length)' or 'text(length, distinct)': random text, optionally with a
+ *     fixed number of distinct values.</li>
+ *     <li>'timestamp(from, to)': timestamps, uniformly distributed.</li>
+ *     <li>'boolean' or 'boolean(probability)': true with the given probability.</li>
+ *     <li>'constant(value)': the given literal.</li>
+ *     <li>'sql(expression)': any SQL expression, in which 'g' is the number of the row.</li>
+ * </ul>
+ *
+ * <p> Tables are filled in levels of their foreign keys on each other, all tables
+ * in a level at once, after the tables loaded by {@link DatabaseSeeder}. Tables that
+ * already hold rows are skipped, which happens when the Container was reused or
+ * started from a snapshot.
+ *
+ * @author Quinn Andrews
+ */
+public class DataGenerator implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataGenerator.class);
+
+    private static final Pattern DISTRIBUTION = Pattern.compile("(\\w+)\\s*(?:\\((.*)\\))?", Pattern.DOTALL);
+    private static final Pattern NUMBER = Pattern.compile("-?\\d+(?:\\.\\d+)?");
+    private static final Pattern ARGUMENT = Pattern.compile("\\s*('(?:[^']|'')*'|[^,]+?)\\s*(?:,|$)");
+
+    private final LocalPostgreSQLContainer container;
+    private final DatabaseClone databaseClone;
+    private final DataGeneratorProperties properties;
+
+    /**
+     * Constructs an instance that fills the configured tables in the database of the
+     * given Container, or its clone.
+     *
+     * @param container     The Container holding the database.
+     * @param databaseClone The clone the Application is connected to, if cloning is enabled (optional).
+     * @param properties    The tables to fill and how.
+     */
+    public DataGenerator(final LocalPostgreSQLContainer container,
+                         final DatabaseClone databaseClone,
+                         final DataGeneratorProperties properties) {
+        this.container = container;
+        this.databaseClone = databaseClone;
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.getTables().isEmpty()) {
+            generate();
+        }
+    }
+
+    /**
+     * Fills all configured tables, level by level.
+     */
+    public void generate() {
+        properties.getTables().forEach((table, settings) -> {
+            if (settings.getRows() < 0) {
+                throw new IllegalStateException("'spring.local.postgresql.database.generate.tables." + table
+                        + ".rows' must not be negative, but is " + settings.getRows() + ".");
+            }
+            if (settings.getBatchSize() < 1) {
+                throw new IllegalStateException("'spring.local.postgresql.database.generate.tables." + table
+                        + ".batch-size' must be at least 1, but is " + settings.getBatchSize() + ".");
+            }
+        });
+        final var startedAt = System.nanoTime();
+        final List<List<String>> levels;
+        try (final var connection = openConnection()) {
+            levels = DatabaseSeeder.levels(connection, properties.getTables().keySet());
+        } catch (final SQLException e) {
+            throw new IllegalStateException("Could not read the foreign keys of the tables to generate.", e);
+        }
+        final var parallelism = Optional.ofNullable(properties.getParallelism())
+                .orElseGet(() -> Runtime.getRuntime().availableProcessors());
+        final var executor = DatabaseSeeder.executor("local-postgresql-generate",
+                Math.max(1, Math.min(parallelism, properties.getTables().size())));
+        long rows = 0;
+        try {
+            for (final List<String> level : levels) {
+                final var fills = level.stream()
+                        .map(table -> CompletableFuture.supplyAsync(() -> fill(table), executor))
+                        .toList();
+                CompletableFuture.allOf(fills.toArray(CompletableFuture[]::new)).join();
+                rows += fills.stream().mapToLong(CompletableFuture::join).sum();
+            }
+        } catch (final CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        } finally {
+            executor.shutdown();
+        }
+        final var millis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        logger.info("Generated {} rows in {} tables in {}ms ({} rows/s).",
+                rows, properties.getTables().size(), millis, rows * 1000 / millis);
+    }
+
+    /**
+     * Fills one table, unless it already holds rows.
+     *
+     * @param table The name of the table.
+     * @return The number of rows generated.
+     */
+    private long fill(final String table) {
+        final var settings = properties.getTables().get(table);
+        if (settings.getColumns().isEmpty()) {
+            throw new IllegalStateException("No columns are configured to generate for table '" + table + "'.");
+        }
+        final var insert = "INSERT INTO " + table
+                + " (" + String.join(", ", settings.getColumns().keySet()) + ") SELECT "
+                + settings.getColumns().entrySet().stream()
+                        .map(column -> expression(column.getKey(), column.getValue()))
+                        .collect(Collectors.joining(", "))
+                + " FROM generate_series(?::bigint, ?::bigint) AS g";
+        final var startedAt = System.nanoTime();
+        try (final var connection = openConnection();
+             final var statement = connection.createStatement()) {
+            try (final var resultSet = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM " + table + ")")) {
+                resultSet.next();
+                if (resultSet.getBoolean(1)) {
+                    logger.info("Table '{}' already holds rows, so none are generated.", table);
+                    return 0;
+                }
+            }
+            final var indexes = properties.isDeferIndexes()
+                    ? DatabaseSeeder.dropIndexes(connection, table)
+                    : List.<String>of();
+            long rows = 0;
+            try (final var batch = connection.prepareStatement(insert)) {
+                for (long from = 1; from <= settings.getRows(); from += settings.getBatchSize()) {
+                    batch.setLong(1, from);
+                    batch.setLong(2, Math.min(from + settings.getBatchSize() - 1, settings.getRows()));
+                    rows += batch.executeUpdate();
+                }
+            } finally {
+                for (final String index : indexes) {
+                    statement.execute(index);
+                }
+            }
+            statement.execute("ANALYZE " + table);
+            final var millis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+            logger.info("Generated {} rows in '{}' in {}ms ({} rows/s).", rows, table, millis, rows * 1000 / millis);
+            return rows;
+        } catch (final SQLException e) {
+            throw new IllegalStateException("Could not generate rows in table '" + table + "'.", e);
+        }
+    }
+
+    /**
+     * Translates the distribution of a column to the SQL expression that generates
+     * its values, in which 'g' is the number of the row.
+     *
+     * @param column       The name of the column, for error messages.
+     * @param distribution The distribution (example: 'uniform(1, 100)').
+     * @return String
+     */
+    static String expression(final String column, final String distribution) {
+        final var matcher = DISTRIBUTION.matcher(distribution.trim());
+        if (!matcher.matches()) {
+            throw invalid(column, distribution);
+        }
+        final var name = matcher.group(1).toLowerCase(Locale.ROOT);
+        if (name.equals("sql")) {
+            return "(" + Optional.ofNullable(matcher.group(2)).orElseThrow(() -> invalid(column, distribution)) + ")";
+        }
+        final var arguments = arguments(Optional.ofNullable(matcher.group(2)).orElse(""));
+        return switch (name + "/" + arguments.size()) {
+            case "sequence/0" -> "g";
+            case "sequence/1" -> "(g + " + number(column, arguments.get(0)) + " - 1)";
+            case "uniform/2" -> "(" + number(column, arguments.get(0)) + " + floor(random() * ("
+                    + number(column, arguments.get(1)) + " - " + number(column, arguments.get(0)) + " + 1)))::bigint";
+            case "normal/2" -> "(" + number(column, arguments.get(0)) + " + " + number(column, arguments.get(1))
+                    + " * sqrt(-2 * ln(1 - random())) * cos(2 * pi() * random()))";
+            case "exponential/1" -> "(-" + number(column, arguments.get(0)) + " * ln(1 - random()))";
+            case "skewed/2" -> "(1 + floor(" + number(column, arguments.get(0)) + " * power(random(), "
+                    + number(column, arguments.get(1)) + ")))::bigint";
+            case "text/1" -> text(number(column, arguments.get(0)), "random()::text");
+            case "text/2" -> text(number(column, arguments.get(0)),
+                    "floor(random() * " + number(column, arguments.get(1)) + ")::bigint::text");
+            case "timestamp/2" -> "(timestamp " + literal(column, arguments.get(0)) + " + random() * (timestamp "
+                    + literal(column, arguments.get(1)) + " - timestamp " + literal(column, arguments.get(0)) + "))";
+            case "boolean/0" -> "(random() < 0.5)";
+            case "boolean/1" -> "(random() < " + number(column, arguments.get(0)) + ")";
+            case "constant/1" -> value(column, arguments.get(0));
+            default -> {
+                if (name.equals("choice") && !arguments.isEmpty()) {
+                    yield "(ARRAY[" + arguments.stream()
+                            .map(argument -> value(column, argument))
+                            .collect(Collectors.joining(", "))
+                            + "])[1 + floor(random() * " + arguments.size() + ")::int]";
+                }
+                throw invalid(column, distribution);
+            }
+        };
+    }
+
+    private static String text(final String length, final String seed) {
+        return "left(repeat(md5(" + seed + "), ceil(" + length + " / 32.0)::int), " + length + ")";
+    }
+
+    private static List<String> arguments(final String arguments) {
+        final var result = new ArrayList<String>();
+        if (arguments.isBlank()) {
+            return result;
+        }
+        final var matcher = ARGUMENT.matcher(arguments);
+        while (matcher.find() && matcher.end() > matcher.start()) {
+            result.add(matcher.group(1));
+            if (matcher.end() == arguments.length()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static String number(final String column, final String argument) {
+        if (!NUMBER.matcher(argument).matches()) {
+            throw new IllegalStateException("'" + argument + "' is not a number, in the distribution of column '"
+                    + column + "'.");
+        }
+        return argument;
+    }
+
+    private static String literal(final String column, final String argument) {
+        if (argument.length() < 2 || !argument.startsWith("'") || !argument.endsWith("'")) {
+            throw new IllegalStateException("'" + argument + "' is not a quoted string, in the distribution of column '"
+                    + column + "'.");
+        }
+        return argument;
+    }
+
+    private static String value(final String column, final String argument) {
+        return argument.startsWith("'")
+                ? literal(column, argument)
+                : number(column, argument);
+    }
+
+    private static IllegalStateException invalid(final String column, final String distribution) {
+        return new IllegalStateException("'" + distribution + "' is not a supported distribution, for column '"
+                + column + "'. See the README for the supported distributions.");
+    }
+
+    private Connection openConnection() throws SQLException {
+        return container.openConnection(Optional.ofNullable(databaseClone)
+                .map(DatabaseClone::getDatabaseName)
+                .orElseGet(container::getDatabaseName));
+    }
+}
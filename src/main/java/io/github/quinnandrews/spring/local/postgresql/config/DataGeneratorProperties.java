@@ -0,0 +1,113 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p> Configures the tables {@link DataGenerator} fills with synthetic rows once
+ * the database has been initialized and seeded.
+ *
+ * <p> Example:
+ * <pre>
+ * spring.local.postgresql.database.generate.tables.pedal.rows=10000000
+ * spring.local.postgresql.database.generate.tables.pedal.columns.id=sequence
+ * spring.local.postgresql.database.generate.tables.pedal.columns.manufacturer_id=uniform(1, 500)
+ * spring.local.postgresql.database.generate.tables.pedal.columns.name=text(24, 100000)
+ * spring.local.postgresql.database.generate.tables.pedal.columns.price=normal(150, 40)
+ * </pre>
+ *
+ * @author Quinn Andrews
+ */
+@ConfigurationProperties(prefix = "spring.local.postgresql.database.generate")
+public class DataGeneratorProperties {
+
+    /**
+     * The tables to fill, by (optionally schema-qualified) table name.
+     */
+    private Map<String, Table> tables = new LinkedHashMap<>();
+
+    /**
+     * Whether to drop the indexes of each table before filling it and recreate them
+     * afterward. Indexes that back a constraint (primary keys, unique constraints)
+     * are kept.
+     */
+    private boolean deferIndexes = true;
+
+    /**
+     * The most tables to fill at once. Defaults to the number of available processors.
+     */
+    private Integer parallelism;
+
+    public Map<String, Table> getTables() {
+        return tables;
+    }
+
+    public void setTables(final Map<String, Table> tables) {
+        this.tables = tables;
+    }
+
+    public boolean isDeferIndexes() {
+        return deferIndexes;
+    }
+
+    public void setDeferIndexes(final boolean deferIndexes) {
+        this.deferIndexes = deferIndexes;
+    }
+
+    public Integer getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(final Integer parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * How to fill one table.
+     */
+    public static class Table {
+
+        /**
+         * The number of rows to generate.
+         */
+        private long rows;
+
+        /**
+         * The number of rows to insert per statement.
+         */
+        private long batchSize = 100_000;
+
+        /**
+         * The distribution of the values of each column, by column name. Columns that
+         * are not listed are left to their defaults. See the README for the supported
+         * distributions.
+         */
+        private Map<String, String> columns = new LinkedHashMap<>();
+
+        public long getRows() {
+            return rows;
+        }
+
+        public void setRows(final long rows) {
+            this.rows = rows;
+        }
+
+        public long getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(final long batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Map<String, String> getColumns() {
+            return columns;
+        }
+
+        public void setColumns(final Map<String, String> columns) {
+            this.columns = columns;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * <p> A private copy of the configured database, created from it with
+ * 'CREATE DATABASE ... TEMPLATE' the first time its JDBC URL is requested.
+ * PostgreSQL copies a template at the file level, which takes milliseconds,
+ * so each Application Context can be isolated from the others without paying
+ * for a new Container.
+ *
+ * <p> The configured database is left exactly as the init script left it, and
+ * serves as the template for every clone. Nothing should stay connected to it,
+ * since PostgreSQL refuses to copy a database with active connections.
+ *
+ * <p> The clone is dropped when the Application Context is closed, before the
+ * context finishes closing, so that it is not left behind when the JVM exits right
+ * after. Connections still open to it are terminated ('WITH (FORCE)' on PostgreSQL
+ * 13 and later), and the drop is given up on if it takes longer than
+ * {@value #DROP_TIMEOUT_SECONDS} seconds.
+ *
+ * @author Quinn Andrews
+ */
+public class DatabaseClone implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseClone.class);
+
+    private static final String MAINTENANCE_DATABASE = "postgres";
+
+    /**
+     * How long to wait for the clone to be dropped.
+     */
+    private static final int DROP_TIMEOUT_SECONDS = 10;
+
+    private final LocalPostgreSQLContainer container;
+    private volatile String databaseName;
+
+    /**
+     * Constructs an instance that will clone the configured database of the given Container.
+     *
+     * @param container The Container holding the template database.
+     */
+    public DatabaseClone(final LocalPostgreSQLContainer container) {
+        this.container = container;
+    }
+
+    /**
+     * Returns the name of the clone, creating it if it does not yet exist.
+     *
+     * @return String
+     */
+    public String getDatabaseName() {
+        if (databaseName == null) {
+            synchronized (this) {
+                if (databaseName == null) {
+                    databaseName = createClone();
+                }
+            }
+        }
+        return databaseName;
+    }
+
+    /**
+     * Returns the JDBC URL of the clone, creating it if it does not yet exist.
+     *
+     * @return String
+     */
+    public String getJdbcUrl() {
+        return container.getJdbcUrl(getDatabaseName());
+    }
+
+    @Override
+    public void destroy() {
+        final var clone = databaseName;
+        if (clone == null || !container.isRunning()) {
+            return;
+        }
+        dropClone(clone);
+    }
+
+    private String createClone() {
+        final var template = container.getDatabaseName();
+        final var clone = (template + "_" + UUID.randomUUID().toString().substring(0, 8))
+                .toLowerCase(Locale.ROOT);
+        try (final var connection = container.openConnection(MAINTENANCE_DATABASE);
+             final var statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + quote(clone) + " TEMPLATE " + quote(template));
+        } catch (final SQLException e) {
+            throw new IllegalStateException("Could not clone database '" + template + "'. "
+                    + "Make sure nothing else is connected to it.", e);
+        }
+        logger.info("Cloned database '{}' as '{}'.", template, clone);
+        return clone;
+    }
+
+    private void dropClone(final String clone) {
+        try (final var connection = container.openConnection(MAINTENANCE_DATABASE);
+             final var drop = connection.createStatement()) {
+            drop.setQueryTimeout(DROP_TIMEOUT_SECONDS);
+            if (connection.getMetaData().getDatabaseMajorVersion() >= 13) {
+                drop.execute("DROP DATABASE IF EXISTS " + quote(clone) + " WITH (FORCE)");
+            } else {
+                try (final var terminate = connection.prepareStatement("SELECT pg_terminate_backend(pid) "
+                        + "FROM pg_stat_activity WHERE datname = ? AND pid <> pg_backend_pid()")) {
+                    terminate.setQueryTimeout(DROP_TIMEOUT_SECONDS);
+                    terminate.setString(1, clone);
+                    terminate.execute();
+                }
+                drop.execute("DROP DATABASE IF EXISTS " + quote(clone));
+            }
+            logger.debug("Dropped database clone '{}'.", clone);
+        } catch (final SQLException e) {
+            logger.warn("Could not drop database clone '{}'.", clone, e);
+        }
+    }
+
+    private static String quote(final String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+}
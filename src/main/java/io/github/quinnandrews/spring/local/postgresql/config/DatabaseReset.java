@@ -0,0 +1,291 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * <p> Resets the tables of the database the Application is connected to (its clone,
+ * if cloning is enabled) to the state they were in when tracking was installed, by
+ * truncating and refilling only the tables that have been written to since, rather
+ * than restarting the Application Context with a new Container.
+ *
+ * <p> {@link #install()} adds a statement-level trigger to each table, which records
+ * the table in 'local_postgresql.dirty_table' the first time a statement writes to
+ * it, and keeps a copy of the rows and sequence values of every table as a baseline.
+ * {@link #reset()} then truncates the tables written to, and the tables that reference
+ * them, with a single 'TRUNCATE ... RESTART IDENTITY', and restores their baseline rows
+ * and sequence values, in one transaction, with triggers and foreign key checks disabled.
+ *
+ * <p> Tables created after tracking was installed are not tracked, and migration
+ * history tables are excluded by default. A reset fails rather than empty a table it
+ * cannot restore, when a table that is not tracked references one written to.
+ *
+ * <p> The baseline is kept in the database, so tracking is refused on a Container
+ * shared with other Application Contexts, unless each of them has a clone of its own.
+ *
+ * @author Quinn Andrews
+ */
+public class DatabaseReset {
+
+    /**
+     * The tables excluded from tracking by default: the history tables of Flyway and Liquibase.
+     */
+    public static final List<String> DEFAULT_EXCLUDES =
+            List.of("flyway_schema_history", "databasechangelog", "databasechangeloglock");
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseReset.class);
+
+    private static final String TRIGGER = "local_postgresql_dirty";
+
+    private final LocalPostgreSQLContainer container;
+    private final DatabaseClone databaseClone;
+    private final Set<String> excludes;
+    private final Map<Long, Table> tables = new LinkedHashMap<>();
+    private boolean installed;
+
+    /**
+     * A tracked table, with the columns its baseline rows are restored into, if it
+     * had any rows, and the values of its sequences.
+     */
+    private record Table(String name, String baseline, String columns, Map<String, Sequence> sequences) {
+    }
+
+    private record Sequence(long lastValue, boolean called) {
+    }
+
+    /**
+     * Constructs an instance for the database of the given Container, or its clone.
+     *
+     * @param container     The Container holding the database.
+     * @param databaseClone The clone the Application is connected to, if cloning is enabled (optional).
+     * @param excludes      The tables not to track, by name or schema-qualified name.
+     */
+    public DatabaseReset(final LocalPostgreSQLContainer container,
+                         final DatabaseClone databaseClone,
+                         final Collection<String> excludes) {
+        this.container = container;
+        this.databaseClone = databaseClone;
+        this.excludes = Set.copyOf(excludes);
+    }
+
+    /**
+     * Installs the triggers that track which tables are written to, and takes the
+     * current contents of every table as the baseline to reset to, unless that has
+     * already been done.
+     */
+    public synchronized void install() {
+        if (installed) {
+            return;
+        }
+        if (databaseClone == null && ContainerRegistry.isShared(container)) {
+            throw new IllegalStateException("Cannot reset the database of a Container shared with other "
+                    + "Application Contexts, since they would reset each other's tables. Enable "
+                    + "'spring.local.postgresql.database.clone' to give each of them a database of its own.");
+        }
+        final var startedAt = System.nanoTime();
+        try (final var connection = openConnection();
+             final var statement = connection.createStatement()) {
+            final var version = connection.getMetaData().getDatabaseMajorVersion();
+            statement.execute("CREATE SCHEMA IF NOT EXISTS local_postgresql");
+            statement.execute("CREATE UNLOGGED TABLE IF NOT EXISTS local_postgresql.dirty_table (relid oid PRIMARY KEY)");
+            // Security definer, so that the application user can record the tables it writes to.
+            statement.execute("CREATE OR REPLACE FUNCTION local_postgresql.mark_dirty() RETURNS trigger "
+                    + "LANGUAGE plpgsql SECURITY DEFINER SET search_path = pg_catalog AS $$ BEGIN "
+                    + "INSERT INTO local_postgresql.dirty_table (relid) VALUES (TG_RELID) ON CONFLICT DO NOTHING; "
+                    + "RETURN NULL; END $$");
+            final var found = new LinkedHashMap<Long, String>();
+            final var triggered = new LinkedHashSet<Long>();
+            try (final var resultSet = statement.executeQuery("SELECT c.oid, n.nspname, c.relname, "
+                    + "format('%I.%I', n.nspname, c.relname), "
+                    + "EXISTS (SELECT 1 FROM pg_trigger t WHERE t.tgrelid = c.oid AND t.tgname = '" + TRIGGER + "') "
+                    + "FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace "
+                    + "WHERE c.relkind = 'r' AND n.nspname NOT IN ('information_schema', 'local_postgresql') "
+                    + "AND n.nspname NOT LIKE 'pg\\_%' ORDER BY c.oid")) {
+                while (resultSet.next()) {
+                    if (excludes.contains(resultSet.getString(3))
+                            || excludes.contains(resultSet.getString(2) + "." + resultSet.getString(3))) {
+                        continue;
+                    }
+                    found.put(resultSet.getLong(1), resultSet.getString(4));
+                    if (resultSet.getBoolean(5)) {
+                        triggered.add(resultSet.getLong(1));
+                    }
+                }
+            }
+            tables.clear();
+            for (final Map.Entry<Long, String> table : found.entrySet()) {
+                if (!triggered.contains(table.getKey())) {
+                    statement.execute("CREATE TRIGGER " + TRIGGER + " AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON "
+                            + table.getValue() + " FOR EACH STATEMENT EXECUTE PROCEDURE local_postgresql.mark_dirty()");
+                }
+                tables.put(table.getKey(), baseline(connection, version, table.getKey(), table.getValue()));
+            }
+            statement.execute("DELETE FROM local_postgresql.dirty_table");
+        } catch (final SQLException e) {
+            throw new IllegalStateException("Could not install the tracking of tables to reset.", e);
+        }
+        installed = true;
+        logger.info("Tracking writes to {} tables, to reset them after each test ({}ms).",
+                tables.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * Resets the tables written to since tracking was installed, or since the last
+     * reset, to their baseline.
+     *
+     * @return The number of tables reset.
+     */
+    public synchronized int reset() {
+        if (!installed) {
+            return 0;
+        }
+        final var startedAt = System.nanoTime();
+        try (final var connection = openConnection();
+             final var statement = connection.createStatement()) {
+            connection.setAutoCommit(false);
+            final var dirty = new ArrayList<Long>();
+            try (final var resultSet = statement.executeQuery("SELECT relid FROM local_postgresql.dirty_table")) {
+                while (resultSet.next()) {
+                    dirty.add(resultSet.getLong(1));
+                }
+            }
+            if (dirty.isEmpty()) {
+                connection.commit();
+                return 0;
+            }
+            final var overriding = connection.getMetaData().getDatabaseMajorVersion() >= 10
+                    ? " OVERRIDING SYSTEM VALUE"
+                    : "";
+            // The tables that reference the dirty ones are emptied too, so those are restored as well.
+            final var affected = new ArrayList<Long>();
+            try (final var resultSet = statement.executeQuery("WITH RECURSIVE affected(relid) AS ("
+                    + "SELECT unnest(ARRAY[" + dirty.stream().map(String::valueOf).collect(Collectors.joining(", "))
+                    + "]::oid[]) UNION SELECT c.conrelid FROM pg_constraint c "
+                    + "JOIN affected a ON c.confrelid = a.relid WHERE c.contype = 'f') SELECT relid FROM affected")) {
+                while (resultSet.next()) {
+                    affected.add(resultSet.getLong(1));
+                }
+            }
+            final var untracked = affected.stream()
+                    .filter(relid -> !tables.containsKey(relid))
+                    .toList();
+            if (!untracked.isEmpty()) {
+                throw new IllegalStateException("Cannot reset the tables written to, since tables that are not "
+                        + "tracked reference them: " + names(connection, untracked) + ". Tables created after "
+                        + "tracking was installed, or excluded from it, cannot be restored once emptied.");
+            }
+            // Replica mode skips triggers, including foreign key checks, while the baseline is restored.
+            statement.execute("SET LOCAL session_replication_role = replica");
+            statement.execute("TRUNCATE " + affected.stream()
+                    .map(relid -> tables.get(relid).name())
+                    .collect(Collectors.joining(", ")) + " RESTART IDENTITY");
+            try (final var setval = connection.prepareStatement("SELECT setval(?::regclass, ?, ?)")) {
+                for (final Long relid : affected) {
+                    final var table = tables.get(relid);
+                    if (table.baseline() != null) {
+                        statement.execute("INSERT INTO " + table.name() + " (" + table.columns() + ")"
+                                + overriding
+                                + " SELECT " + table.columns() + " FROM " + table.baseline());
+                    }
+                    for (final Map.Entry<String, Sequence> sequence : table.sequences().entrySet()) {
+                        setval.setString(1, sequence.getKey());
+                        setval.setLong(2, sequence.getValue().lastValue());
+                        setval.setBoolean(3, sequence.getValue().called());
+                        setval.execute();
+                    }
+                }
+            }
+            statement.execute("DELETE FROM local_postgresql.dirty_table");
+            connection.commit();
+            logger.debug("Reset {} tables in {}ms.", affected.size(), (System.nanoTime() - startedAt) / 1_000_000);
+            return affected.size();
+        } catch (final SQLException e) {
+            throw new IllegalStateException("Could not reset the tables written to.", e);
+        }
+    }
+
+    /**
+     * Returns the names of the given tables, schema-qualified.
+     */
+    private static List<String> names(final Connection connection,
+                                      final List<Long> relids) throws SQLException {
+        final var names = new ArrayList<String>();
+        try (final var select = connection.prepareStatement("SELECT ?::oid::regclass::text")) {
+            for (final Long relid : relids) {
+                select.setLong(1, relid);
+                try (final var resultSet = select.executeQuery()) {
+                    resultSet.next();
+                    names.add(resultSet.getString(1));
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Copies the rows and sequence values of one table, as the baseline to reset it to.
+     */
+    private static Table baseline(final Connection connection,
+                                  final int version,
+                                  final long relid,
+                                  final String name) throws SQLException {
+        final String columns;
+        // Generated columns cannot be inserted into, and are computed again instead.
+        try (final var select = connection.prepareStatement("SELECT string_agg(quote_ident(attname), ', ' "
+                + "ORDER BY attnum) FROM pg_attribute WHERE attrelid = ?::oid AND attnum > 0 AND NOT attisdropped"
+                + (version >= 12 ? " AND attgenerated = ''" : ""))) {
+            select.setLong(1, relid);
+            try (final var resultSet = select.executeQuery()) {
+                resultSet.next();
+                columns = resultSet.getString(1);
+            }
+        }
+        final var baseline = "local_postgresql.baseline_" + relid;
+        final var sequences = new LinkedHashMap<String, Sequence>();
+        try (final var statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + baseline);
+            final boolean empty;
+            try (final var resultSet = statement.executeQuery("SELECT NOT EXISTS (SELECT 1 FROM " + name + ")")) {
+                resultSet.next();
+                empty = resultSet.getBoolean(1);
+            }
+            if (!empty && columns != null) {
+                statement.execute("CREATE UNLOGGED TABLE " + baseline + " AS SELECT " + columns + " FROM " + name);
+            }
+            final var names = new ArrayList<String>();
+            try (final var resultSet = statement.executeQuery("SELECT d.objid::regclass::text FROM pg_depend d "
+                    + "JOIN pg_class s ON s.oid = d.objid AND s.relkind = 'S' "
+                    + "WHERE d.classid = 'pg_class'::regclass AND d.refclassid = 'pg_class'::regclass "
+                    + "AND d.refobjid = " + relid + " AND d.deptype IN ('a', 'i')")) {
+                while (resultSet.next()) {
+                    names.add(resultSet.getString(1));
+                }
+            }
+            for (final String sequence : names) {
+                try (final var resultSet = statement.executeQuery("SELECT last_value, is_called FROM " + sequence)) {
+                    resultSet.next();
+                    sequences.put(sequence, new Sequence(resultSet.getLong(1), resultSet.getBoolean(2)));
+                }
+            }
+            return new Table(name, empty || columns == null ? null : baseline, columns, sequences);
+        }
+    }
+
+    private Connection openConnection() throws SQLException {
+        return container.openConnection(Optional.ofNullable(databaseClone)
+                .map(DatabaseClone::getDatabaseName)
+                .orElseGet(container::getDatabaseName));
+    }
+}
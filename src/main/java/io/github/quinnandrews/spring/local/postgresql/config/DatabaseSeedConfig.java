@@ -0,0 +1,63 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+
+/**
+ * <p> Bulk loads tables from files once the database has been initialized, and
+ * then fills tables with synthetic rows, if the PostgreSQL JDBC driver is on the
+ * classpath and any tables are configured under 'spring.local.postgresql.database.seed.tables'
+ * or 'spring.local.postgresql.database.generate.tables'.
+ *
+ * @author Quinn Andrews
+ */
+@ConditionalOnClass(name="org.postgresql.copy.CopyManager")
+@ConditionalOnProperty(name="spring.local.postgresql.engaged",
+                       havingValue="true",
+                       matchIfMissing = true)
+@EnableConfigurationProperties({DatabaseSeedProperties.class, DataGeneratorProperties.class})
+@Configuration
+public class DatabaseSeedConfig {
+
+    /**
+     * Returns a Spring Bean that loads the configured tables into the database the
+     * Application is connected to.
+     *
+     * @param container      The instance of LocalPostgreSQLContainer holding the database.
+     * @param databaseClone  The clone of the database the Application is connected to,
+     *                       if cloning is enabled (optional).
+     * @param properties     The tables to load and how.
+     * @param resourceLoader The ResourceLoader to resolve file locations with.
+     * @return DatabaseSeeder
+     */
+    @Bean
+    public DatabaseSeeder databaseSeeder(final LocalPostgreSQLContainer container,
+                                         final ObjectProvider<DatabaseClone> databaseClone,
+                                         final DatabaseSeedProperties properties,
+                                         final ResourceLoader resourceLoader) {
+        return new DatabaseSeeder(container, databaseClone.getIfAvailable(), properties, resourceLoader);
+    }
+
+    /**
+     * Returns a Spring Bean that fills the configured tables with synthetic rows in the
+     * database the Application is connected to. Declared after the DatabaseSeeder, so
+     * that it runs after it, and generated rows can reference seeded ones.
+     *
+     * @param container     The instance of LocalPostgreSQLContainer holding the database.
+     * @param databaseClone The clone of the database the Application is connected to,
+     *                      if cloning is enabled (optional).
+     * @param properties    The tables to fill and how.
+     * @return DataGenerator
+     */
+    @Bean
+    public DataGenerator dataGenerator(final LocalPostgreSQLContainer container,
+                                       final ObjectProvider<DatabaseClone> databaseClone,
+                                       final DataGeneratorProperties properties) {
+        return new DataGenerator(container, databaseClone.getIfAvailable(), properties);
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p> Configures the tables {@link DatabaseSeeder} bulk loads from files on the
+ * classpath (or elsewhere) once the database has been initialized.
+ *
+ * <p> Example:
+ * <pre>
+ * spring.local.postgresql.database.seed.tables.manufacturer.location=classpath:seed/manufacturer.csv
+ * spring.local.postgresql.database.seed.tables.pedal.location=classpath:seed/pedal.csv.gz
+ * spring.local.postgresql.database.seed.tables.pedal.columns=id,manufacturer_id,name
+ * </pre>
+ *
+ * @author Quinn Andrews
+ */
+@ConfigurationProperties(prefix = "spring.local.postgresql.database.seed")
+public class DatabaseSeedProperties {
+
+    /**
+     * The tables to load, by (optionally schema-qualified) table name.
+     */
+    private Map<String, Table> tables = new LinkedHashMap<>();
+
+    /**
+     * Whether to drop the indexes of each table before loading it and recreate them
+     * afterward, which is much faster than maintaining them row by row. Indexes that
+     * back a constraint (primary keys, unique constraints) are kept.
+     */
+    private boolean deferIndexes = true;
+
+    /**
+     * The most tables to load at once. Defaults to the number of available processors.
+     */
+    private Integer parallelism;
+
+    public Map<String, Table> getTables() {
+        return tables;
+    }
+
+    public void setTables(final Map<String, Table> tables) {
+        this.tables = tables;
+    }
+
+    public boolean isDeferIndexes() {
+        return deferIndexes;
+    }
+
+    public void setDeferIndexes(final boolean deferIndexes) {
+        this.deferIndexes = deferIndexes;
+    }
+
+    public Integer getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(final Integer parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * The format of a file to load, as understood by PostgreSQL's COPY command.
+     */
+    public enum Format {
+        /**
+         * Comma-separated values.
+         */
+        CSV,
+        /**
+         * PostgreSQL's tab-separated text format.
+         */
+        TEXT,
+        /**
+         * PostgreSQL's binary format, as written by 'COPY ... TO ... (FORMAT binary)'.
+         */
+        BINARY
+    }
+
+    /**
+     * How to load one table.
+     */
+    public static class Table {
+
+        /**
+         * The location of the file to load (example: 'classpath:seed/pedal.csv'). Files
+         * ending in '.gz' are decompressed while they are streamed.
+         */
+        private String location;
+
+        /**
+         * The format of the file.
+         */
+        private Format format = Format.CSV;
+
+        /**
+         * Whether the first line of a CSV file is a header to skip.
+         */
+        private boolean header = true;
+
+        /**
+         * The character separating columns in a CSV or text file. Defaults to the
+         * default of the format.
+         */
+        private String delimiter;
+
+        /**
+         * The string that represents a null value in a CSV or text file. Defaults to
+         * the default of the format.
+         */
+        private String nullString;
+
+        /**
+         * The columns the file holds, in order. Defaults to all columns of the table.
+         */
+        private List<String> columns = new ArrayList<>();
+
+        public String getLocation() {
+            return location;
+        }
+
+        public void setLocation(final String location) {
+            this.location = location;
+        }
+
+        public Format getFormat() {
+            return format;
+        }
+
+        public void setFormat(final Format format) {
+            this.format = format;
+        }
+
+        public boolean isHeader() {
+            return header;
+        }
+
+        public void setHeader(final boolean header) {
+            this.header = header;
+        }
+
+        public String getDelimiter() {
+            return delimiter;
+        }
+
+        public void setDelimiter(final String delimiter) {
+            this.delimiter = delimiter;
+        }
+
+        public String getNullString() {
+            return nullString;
+        }
+
+        public void setNullString(final String nullString) {
+            this.nullString = nullString;
+        }
+
+        public List<String> getColumns() {
+            return columns;
+        }
+
+        public void setColumns(final List<String> columns) {
+            this.columns = columns;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * <p> Bulk loads the tables configured by {@link DatabaseSeedProperties} with
+ * 'COPY ... FROM STDIN', streaming each file through the driver's CopyManager,
+ * once every other Bean has been initialized, by which point the schema has been
+ * created by the init script, Spring's 'schema.sql', migrations or Hibernate.
+ *
+ * <p> Tables are loaded in levels of their foreign keys on each other: tables
+ * that reference no other configured table first, all at once, then the tables
+ * that reference those, and so on. Each table is loaded in a transaction of its
+ * own, with its indexes dropped beforehand and recreated afterward, and is then
+ * analyzed, so that the planner knows about the new data.
+ *
+ * <p> Tables that already hold rows are skipped, which happens when the Container
+ * was reused or started from a snapshot.
+ *
+ * @author Quinn Andrews
+ */
+public class DatabaseSeeder implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseSeeder.class);
+
+    private final LocalPostgreSQLContainer container;
+    private final DatabaseClone databaseClone;
+    private final DatabaseSeedProperties properties;
+    private final ResourceLoader resourceLoader;
+
+    /**
+     * Constructs an instance that loads the configured tables into the database of the
+     * given Container, or its clone.
+     *
+     * @param container      The Container holding the database.
+     * @param databaseClone  The clone the Application is connected to, if cloning is enabled (optional).
+     * @param properties     The tables to load and how.
+     * @param resourceLoader The ResourceLoader to resolve file locations with.
+     */
+    public DatabaseSeeder(final LocalPostgreSQLContainer container,
+                          final DatabaseClone databaseClone,
+                          final DatabaseSeedProperties properties,
+                          final ResourceLoader resourceLoader) {
+        this.container = container;
+        this.databaseClone = databaseClone;
+        this.properties = properties;
+        this.resourceLoader = resourceLoader;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.getTables().isEmpty()) {
+            seed();
+        }
+    }
+
+    /**
+     * Loads all configured tables, level by level.
+     */
+    public void seed() {
+        final var startedAt = System.nanoTime();
+        final List<List<String>> levels;
+        try (final var connection = openConnection()) {
+            levels = levels(connection, properties.getTables().keySet());
+        } catch (final SQLException e) {
+            throw new IllegalStateException("Could not read the foreign keys of the tables to seed.", e);
+        }
+        final var parallelism = Optional.ofNullable(properties.getParallelism())
+                .orElseGet(() -> Runtime.getRuntime().availableProcessors());
+        final var executor = executor("local-postgresql-seed",
+                Math.max(1, Math.min(parallelism, properties.getTables().size())));
+        long rows = 0;
+        try {
+            for (final List<String> level : levels) {
+                final var loads = level.stream()
+                        .map(table -> CompletableFuture.supplyAsync(() -> load(table), executor))
+                        .toList();
+                CompletableFuture.allOf(loads.toArray(CompletableFuture[]::new)).join();
+                rows += loads.stream().mapToLong(CompletableFuture::join).sum();
+            }
+        } catch (final CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        } finally {
+            executor.shutdown();
+        }
+        final var millis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        logger.info("Seeded {} rows into {} tables in {}ms ({} rows/s).",
+                rows, properties.getTables().size(), millis, rows * 1000 / millis);
+    }
+
+    /**
+     * Groups the given tables into levels, so that each table is loaded after the
+     * tables it references with a foreign key. Tables in a cycle of references are
+     * loaded one at a time, last.
+     *
+     * @param connection The connection to read the foreign keys with.
+     * @param tables     The (optionally schema-qualified) names of the tables.
+     * @return List of levels of table names.
+     */
+    static List<List<String>> levels(final Connection connection,
+                                     final Collection<String> tables) throws SQLException {
+        final Map<Long, String> tablesByOid = new LinkedHashMap<>();
+        final Map<String, Set<String>> references = new HashMap<>();
+        try (final var resolve = connection.prepareStatement("SELECT to_regclass(?)::oid")) {
+            for (final String table : tables) {
+                resolve.setString(1, table);
+                try (final var resultSet = resolve.executeQuery()) {
+                    resultSet.next();
+                    final var oid = resultSet.getLong(1);
+                    if (resultSet.wasNull()) {
+                        throw new IllegalStateException("Table '" + table + "' does not exist.");
+                    }
+                    tablesByOid.put(oid, table);
+                    references.put(table, new HashSet<>());
+                }
+            }
+        }
+        try (final var statement = connection.createStatement();
+             final var resultSet = statement.executeQuery("SELECT conrelid::oid, confrelid::oid "
+                     + "FROM pg_constraint WHERE contype = 'f' AND conrelid <> confrelid")) {
+            while (resultSet.next()) {
+                final var table = tablesByOid.get(resultSet.getLong(1));
+                final var referenced = tablesByOid.get(resultSet.getLong(2));
+                if (table != null && referenced != null) {
+                    references.get(table).add(referenced);
+                }
+            }
+        }
+        final var levels = new ArrayList<List<String>>();
+        final var loaded = new HashSet<String>();
+        final var remaining = new ArrayList<>(tablesByOid.values());
+        while (!remaining.isEmpty()) {
+            final var level = remaining.stream()
+                    .filter(table -> loaded.containsAll(references.get(table)))
+                    .toList();
+            if (level.isEmpty()) {
+                logger.warn("Tables {} reference each other, so they are loaded one at a time.", remaining);
+                remaining.forEach(table -> levels.add(List.of(table)));
+                break;
+            }
+            levels.add(level);
+            loaded.addAll(level);
+            remaining.removeAll(level);
+        }
+        return levels;
+    }
+
+    /**
+     * Loads one table, unless it already holds rows.
+     *
+     * @param table The name of the table.
+     * @return The number of rows loaded.
+     */
+    private long load(final String table) {
+        final var settings = properties.getTables().get(table);
+        final var startedAt = System.nanoTime();
+        try (final var connection = openConnection();
+             final var statement = connection.createStatement()) {
+            try (final var resultSet = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM " + table + ")")) {
+                resultSet.next();
+                if (resultSet.getBoolean(1)) {
+                    logger.info("Table '{}' already holds rows, so it is not seeded.", table);
+                    return 0;
+                }
+            }
+            connection.setAutoCommit(false);
+            final var indexes = properties.isDeferIndexes()
+                    ? dropIndexes(connection, table)
+                    : List.<String>of();
+            final long rows;
+            try (final var inputStream = open(settings)) {
+                rows = connection.unwrap(PGConnection.class)
+                        .getCopyAPI()
+                        .copyIn(copyCommand(table, settings), inputStream);
+            }
+            for (final String index : indexes) {
+                statement.execute(index);
+            }
+            connection.commit();
+            statement.execute("ANALYZE " + table);
+            logger.info("Seeded {} rows into '{}' from '{}' in {}ms.",
+                    rows, table, settings.getLocation(), (System.nanoTime() - startedAt) / 1_000_000);
+            return rows;
+        } catch (final SQLException | IOException e) {
+            throw new IllegalStateException("Could not seed table '" + table + "' from '"
+                    + settings.getLocation() + "'.", e);
+        }
+    }
+
+    /**
+     * Drops the indexes of the given table that do not back a constraint.
+     *
+     * @param connection The connection to drop the indexes with.
+     * @param table      The name of the table.
+     * @return The statements that recreate the dropped indexes.
+     */
+    static List<String> dropIndexes(final Connection connection, final String table) throws SQLException {
+        final var definitions = new ArrayList<String>();
+        final var names = new ArrayList<String>();
+        try (final var select = connection.prepareStatement("SELECT pg_get_indexdef(i.indexrelid), "
+                + "i.indexrelid::regclass::text FROM pg_index i WHERE i.indrelid = ?::regclass "
+                + "AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = i.indexrelid)")) {
+            select.setString(1, table);
+            try (final var resultSet = select.executeQuery()) {
+                while (resultSet.next()) {
+                    definitions.add(resultSet.getString(1));
+                    names.add(resultSet.getString(2));
+                }
+            }
+        }
+        try (final var statement = connection.createStatement()) {
+            for (final String name : names) {
+                statement.execute("DROP INDEX " + name);
+            }
+        }
+        return definitions;
+    }
+
+    private static String copyCommand(final String table, final DatabaseSeedProperties.Table settings) {
+        final var command = new StringBuilder("COPY ").append(table);
+        if (!settings.getColumns().isEmpty()) {
+            command.append(" (").append(String.join(", ", settings.getColumns())).append(')');
+        }
+        command.append(" FROM STDIN WITH (FORMAT ").append(settings.getFormat().name().toLowerCase(Locale.ROOT));
+        if (settings.getFormat() == DatabaseSeedProperties.Format.CSV) {
+            command.append(", HEADER ").append(settings.isHeader());
+        }
+        if (settings.getFormat() != DatabaseSeedProperties.Format.BINARY) {
+            Optional.ofNullable(settings.getDelimiter())
+                    .ifPresent(delimiter -> command.append(", DELIMITER ").append(literal(delimiter)));
+            Optional.ofNullable(settings.getNullString())
+                    .ifPresent(nullString -> command.append(", NULL ").append(literal(nullString)));
+        }
+        return command.append(')').toString();
+    }
+
+    private InputStream open(final DatabaseSeedProperties.Table settings) throws IOException {
+        final var resource = resourceLoader.getResource(settings.getLocation());
+        if (!resource.exists()) {
+            throw new IllegalStateException("Seed file '" + settings.getLocation() + "' does not exist.");
+        }
+        final var inputStream = resource.getInputStream();
+        return settings.getLocation().endsWith(".gz")
+                ? new GZIPInputStream(inputStream, 65536)
+                : inputStream;
+    }
+
+    private Connection openConnection() throws SQLException {
+        return container.openConnection(Optional.ofNullable(databaseClone)
+                .map(DatabaseClone::getDatabaseName)
+                .orElseGet(container::getDatabaseName));
+    }
+
+    /**
+     * Returns a fixed pool of daemon threads, named with the given prefix.
+     *
+     * @param name    The prefix of the thread names.
+     * @param threads The number of threads.
+     * @return ExecutorService
+     */
+    static ExecutorService executor(final String name, final int threads) {
+        final var count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            final var thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the given value as an SQL string literal.
+     *
+     * @param value The value.
+     * @return String
+     */
+    static String literal(final String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+}
@@ -12,6 +12,8 @@ import java.lang.annotation.*;
 @Target({ElementType.TYPE})
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
-@Import(PostgreSQLContainerConfig.class)
+@Import({PostgreSQLContainerConfig.class, PostgreSQLContainerMetricsConfig.class, DatabaseSeedConfig.class,
+        ConnectionPoolConfig.class, WorkloadConfig.class, ReadReplicaRoutingConfig.class,
+        PostgreSQLInstancesConfig.class, LocalPostgreSQLEndpointConfig.class, LazyDataSourceConfig.class})
 public @interface EnableLocalPostgreSQL {
 }
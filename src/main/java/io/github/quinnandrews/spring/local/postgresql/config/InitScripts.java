@@ -0,0 +1,324 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.testcontainers.ext.ScriptUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * <p> Runs the SQL scripts matched by a list of locations, in order, over a single
+ * connection, in place of the single init script Testcontainers would execute
+ * statement by statement.
+ *
+ * <p> Each location is a path relative to the classpath root (example: 'data/init.sql'),
+ * which may contain wildcards (example: 'data/init/*.sql'), or a Spring resource
+ * location with a prefix (example: 'file:db/init/*.sql'). The scripts matched by a
+ * wildcard run in the order of their paths. Each script runs in a transaction of its
+ * own, and its statements are sent together, in a single round trip, so that a script
+ * of thousands of statements does not wait on the database thousands of times.
+ * Statements returning rows (example: 'SELECT setval(...)') are allowed. A script that
+ * contains a statement PostgreSQL refuses to run in a transaction (example: 'CREATE
+ * DATABASE') runs in auto-commit mode instead, one statement at a time, as it would
+ * with Testcontainers, since PostgreSQL runs statements sent together in an implicit
+ * transaction. Such a script is not atomic: if one of its statements fails, the
+ * statements before it are not rolled back.
+ *
+ * <p> When the scripts are incremental and the Container is reused, the name and
+ * checksum of each script are recorded in the table 'local_postgresql.init_script_history'
+ * of the database, so that when the Container is attached to again, the scripts that
+ * have already run are skipped, and only new or modified scripts are run. A modified
+ * script is run again as a whole, so incremental scripts should be re-runnable. A
+ * script is recorded in the same transaction it runs in, or, if it runs in auto-commit
+ * mode, once its last statement has run, so a script that failed part way is run again
+ * as a whole. Otherwise nothing is recorded, and no schema is created in the database.
+ *
+ * @author Quinn Andrews
+ */
+public class InitScripts {
+
+    /**
+     * The table recording the scripts that have run, and their checksums.
+     */
+    static final String HISTORY_TABLE = "local_postgresql.init_script_history";
+
+    private static final Logger logger = LoggerFactory.getLogger(InitScripts.class);
+
+    private static final Pattern NON_TRANSACTIONAL = Pattern.compile(
+            "^\\s*(?:(?:CREATE|DROP|ALTER)\\s+(?:DATABASE|TABLESPACE|SYSTEM)\\b|VACUUM\\b|REINDEX\\s+(?:SYSTEM|DATABASE)\\b"
+                    + "|(?:CREATE|DROP)\\s+(?:UNIQUE\\s+)?INDEX\\s+CONCURRENTLY\\b)",
+            Pattern.CASE_INSENSITIVE);
+
+    private final List<String> locations;
+    private final boolean incremental;
+    private final Map<String, Resource> scripts;
+
+    /**
+     * Constructs an instance that runs all the scripts matched by the given locations,
+     * resolving them right away, so that a missing script fails before the Container
+     * is started.
+     *
+     * @param locations The locations of the scripts, in the order they should run.
+     */
+    public InitScripts(final List<String> locations) {
+        this(locations, false);
+    }
+
+    /**
+     * Constructs an instance that runs the scripts matched by the given locations,
+     * resolving them right away, so that a missing script fails before the Container
+     * is started.
+     *
+     * @param locations   The locations of the scripts, in the order they should run.
+     * @param incremental Whether to record the scripts that have run in a reused
+     *                    Container, and only run new or modified scripts when it is
+     *                    attached to again.
+     */
+    public InitScripts(final List<String> locations,
+                       final boolean incremental) {
+        this.locations = List.copyOf(locations);
+        this.incremental = incremental;
+        this.scripts = Collections.unmodifiableMap(resolve(this.locations));
+    }
+
+    /**
+     * Returns the configured locations, as given.
+     *
+     * @return List of locations.
+     */
+    public List<String> getLocations() {
+        return locations;
+    }
+
+    /**
+     * Returns whether new or modified scripts are run when a reused Container is
+     * attached to again.
+     *
+     * @return boolean
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * Returns the Spring resource location pattern of the given location, which is
+     * relative to the classpath root if it has no prefix.
+     *
+     * @param location The location of one or more scripts.
+     * @return String
+     */
+    static String pattern(final String location) {
+        if (location.contains(":")) {
+            return location;
+        }
+        return (location.contains("*") || location.contains("?") ? "classpath*:" : "classpath:") + location;
+    }
+
+    /**
+     * Runs the scripts in the configured database of the given Container. When the
+     * scripts are incremental and the Container is reused, only the scripts that have
+     * not run in it yet, or have been modified since, are run.
+     *
+     * @param container The started Container.
+     */
+    public void run(final LocalPostgreSQLContainer container) {
+        if (scripts.isEmpty()) {
+            return;
+        }
+        final var startedAt = System.nanoTime();
+        final var recorded = incremental && container.isReused();
+        var executed = 0;
+        try (final var connection = container.openConnection(container.getDatabaseName());
+             final var statement = connection.createStatement()) {
+            if (recorded) {
+                // Other JVMs may attach to the same reused Container at the same time.
+                statement.execute("SELECT pg_advisory_lock(hashtext('" + HISTORY_TABLE + "'))");
+            }
+            try {
+                final var checksums = recorded
+                        ? history(statement)
+                        : Map.<String, String>of();
+                for (final Map.Entry<String, Resource> script : scripts.entrySet()) {
+                    final var contents = read(script.getKey(), script.getValue());
+                    final var checksum = checksum(contents);
+                    if (checksum.equals(checksums.get(script.getKey()))) {
+                        logger.debug("Init script '{}' has not changed since it ran, so it is skipped.", script.getKey());
+                        continue;
+                    }
+                    if (checksums.containsKey(script.getKey())) {
+                        logger.info("Init script '{}' has changed since it ran, so it runs again.", script.getKey());
+                    }
+                    execute(connection, script.getKey(), new String(contents, StandardCharsets.UTF_8),
+                            recorded ? checksum : null);
+                    executed++;
+                }
+            } finally {
+                connection.setAutoCommit(true);
+                if (recorded) {
+                    statement.execute("SELECT pg_advisory_unlock(hashtext('" + HISTORY_TABLE + "'))");
+                }
+            }
+        } catch (final SQLException e) {
+            throw new IllegalStateException("Could not run the init scripts " + locations + ".", e);
+        }
+        logger.info("Ran {} of {} init scripts in {}ms ({} unchanged since they ran).", executed, scripts.size(),
+                (System.nanoTime() - startedAt) / 1_000_000, scripts.size() - executed);
+    }
+
+    /**
+     * Creates the history table if it does not exist yet, and returns the checksums of
+     * the scripts recorded in it, by name.
+     */
+    private static Map<String, String> history(final Statement statement) throws SQLException {
+        statement.execute("CREATE SCHEMA IF NOT EXISTS local_postgresql");
+        statement.execute("CREATE TABLE IF NOT EXISTS " + HISTORY_TABLE + " ("
+                + "script text PRIMARY KEY, "
+                + "checksum text NOT NULL, "
+                + "executed_at timestamptz NOT NULL DEFAULT now(), "
+                + "execution_millis bigint NOT NULL)");
+        final var checksums = new LinkedHashMap<String, String>();
+        try (final var resultSet = statement.executeQuery("SELECT script, checksum FROM " + HISTORY_TABLE)) {
+            while (resultSet.next()) {
+                checksums.put(resultSet.getString(1), resultSet.getString(2));
+            }
+        }
+        return checksums;
+    }
+
+    /**
+     * Runs one script, in one transaction and one round trip unless it contains a
+     * statement that cannot run in a transaction, and records it in the history if a
+     * checksum is given.
+     */
+    private static void execute(final Connection connection,
+                                final String name,
+                                final String contents,
+                                final String checksum) throws SQLException {
+        final var startedAt = System.nanoTime();
+        final var statements = new ArrayList<String>();
+        ScriptUtils.splitSqlScript(name, contents, ScriptUtils.DEFAULT_STATEMENT_SEPARATOR,
+                ScriptUtils.DEFAULT_COMMENT_PREFIX, ScriptUtils.DEFAULT_BLOCK_COMMENT_START_DELIMITER,
+                ScriptUtils.DEFAULT_BLOCK_COMMENT_END_DELIMITER, statements);
+        final var transactional = statements.stream()
+                .noneMatch(sql -> NON_TRANSACTIONAL.matcher(sql).find());
+        if (!transactional) {
+            logger.debug("Init script '{}' cannot run in a transaction, so it runs in auto-commit mode.", name);
+        }
+        try (final var statement = connection.createStatement()) {
+            connection.setAutoCommit(!transactional);
+            if (!transactional) {
+                for (final String sql : statements) {
+                    statement.execute(sql);
+                }
+            } else if (!statements.isEmpty()) {
+                // The driver sends the statements of one string together, and fails on the first that fails.
+                statement.execute(String.join(";\n", statements));
+            }
+            if (checksum != null) {
+                try (final var record = connection.prepareStatement("INSERT INTO " + HISTORY_TABLE
+                        + " (script, checksum, execution_millis) VALUES (?, ?, ?) "
+                        + "ON CONFLICT (script) DO UPDATE SET checksum = excluded.checksum, "
+                        + "executed_at = now(), execution_millis = excluded.execution_millis")) {
+                    record.setString(1, name);
+                    record.setString(2, checksum);
+                    record.setLong(3, (System.nanoTime() - startedAt) / 1_000_000);
+                    record.executeUpdate();
+                }
+            }
+            if (transactional) {
+                connection.commit();
+            }
+        } catch (final SQLException e) {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+            }
+            throw new IllegalStateException("Init script '" + name + "' failed.", e);
+        }
+        logger.info("Ran init script '{}' ({} statements) in {}ms.",
+                name, statements.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * Resolves the scripts matched by the given locations, by name, in the order they
+     * should run. A script matched by more than one location runs once, at its first
+     * position.
+     */
+    private static Map<String, Resource> resolve(final List<String> locations) {
+        final var resolver = new PathMatchingResourcePatternResolver();
+        final var scripts = new LinkedHashMap<String, Resource>();
+        for (final String location : locations) {
+            final var pattern = pattern(location);
+            final Resource[] resources;
+            try {
+                resources = resolver.getResources(pattern);
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Could not resolve init scripts '" + location + "'.", e);
+            }
+            final var matched = Arrays.stream(resources)
+                    .filter(Resource::isReadable)
+                    .sorted(Comparator.comparing(resource -> name(location, resource)))
+                    .toList();
+            if (matched.isEmpty()) {
+                throw new IllegalStateException("Init script '" + location + "' does not exist.");
+            }
+            matched.forEach(resource -> scripts.putIfAbsent(name(location, resource), resource));
+        }
+        return scripts;
+    }
+
+    /**
+     * Returns the name a script is recorded by in the history: its path from the
+     * directory of the location, without any wildcards, so that it does not depend on
+     * where the classpath is.
+     */
+    private static String name(final String location, final Resource resource) {
+        final var path = location.substring(location.indexOf(':') + 1);
+        final var wildcard = path.matches(".*[*?].*")
+                ? Math.min(path.indexOf('*') < 0 ? path.length() : path.indexOf('*'),
+                        path.indexOf('?') < 0 ? path.length() : path.indexOf('?'))
+                : path.length();
+        final var root = path.substring(0, path.lastIndexOf('/', wildcard - 1) + 1);
+        try {
+            final var url = resource.getURL().toString();
+            final var index = root.isEmpty() ? url.lastIndexOf('/') + 1 : url.lastIndexOf(root);
+            return index < 0 ? root + resource.getFilename() : url.substring(index);
+        } catch (final IOException e) {
+            return root + resource.getFilename();
+        }
+    }
+
+    private static byte[] read(final String name, final Resource resource) {
+        try (final InputStream inputStream = resource.getInputStream()) {
+            return inputStream.readAllBytes();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not read init script '" + name + "'.", e);
+        }
+    }
+
+    private static String checksum(final byte[] contents) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(contents));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM.", e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.testcontainers.containers.ContainerLaunchException;
+import org.testcontainers.containers.JdbcDatabaseContainer;
+import org.testcontainers.containers.wait.strategy.AbstractWaitStrategy;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * <p> Waits for a database Container by connecting to it over JDBC and executing
+ * 'SELECT 1', retrying with exponential backoff, starting at the poll interval
+ * and doubling up to {@link #MAX_POLL_INTERVAL}.
+ *
+ * <p> This detects readiness as soon as PostgreSQL accepts connections, rather
+ * than waiting for its "ready to accept connections" log message to appear twice
+ * (once for the temporary server that runs during initialization, once for the
+ * real one), which is how Testcontainers waits by default. The temporary server
+ * only listens on a Unix socket, so it is never mistaken for the real one.
+ *
+ * @author Quinn Andrews
+ */
+public class JdbcProbeWaitStrategy extends AbstractWaitStrategy {
+
+    /**
+     * The poll interval used by default.
+     */
+    public static final Duration DEFAULT_POLL_INTERVAL = Duration.ofMillis(10);
+
+    /**
+     * The longest the poll interval grows to.
+     */
+    public static final Duration MAX_POLL_INTERVAL = Duration.ofMillis(250);
+
+    /**
+     * The shortest the poll interval can be set to.
+     */
+    private static final Duration MIN_POLL_INTERVAL = Duration.ofMillis(1);
+
+    /**
+     * The number of failed probes between checks that the Container is still running,
+     * each of which asks Docker.
+     */
+    private static final int RUNNING_CHECK_PROBES = 4;
+
+    private Duration pollInterval = DEFAULT_POLL_INTERVAL;
+
+    /**
+     * Sets the interval before the first retry, which doubles with each retry
+     * after that. It is kept between 1 millisecond and {@link #MAX_POLL_INTERVAL}.
+     *
+     * @param pollInterval The initial poll interval.
+     * @return JdbcProbeWaitStrategy
+     */
+    public JdbcProbeWaitStrategy withPollInterval(final Duration pollInterval) {
+        if (pollInterval.compareTo(MIN_POLL_INTERVAL) < 0) {
+            this.pollInterval = MIN_POLL_INTERVAL;
+        } else if (pollInterval.compareTo(MAX_POLL_INTERVAL) > 0) {
+            this.pollInterval = MAX_POLL_INTERVAL;
+        } else {
+            this.pollInterval = pollInterval;
+        }
+        return this;
+    }
+
+    @Override
+    protected void waitUntilReady() {
+        final var container = (JdbcDatabaseContainer<?>) waitStrategyTarget;
+        final var url = container.getJdbcUrl();
+        final var properties = new Properties();
+        properties.setProperty("user", container.getUsername());
+        properties.setProperty("password", container.getPassword());
+        properties.setProperty("connectTimeout", "1");
+        final var deadline = System.nanoTime() + startupTimeout.toNanos();
+        var interval = pollInterval;
+        SQLException lastFailure = null;
+        var failedProbes = 0;
+        while (System.nanoTime() < deadline) {
+            try (final var connection = DriverManager.getConnection(url, properties);
+                 final var statement = connection.createStatement()) {
+                statement.execute("SELECT 1");
+                return;
+            } catch (final SQLException e) {
+                lastFailure = e;
+            }
+            if (++failedProbes % RUNNING_CHECK_PROBES == 0 && !container.isRunning()) {
+                throw new ContainerLaunchException("Container exited before PostgreSQL accepted connections.",
+                        lastFailure);
+            }
+            try {
+                Thread.sleep(interval.toMillis());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ContainerLaunchException("Interrupted while waiting for PostgreSQL to accept connections.", e);
+            }
+            interval = interval.multipliedBy(2).compareTo(MAX_POLL_INTERVAL) > 0
+                    ? MAX_POLL_INTERVAL
+                    : interval.multipliedBy(2);
+        }
+        throw new ContainerLaunchException("Timed out after " + startupTimeout.toSeconds()
+                + " seconds waiting for PostgreSQL to accept connections at " + url + ".", lastFailure);
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * <p> Defers the creation of the Application's DataSource, in the 'lazy' startup
+ * mode, until a connection is first needed, so that the Container is not started as
+ * soon as Spring Boot creates the DataSource. See {@link LazyStartDataSource}.
+ *
+ * @author Quinn Andrews
+ */
+@ConditionalOnClass(name="org.springframework.jdbc.datasource.DelegatingDataSource")
+@ConditionalOnProperty(name="spring.local.postgresql.engaged",
+                       havingValue="true",
+                       matchIfMissing = true)
+@Configuration
+public class LazyDataSourceConfig {
+
+    /**
+     * The name of the Application's DataSource Bean, as Spring Boot registers it.
+     */
+    private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+    /**
+     * The name the Bean definition of the Application's DataSource is moved to.
+     */
+    static final String TARGET_DATA_SOURCE_BEAN_NAME = "localPostgreSQLTargetDataSource";
+
+    /**
+     * Returns a BeanDefinitionRegistryPostProcessor that, in the 'lazy' startup mode,
+     * moves the definition of the Application's DataSource, once Spring Boot's
+     * auto-configuration has registered it, to another name, and registers a
+     * {@link LazyStartDataSource} in its place, which only creates it once a
+     * connection is first needed. Since it is created as a Bean of its own, Spring
+     * Boot still binds 'spring.datasource.*' to it, and BeanPostProcessors still see it.
+     *
+     * @param environment The Environment holding the startup mode.
+     * @return BeanDefinitionRegistryPostProcessor
+     */
+    @Bean
+    public static BeanDefinitionRegistryPostProcessor lazyDataSourceRegistrar(final Environment environment) {
+        return new BeanDefinitionRegistryPostProcessor() {
+            @Override
+            public void postProcessBeanDefinitionRegistry(final BeanDefinitionRegistry registry) {
+                if (PostgreSQLContainerConfig.startupMode(environment.getProperty(
+                        "spring.local.postgresql.container.startup")) != LocalPostgreSQLContainer.StartupMode.LAZY
+                        || !registry.containsBeanDefinition(DATA_SOURCE_BEAN_NAME)) {
+                    return;
+                }
+                final var target = registry.getBeanDefinition(DATA_SOURCE_BEAN_NAME);
+                registry.removeBeanDefinition(DATA_SOURCE_BEAN_NAME);
+                final var beanFactory = (BeanFactory) registry;
+                final var dataSource = new RootBeanDefinition(LazyStartDataSource.class, () ->
+                        new LazyStartDataSource(() -> beanFactory.getBean(TARGET_DATA_SOURCE_BEAN_NAME, DataSource.class)));
+                dataSource.setPrimary(target.isPrimary());
+                // Otherwise injecting the Application's DataSource would be ambiguous.
+                target.setPrimary(false);
+                target.setAutowireCandidate(false);
+                registry.registerBeanDefinition(TARGET_DATA_SOURCE_BEAN_NAME, target);
+                registry.registerBeanDefinition(DATA_SOURCE_BEAN_NAME, dataSource);
+            }
+
+            @Override
+            public void postProcessBeanFactory(final ConfigurableListableBeanFactory beanFactory) {
+                // no-op
+            }
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.util.function.Supplier;
+
+/**
+ * <p> Stands in for the Application's DataSource in the 'lazy' startup mode, and
+ * only creates it, and so starts the Container, once a connection is first needed.
+ *
+ * <p> Spring Boot reads the JDBC URL as soon as it creates the DataSource, which is
+ * usually while the Application Context is refreshed, whether or not anything ever
+ * connects to the database. The actual DataSource is created, as Spring Boot would
+ * create it, on the first call to any of the methods of this one, from that first
+ * caller's thread. Concurrent callers wait for the same DataSource.
+ *
+ * @author Quinn Andrews
+ */
+public class LazyStartDataSource extends DelegatingDataSource {
+
+    private final Supplier<DataSource> targetDataSource;
+    private volatile DataSource started;
+
+    /**
+     * Constructs an instance that creates the actual DataSource once it is first needed.
+     *
+     * @param targetDataSource Creates the actual DataSource.
+     */
+    public LazyStartDataSource(final Supplier<DataSource> targetDataSource) {
+        this.targetDataSource = targetDataSource;
+    }
+
+    /**
+     * Returns whether the actual DataSource has been created yet.
+     *
+     * @return boolean
+     */
+    public boolean isStarted() {
+        return started != null;
+    }
+
+    /**
+     * Returns the actual DataSource, creating it if it has not been created yet.
+     *
+     * @return DataSource
+     */
+    @Override
+    protected DataSource obtainTargetDataSource() {
+        if (started == null) {
+            synchronized (this) {
+                if (started == null) {
+                    final var dataSource = targetDataSource.get();
+                    setTargetDataSource(dataSource);
+                    started = dataSource;
+                }
+            }
+        }
+        return started;
+    }
+
+    /**
+     * Does not require the actual DataSource, which is only created once it is first needed.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        // no-op
+    }
+}
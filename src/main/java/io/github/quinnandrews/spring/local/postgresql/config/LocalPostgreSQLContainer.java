@@ -0,0 +1,454 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * <p> Extends the Testcontainers PostgreSQL module with behavior needed by
+ * {@link PostgreSQLContainerConfig}.
+ *
+ * <p> When reuse is enabled (and the environment supports it), a running
+ * Container with a matching configuration is attached to instead of creating
+ * a new one. An attached Container has already been initialized, so the init
+ * scripts are not executed again (unless they are incremental, in which case only
+ * those that have not run in it yet, or have changed since, are executed), and the
+ * Container is left running when the Application shuts down so that the next run
+ * can attach to it as well.
+ *
+ * @author Quinn Andrews
+ */
+public class LocalPostgreSQLContainer extends PostgreSQLContainer<LocalPostgreSQLContainer> {
+
+    /**
+     * When the Container starts relative to the Application Context.
+     */
+    public enum StartupMode {
+        /**
+         * Starts the Container when its Bean is created, blocking until it is ready.
+         */
+        EAGER,
+        /**
+         * Starts the Container on a background thread, so that it boots while the
+         * rest of the Application Context is initialized.
+         */
+        ASYNC,
+        /**
+         * Does not start the Container until a connection to it is first needed, so
+         * that Application Contexts that never use the database never start Docker.
+         */
+        LAZY
+    }
+
+    private static final Executor STARTUP_EXECUTOR = runnable -> {
+        final var thread = new Thread(runnable, "local-postgresql-startup");
+        thread.setDaemon(true);
+        thread.start();
+    };
+
+    private final Map<String, String> serverSettings = new LinkedHashMap<>(Map.of("fsync", "off"));
+    private final List<Consumer<LocalPostgreSQLContainer>> startedCallbacks = new ArrayList<>();
+    private final Map<String, Duration> startupPhases = Collections.synchronizedMap(new LinkedHashMap<>());
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+    private String startupPhase;
+    private StartupStep startupStep;
+    private long startupPhaseStartedAt;
+    private boolean started;
+    private StartupMode startupMode = StartupMode.EAGER;
+    private CompletableFuture<Void> startup;
+    private volatile Thread startingThread;
+    private boolean reusable;
+    private Integer hostNetworkPort;
+    private InitScripts initScripts;
+
+    /**
+     * Constructs an instance with the given Docker Image.
+     *
+     * @param dockerImageName The Docker Image to run.
+     */
+    public LocalPostgreSQLContainer(final DockerImageName dockerImageName) {
+        super(dockerImageName);
+    }
+
+    @Override
+    public LocalPostgreSQLContainer withReuse(final boolean reusable) {
+        this.reusable = reusable;
+        return super.withReuse(reusable);
+    }
+
+    /**
+     * Sets when the Container starts relative to the Application Context.
+     *
+     * @param startupMode The startup mode.
+     * @return LocalPostgreSQLContainer
+     */
+    public LocalPostgreSQLContainer withStartupMode(final StartupMode startupMode) {
+        this.startupMode = startupMode;
+        return self();
+    }
+
+    /**
+     * Registers a callback to run once the Container has started (on the thread
+     * that started it), or right away if it already has. Callbacks are not kept
+     * once they have run.
+     *
+     * @param callback The callback.
+     * @return LocalPostgreSQLContainer
+     */
+    public LocalPostgreSQLContainer onStarted(final Consumer<LocalPostgreSQLContainer> callback) {
+        final boolean runNow;
+        synchronized (startedCallbacks) {
+            runNow = started;
+            if (!runNow) {
+                startedCallbacks.add(callback);
+            }
+        }
+        if (runNow) {
+            callback.accept(this);
+        }
+        return self();
+    }
+
+    /**
+     * Removes a callback registered with {@link #onStarted(Consumer)} that has not
+     * run yet, so that a Container shared with other Application Contexts does not
+     * keep the context that registered it alive once it has closed.
+     *
+     * @param callback The callback.
+     */
+    public void removeOnStarted(final Consumer<LocalPostgreSQLContainer> callback) {
+        synchronized (startedCallbacks) {
+            startedCallbacks.remove(callback);
+        }
+    }
+
+    /**
+     * Sets the ApplicationStartup to record the phases of startup with.
+     *
+     * @param applicationStartup The ApplicationStartup of the Application Context.
+     * @return LocalPostgreSQLContainer
+     */
+    public LocalPostgreSQLContainer withApplicationStartup(final ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+        return self();
+    }
+
+    /**
+     * Returns how long each phase of startup took, in the order they ran. Empty until
+     * the Container has started.
+     *
+     * @return Map of phase names ('image', 'create', 'start', 'readiness', 'init',
+     * 'connection') to durations.
+     */
+    public Map<String, Duration> getStartupPhases() {
+        synchronized (startupPhases) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(startupPhases));
+        }
+    }
+
+    /**
+     * Sets a PostgreSQL server setting, replacing any previous value for the same setting.
+     *
+     * @param name  The name of the setting (example: 'synchronous_commit').
+     * @param value The value of the setting (example: 'off').
+     * @return LocalPostgreSQLContainer
+     */
+    public LocalPostgreSQLContainer withServerSetting(final String name, final String value) {
+        serverSettings.put(name, value);
+        return self();
+    }
+
+    /**
+     * Runs the Container on the host's network rather than a bridge network, with
+     * PostgreSQL listening directly on the given port of the host, which avoids the
+     * latency Docker's userland proxy and NAT add to every round trip. Only works
+     * when Docker runs natively on the same (Linux) host as the Application.
+     *
+     * @param port The port of the host PostgreSQL should listen on.
+     * @return LocalPostgreSQLContainer
+     */
+    public LocalPostgreSQLContainer withHostNetwork(final int port) {
+        this.hostNetworkPort = port;
+        return withNetworkMode("host")
+                .withServerSetting("port", String.valueOf(port));
+    }
+
+    /**
+     * Sets the init scripts to run once the Container has started, in place of the
+     * single init script of Testcontainers.
+     *
+     * @param initScripts The init scripts.
+     * @return LocalPostgreSQLContainer
+     */
+    public LocalPostgreSQLContainer withInitScripts(final InitScripts initScripts) {
+        this.initScripts = initScripts;
+        return self();
+    }
+
+    /**
+     * Returns whether the Container runs on the host's network.
+     *
+     * @return boolean
+     */
+    public boolean isHostNetwork() {
+        return hostNetworkPort != null;
+    }
+
+    /**
+     * Returns the port of the host the given port of the Container is reachable at.
+     * On the host's network, PostgreSQL listens on the host port directly.
+     *
+     * @param originalPort The port of the Container.
+     * @return Integer
+     */
+    @Override
+    public Integer getMappedPort(final int originalPort) {
+        if (hostNetworkPort != null && originalPort == POSTGRESQL_PORT) {
+            return hostNetworkPort;
+        }
+        return super.getMappedPort(originalPort);
+    }
+
+    /**
+     * Returns the PostgreSQL server settings passed on the command line.
+     *
+     * @return Map
+     */
+    public Map<String, String> getServerSettings() {
+        return Collections.unmodifiableMap(serverSettings);
+    }
+
+    /**
+     * Returns whether this Container is reused across runs, which requires both
+     * that reuse is enabled for this Container and that the environment
+     * supports it ('testcontainers.reuse.enable=true').
+     *
+     * @return boolean
+     */
+    public boolean isReused() {
+        return reusable && TestcontainersConfiguration.getInstance().environmentSupportsReuse();
+    }
+
+    /**
+     * Returns the JDBC URL of another database in this Container, such as the
+     * 'postgres' maintenance database or a clone of the configured database.
+     *
+     * @param databaseName The name of the database.
+     * @return String
+     */
+    public String getJdbcUrl(final String databaseName) {
+        return "jdbc:postgresql://" + getHost() + ":" + getMappedPort(POSTGRESQL_PORT)
+                + "/" + databaseName + constructUrlParameters("?", "&");
+    }
+
+    /**
+     * Opens a connection to the given database in this Container as the
+     * super/admin user.
+     *
+     * @param databaseName The name of the database.
+     * @return Connection
+     * @throws SQLException If the connection cannot be opened.
+     */
+    public Connection openConnection(final String databaseName) throws SQLException {
+        awaitStartup();
+        return DriverManager.getConnection(getJdbcUrl(databaseName), getUsername(), getPassword());
+    }
+
+    /**
+     * Starts the Container according to its startup mode: blocking until it is ready
+     * in the 'eager' mode, in the background in the 'async' mode, or not at all in the
+     * 'lazy' mode, where it is started by {@link #awaitStartup()} once a connection is
+     * first needed.
+     */
+    @Override
+    public void start() {
+        switch (startupMode) {
+            case ASYNC -> startAsync();
+            case LAZY -> logger().debug("Deferring the start of the Container until it is first used.");
+            default -> awaitStartup();
+        }
+    }
+
+    /**
+     * Starts the Container on a background thread, unless it has already been started.
+     *
+     * @return CompletableFuture that completes when the Container is ready.
+     */
+    public synchronized CompletableFuture<Void> startAsync() {
+        if (startup == null) {
+            startup = CompletableFuture.runAsync(this::startNow, STARTUP_EXECUTOR);
+        }
+        return startup;
+    }
+
+    /**
+     * Blocks until the Container is ready, starting it on the calling thread if it
+     * has not already been started. Concurrent callers wait for the same start. Returns
+     * right away when called while the Container is starting on the calling thread,
+     * by the init scripts, for example.
+     */
+    public void awaitStartup() {
+        if (startingThread == Thread.currentThread()) {
+            return;
+        }
+        final CompletableFuture<Void> pending;
+        synchronized (this) {
+            if (startup == null) {
+                startup = new CompletableFuture<>();
+                try {
+                    startNow();
+                    startup.complete(null);
+                } catch (final RuntimeException e) {
+                    startup.completeExceptionally(e);
+                    throw e;
+                }
+                return;
+            }
+            pending = startup;
+        }
+        try {
+            pending.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void startNow() {
+        // Init scripts and callbacks open connections on this thread while it starts the Container.
+        startingThread = Thread.currentThread();
+        try {
+            startAndNotify();
+        } finally {
+            startingThread = null;
+        }
+    }
+
+    private void startAndNotify() {
+        startupPhases.clear();
+        try {
+            beginStartupPhase("image");
+            getDockerImageName();
+            beginStartupPhase("create");
+            super.start();
+            beginStartupPhase("connection");
+            try (final var connection = openConnection(getDatabaseName())) {
+                logger().debug("Connected to {}.", connection.getMetaData().getURL());
+            } catch (final SQLException e) {
+                logger().warn("Could not open a first connection to {}.", getDatabaseName(), e);
+            }
+        } finally {
+            endStartupPhase();
+        }
+        final List<Consumer<LocalPostgreSQLContainer>> callbacks;
+        synchronized (startedCallbacks) {
+            started = true;
+            callbacks = List.copyOf(startedCallbacks);
+            startedCallbacks.clear();
+        }
+        callbacks.forEach(callback -> callback.accept(this));
+    }
+
+    private void beginStartupPhase(final String phase) {
+        endStartupPhase();
+        startupPhase = phase;
+        startupStep = applicationStartup.start("spring.local.postgresql.container." + phase);
+        startupPhaseStartedAt = System.nanoTime();
+    }
+
+    private void endStartupPhase() {
+        if (startupPhase == null) {
+            return;
+        }
+        startupPhases.put(startupPhase, Duration.ofNanos(System.nanoTime() - startupPhaseStartedAt));
+        startupStep.end();
+        startupPhase = null;
+        startupStep = null;
+    }
+
+    @Override
+    protected void containerIsCreated(final String containerId) {
+        super.containerIsCreated(containerId);
+        beginStartupPhase("start");
+    }
+
+    @Override
+    protected void containerIsStarting(final InspectContainerResponse containerInfo,
+                                       final boolean reused) {
+        super.containerIsStarting(containerInfo, reused);
+        beginStartupPhase("readiness");
+    }
+
+    @Override
+    protected void configure() {
+        super.configure();
+        final var command = new ArrayList<String>();
+        command.add("postgres");
+        serverSettings.forEach((name, value) -> {
+            command.add("-c");
+            command.add(name + "=" + value);
+        });
+        setCommand(command.toArray(String[]::new));
+        if (hostNetworkPort != null) {
+            // Ports cannot be published on the host's network.
+            setExposedPorts(new ArrayList<>());
+        }
+    }
+
+    @Override
+    protected void containerIsStarted(final InspectContainerResponse containerInfo,
+                                      final boolean reused) {
+        beginStartupPhase("init");
+        if (reused && (initScripts == null || !initScripts.isIncremental())) {
+            logger().info("Attached to running Container {}, skipping the init scripts.", containerInfo.getName());
+            return;
+        }
+        if (reused) {
+            logger().info("Attached to running Container {}, skipping the init scripts that already ran.",
+                    containerInfo.getName());
+        } else {
+            super.containerIsStarted(containerInfo, false);
+        }
+        if (initScripts != null) {
+            initScripts.run(this);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (ContainerRegistry.isShared(this)) {
+            logger().debug("Leaving Container {} running for the Application Contexts sharing it.", getContainerName());
+            return;
+        }
+        if (isReused()) {
+            logger().info("Leaving reusable Container {} running.", getContainerName());
+            return;
+        }
+        super.stop();
+        synchronized (this) {
+            startup = null;
+        }
+        synchronized (startedCallbacks) {
+            started = false;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * <p> An Actuator Endpoint ('localpostgresql') reporting live statistics of the
+ * PostgreSQL Container and of the Application's database, sampled when the Endpoint
+ * is read. See {@link ContainerStatistics}.
+ *
+ * <p> Like any other Endpoint, it must be exposed to be reachable, with
+ * 'management.endpoints.web.exposure.include=localpostgresql', for example.
+ *
+ * @author Quinn Andrews
+ */
+@Endpoint(id = "localpostgresql")
+public class LocalPostgreSQLEndpoint {
+
+    private final ContainerStatistics containerStatistics;
+
+    /**
+     * Constructs an instance reading the given statistics.
+     *
+     * @param containerStatistics The statistics of the Container.
+     */
+    public LocalPostgreSQLEndpoint(final ContainerStatistics containerStatistics) {
+        this.containerStatistics = containerStatistics;
+    }
+
+    /**
+     * Returns a sample of the statistics taken now, or nothing (which Actuator answers
+     * with '404 Not Found') if the Container has not started yet.
+     *
+     * @return ContainerStatistics.Sample
+     */
+    @ReadOperation
+    public ContainerStatistics.Sample statistics() {
+        return containerStatistics.sample().orElse(null);
+    }
+}
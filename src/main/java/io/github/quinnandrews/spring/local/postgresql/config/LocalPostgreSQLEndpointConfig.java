@@ -0,0 +1,31 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * <p> Contributes the {@link LocalPostgreSQLEndpoint} to Spring Boot Actuator, if it
+ * is on the classpath.
+ *
+ * @author Quinn Andrews
+ */
+@ConditionalOnClass(name="org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+@ConditionalOnProperty(name="spring.local.postgresql.engaged",
+                       havingValue="true",
+                       matchIfMissing = true)
+@Configuration
+public class LocalPostgreSQLEndpointConfig {
+
+    /**
+     * Returns the Actuator Endpoint reporting the statistics of the Container.
+     *
+     * @param containerStatistics The statistics of the Container.
+     * @return LocalPostgreSQLEndpoint
+     */
+    @Bean
+    public LocalPostgreSQLEndpoint localPostgreSQLEndpoint(final ContainerStatistics containerStatistics) {
+        return new LocalPostgreSQLEndpoint(containerStatistics);
+    }
+}
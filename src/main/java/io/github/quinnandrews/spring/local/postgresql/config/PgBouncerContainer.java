@@ -0,0 +1,152 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * <p> Runs PgBouncer in a Docker Container in front of a {@link LocalPostgreSQLContainer},
+ * on a shared Docker Network, so that the Application connects through a
+ * connection pooler as it does in production, and problems with prepared
+ * statements or session state under transaction pooling show up locally.
+ *
+ * <p> Every database of the PostgreSQL Container is served, with the same
+ * credentials. The admin user of PostgreSQL is also the admin user of PgBouncer,
+ * so it can read pool statistics from the 'pgbouncer' admin database.
+ *
+ * @author Quinn Andrews
+ */
+public class PgBouncerContainer extends GenericContainer<PgBouncerContainer> {
+
+    /**
+     * The Docker Image used by default, pinned so that a new release of PgBouncer
+     * does not change behavior between runs.
+     */
+    public static final String DEFAULT_IMAGE = "edoburu/pgbouncer:1.21.0-p2";
+
+    /**
+     * The port PgBouncer listens on inside the Container.
+     */
+    public static final int PGBOUNCER_PORT = 6432;
+
+    /**
+     * The Network alias the PostgreSQL Container is reached by.
+     */
+    public static final String POSTGRESQL_ALIAS = "postgresql";
+
+    private static final long STATISTICS_TTL_NANOS = 1_000_000_000L;
+
+    private final String adminUsername;
+    private final String adminPassword;
+    private Map<String, Long> poolStatistics = Map.of();
+    private long poolStatisticsReadAt;
+
+    /**
+     * Constructs an instance in front of the given PostgreSQL Container, which must be
+     * on a Network with the alias {@link #POSTGRESQL_ALIAS}.
+     *
+     * @param dockerImageName The Docker Image to run.
+     * @param postgreSQL      The PostgreSQL Container to pool connections to.
+     * @param poolMode        The pool mode: 'session', 'transaction' or 'statement'.
+     * @param poolSize        The number of server connections per database and user.
+     * @param users           The usernames and passwords of the users allowed to connect.
+     */
+    public PgBouncerContainer(final DockerImageName dockerImageName,
+                              final LocalPostgreSQLContainer postgreSQL,
+                              final String poolMode,
+                              final int poolSize,
+                              final Map<String, String> users) {
+        super(dockerImageName);
+        this.adminUsername = postgreSQL.getUsername();
+        this.adminPassword = postgreSQL.getPassword();
+        withNetwork(postgreSQL.getNetwork());
+        withExposedPorts(PGBOUNCER_PORT);
+        withCopyToContainer(Transferable.of("""
+                [databases]
+                * = host=%s port=%d
+
+                [pgbouncer]
+                listen_addr = 0.0.0.0
+                listen_port = %d
+                auth_type = scram-sha-256
+                auth_file = /etc/pgbouncer/userlist.txt
+                admin_users = %s
+                stats_users = %s
+                pool_mode = %s
+                default_pool_size = %d
+                max_client_conn = 1000
+                ignore_startup_parameters = extra_float_digits
+                """.formatted(POSTGRESQL_ALIAS, PostgreSQLContainer.POSTGRESQL_PORT, PGBOUNCER_PORT,
+                adminUsername, adminUsername, poolMode, poolSize)), "/etc/pgbouncer/pgbouncer.ini");
+        final var userlist = new StringBuilder();
+        users.forEach((username, password) -> userlist.append(quote(username)).append(' ')
+                .append(quote(password)).append('\n'));
+        withCopyToContainer(Transferable.of(userlist.toString()), "/etc/pgbouncer/userlist.txt");
+        waitingFor(Wait.forListeningPort());
+    }
+
+    /**
+     * Returns the JDBC URL of the given database, through PgBouncer.
+     *
+     * @param databaseName The name of the database.
+     * @return String
+     */
+    public String getJdbcUrl(final String databaseName) {
+        return "jdbc:postgresql://" + getHost() + ":" + getMappedPort(PGBOUNCER_PORT) + "/" + databaseName;
+    }
+
+    /**
+     * Returns the statistics of 'SHOW POOLS' (cl_active, cl_waiting, sv_active, sv_idle,
+     * maxwait, etc.), summed over all pools but the admin database's. Statistics are
+     * read at most once a second.
+     *
+     * @return Map of column names to values.
+     */
+    public synchronized Map<String, Long> getPoolStatistics() {
+        if ((poolStatisticsReadAt != 0 && System.nanoTime() - poolStatisticsReadAt < STATISTICS_TTL_NANOS)
+                || !isRunning()) {
+            return poolStatistics;
+        }
+        final var properties = new Properties();
+        properties.setProperty("user", adminUsername);
+        properties.setProperty("password", adminPassword);
+        // The admin database only understands the simple query protocol.
+        properties.setProperty("preferQueryMode", "simple");
+        final var statistics = new LinkedHashMap<String, Long>();
+        try (final var connection = DriverManager.getConnection(getJdbcUrl("pgbouncer"), properties);
+             final var statement = connection.createStatement();
+             final var resultSet = statement.executeQuery("SHOW POOLS")) {
+            final var metaData = resultSet.getMetaData();
+            while (resultSet.next()) {
+                if ("pgbouncer".equals(resultSet.getString("database"))) {
+                    continue;
+                }
+                for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                    final var value = resultSet.getString(column);
+                    if (value != null && value.matches("\\d+")) {
+                        statistics.merge(metaData.getColumnLabel(column), Long.parseLong(value), Long::sum);
+                    }
+                }
+            }
+        } catch (final SQLException e) {
+            logger().debug("Could not read PgBouncer pool statistics.", e);
+            return poolStatistics;
+        }
+        poolStatistics = Collections.unmodifiableMap(statistics);
+        poolStatisticsReadAt = System.nanoTime();
+        return poolStatistics;
+    }
+
+    private static String quote(final String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -6,18 +6,45 @@ import com.github.dockerjava.api.model.PortBinding;
 import com.github.dockerjava.api.model.Ports;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.util.unit.DataSize;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.Network;
 import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.output.OutputFrame;
 import org.testcontainers.containers.output.Slf4jLogConsumer;
+import org.testcontainers.containers.wait.strategy.AbstractWaitStrategy;
+import org.testcontainers.containers.wait.strategy.LogMessageWaitStrategy;
+import org.testcontainers.containers.wait.strategy.WaitStrategy;
+import org.testcontainers.images.builder.Transferable;
 import org.testcontainers.utility.DockerImageName;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
 import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * <p> Initializes and configures a module from Testcontainers that runs
@@ -33,25 +60,68 @@ import java.util.Optional;
                        havingValue="true",
                        matchIfMissing = true)
 @Configuration
-public class PostgreSQLContainerConfig {
+public class PostgreSQLContainerConfig implements DisposableBean {
 
     /**
      * The Docker Image used by default.
      */
     public static final String POSTGRESQL_DEFAULT_IMAGE = PostgreSQLContainer.IMAGE + ":" + PostgreSQLContainer.DEFAULT_TAG;
 
+    /**
+     * The performance mode that trades durability for speed.
+     */
+    public static final String PERFORMANCE_MODE_FAST = "fast";
+
+    /**
+     * The readiness strategy that probes the database over JDBC.
+     */
+    public static final String READINESS_STRATEGY_JDBC = "jdbc";
+
+    /**
+     * The network mode that runs the Container on the host's network.
+     */
+    public static final String NETWORK_HOST = "host";
+
+    /**
+     * How long to wait for the Container to become ready by default.
+     */
+    private static final Duration DEFAULT_READINESS_TIMEOUT = Duration.ofSeconds(60);
+
+    /**
+     * The directory PostgreSQL stores its data in, inside the Docker Image.
+     */
+    private static final String POSTGRESQL_DATA_DIRECTORY = "/var/lib/postgresql/data";
+
     private static final Logger logger = LoggerFactory.getLogger(PostgreSQLContainerConfig.class);
 
     private final String containerImage;
     private final String containerName;
     private final Integer containerPort;
     private final Boolean followContainerLog;
+    private final Boolean reuseContainer;
+    private final Integer poolSize;
+    private final Boolean shareContainer;
+    private final String containerNetwork;
+    private final ResourceLimits resourceLimits;
+    private final String containerStartup;
+    private final String readinessStrategy;
+    private final Duration readinessTimeout;
+    private final Duration readinessPollInterval;
+    private final String performanceMode;
     private final String databaseName;
     private final String username;
     private final String password;
-    private final String initScript;
+    private final InitScripts initScripts;
+    private final Boolean captureStatements;
+    private final Boolean pgBouncerEnabled;
+    private final Integer replicaCount;
+    private final Network network;
     private final String applicationUsername;
     private final String applicationPassword;
+    private final Consumer<LocalPostgreSQLContainer> banner = this::logBanner;
+    private String sharedContainerKey;
+    private LocalPostgreSQLContainer sharedContainer;
+    private ContainerLogPipeline sharedLogPipeline;
 
     /**
      * Constructs an instance of this Configuration Class with the given properties.
@@ -60,6 +130,35 @@ public class PostgreSQLContainerConfig {
      * @param containerName       The name to use for the Docker Container when started.
      * @param containerPort       The port on the Container that should map to PostgreSQL (optional).
      * @param followContainerLog  Whether to log the output produced by the Container's logs (optional).
+     * @param reuseContainer      Whether to attach to a running Container with the same configuration, rather
+     *                            than create a new one, and leave it running on shutdown (optional).
+     * @param poolSize            The number of reusable Containers to share between JVMs, such as parallel
+     *                            test forks, each of which leases one of them (optional).
+     * @param shareContainer      Whether to share a running Container with the other Application Contexts
+     *                            in the JVM that have the same configuration (optional).
+     * @param containerNetwork    The network the Container runs on, either 'bridge' or 'host', where 'host'
+     *                            runs it on the host's network, falling back to 'bridge' if that is not
+     *                            available (optional).
+     * @param cpus                The number of CPUs the Container may use, which may be fractional (optional).
+     * @param memory              The memory the Container may use, from which the memory settings of
+     *                            PostgreSQL are derived (optional).
+     * @param shmSize             The size of the Container's shared memory ('/dev/shm') (optional).
+     * @param blkioDevice         The host device the block IO limits apply to (optional).
+     * @param blkioReadBps        The most bytes per second the Container may read from the device (optional).
+     * @param blkioWriteBps       The most bytes per second the Container may write to the device (optional).
+     * @param blkioReadIops       The most read operations per second on the device (optional).
+     * @param blkioWriteIops      The most write operations per second on the device (optional).
+     * @param containerStartup    When the Container starts, either 'eager', 'async' or 'lazy', where 'async'
+     *                            starts it in the background while the Application Context is initialized,
+     *                            and 'lazy' when a connection to it is first needed (optional).
+     * @param readinessStrategy   How to detect that the Container is ready, either 'log' or 'jdbc', where
+     *                            'jdbc' probes the database with 'SELECT 1' rather than waiting for log
+     *                            messages (optional).
+     * @param readinessTimeout    How long to wait for the Container to become ready (optional).
+     * @param readinessPollInterval The interval before the first retry of the 'jdbc' readiness strategy,
+     *                            which doubles with each retry after that (optional).
+     * @param performanceMode     The performance mode, either 'standard' or 'fast', where 'fast' trades
+     *                            durability for speed (optional).
      * @param databaseName        The name for the database (optional).
      * @param username            The username for the database super/admin user (optional).
      * @param password            The password for the database super/admin user (optional).
@@ -67,8 +166,16 @@ public class PostgreSQLContainerConfig {
      *                            if different from the super/admin user (optional).
      * @param applicationPassword The password for the database user the Application should connect with,
      *                            if different from the super/admin user (optional).
-     * @param initScript          The path to an SQL script that should be executed when the Container
-     *                            starts (optional).
+     * @param initScripts         The locations of the SQL scripts that should be executed when the Container
+     *                            starts, in order, each of which may contain wildcards (optional).
+     * @param initScriptsIncremental Whether a reused Container only runs the init scripts that are new or
+     *                            have changed since they ran in it, rather than being replaced (optional).
+     * @param captureStatements   Whether to gather statistics about executed statements with
+     *                            'pg_stat_statements' (optional).
+     * @param pgBouncerEnabled    Whether to connect the Application through PgBouncer, running in a
+     *                            Container of its own (optional).
+     * @param replicaCount        The number of streaming replicas of the database to run, each in a
+     *                            Container of its own (optional).
      */
     public PostgreSQLContainerConfig(@Value("${spring.local.postgresql.container.image:#{null}}")
                                      final String containerImage,
@@ -78,6 +185,40 @@ public class PostgreSQLContainerConfig {
                                      final Integer containerPort,
                                      @Value("${spring.local.postgresql.container.log.follow:#{false}}")
                                      final Boolean followContainerLog,
+                                     @Value("${spring.local.postgresql.container.reuse:#{false}}")
+                                     final Boolean reuseContainer,
+                                     @Value("${spring.local.postgresql.container.pool.size:#{null}}")
+                                     final Integer poolSize,
+                                     @Value("${spring.local.postgresql.container.shared:#{false}}")
+                                     final Boolean shareContainer,
+                                     @Value("${spring.local.postgresql.container.network:#{null}}")
+                                     final String containerNetwork,
+                                     @Value("${spring.local.postgresql.container.resources.cpus:#{null}}")
+                                     final Double cpus,
+                                     @Value("${spring.local.postgresql.container.resources.memory:#{null}}")
+                                     final DataSize memory,
+                                     @Value("${spring.local.postgresql.container.resources.shm-size:#{null}}")
+                                     final DataSize shmSize,
+                                     @Value("${spring.local.postgresql.container.resources.blkio.device:#{null}}")
+                                     final String blkioDevice,
+                                     @Value("${spring.local.postgresql.container.resources.blkio.read-bps:#{null}}")
+                                     final DataSize blkioReadBps,
+                                     @Value("${spring.local.postgresql.container.resources.blkio.write-bps:#{null}}")
+                                     final DataSize blkioWriteBps,
+                                     @Value("${spring.local.postgresql.container.resources.blkio.read-iops:#{null}}")
+                                     final Long blkioReadIops,
+                                     @Value("${spring.local.postgresql.container.resources.blkio.write-iops:#{null}}")
+                                     final Long blkioWriteIops,
+                                     @Value("${spring.local.postgresql.container.startup:#{null}}")
+                                     final String containerStartup,
+                                     @Value("${spring.local.postgresql.container.readiness.strategy:#{null}}")
+                                     final String readinessStrategy,
+                                     @Value("${spring.local.postgresql.container.readiness.timeout:#{null}}")
+                                     final Duration readinessTimeout,
+                                     @Value("${spring.local.postgresql.container.readiness.poll-interval:#{null}}")
+                                     final Duration readinessPollInterval,
+                                     @Value("${spring.local.postgresql.performance.mode:#{null}}")
+                                     final String performanceMode,
                                      @Value("${spring.local.postgresql.database.name:#{null}}")
                                      final String databaseName,
                                      @Value("${spring.local.postgresql.database.username:#{null}}")
@@ -89,49 +230,346 @@ public class PostgreSQLContainerConfig {
                                      @Value("${spring.local.postgresql.database.application.password:#{null}}")
                                      final String applicationPassword,
                                      @Value("${spring.local.postgresql.database.init.script:#{null}}")
-                                     final String initScript) {
+                                     final String[] initScripts,
+                                     @Value("${spring.local.postgresql.database.init.incremental:#{false}}")
+                                     final Boolean initScriptsIncremental,
+                                     @Value("${spring.local.postgresql.database.statements.capture:#{false}}")
+                                     final Boolean captureStatements,
+                                     @Value("${spring.local.postgresql.pgbouncer.enabled:#{false}}")
+                                     final Boolean pgBouncerEnabled,
+                                     @Value("${spring.local.postgresql.replicas.count:#{0}}")
+                                     final Integer replicaCount) {
         this.containerImage = containerImage;
         this.containerName = containerName;
         this.containerPort = containerPort;
         this.followContainerLog = followContainerLog;
+        this.reuseContainer = reuseContainer;
+        this.poolSize = poolSize;
+        this.shareContainer = shareContainer;
+        this.containerNetwork = containerNetwork;
+        this.resourceLimits = new ResourceLimits(cpus, memory, shmSize, blkioDevice, blkioReadBps, blkioWriteBps,
+                blkioReadIops, blkioWriteIops);
+        this.containerStartup = containerStartup;
+        this.readinessStrategy = readinessStrategy;
+        this.readinessTimeout = readinessTimeout;
+        this.readinessPollInterval = readinessPollInterval;
+        this.performanceMode = performanceMode;
         this.databaseName = databaseName;
         this.username = username;
         this.password = password;
         this.applicationUsername = applicationUsername;
         this.applicationPassword = applicationPassword;
-        this.initScript = initScript;
+        this.initScripts = Optional.ofNullable(initScripts)
+                .map(locations -> Arrays.stream(locations)
+                        .map(String::trim)
+                        .filter(location -> !location.isEmpty())
+                        .toList())
+                .filter(locations -> !locations.isEmpty())
+                .map(locations -> new InitScripts(locations, initScriptsIncremental))
+                .orElse(null);
+        this.captureStatements = captureStatements;
+        this.pgBouncerEnabled = pgBouncerEnabled;
+        this.replicaCount = replicaCount;
+        this.network = pgBouncerEnabled || replicaCount > 0 ? Network.newNetwork() : null;
+        if (poolSize != null && containerPort != null) {
+            throw new IllegalStateException("'spring.local.postgresql.container.pool.size' cannot be combined "
+                    + "with a fixed 'spring.local.postgresql.container.port'.");
+        }
+    }
+
+    /**
+     * Returns a BeanPostProcessor that, in the 'async' startup mode, creates the
+     * Container ahead of the other Beans, once all BeanPostProcessors have been
+     * registered, so that Docker boots it in the background while the rest of the
+     * Application Context (the web server, the Hibernate metamodel) is initialized.
+     * The Application only waits for the Container when its JDBC URL is first read.
+     * See {@link ContainerStartupInitiator}.
+     *
+     * @param environment The Environment holding the startup mode.
+     * @param container   The instance of LocalPostgreSQLContainer to create.
+     * @return BeanPostProcessor
+     */
+    @Bean
+    public static BeanPostProcessor postgreSQLContainerStartupInitiator(final Environment environment,
+                                                                        final ObjectProvider<LocalPostgreSQLContainer> container) {
+        return new ContainerStartupInitiator(startupMode(environment.getProperty(
+                "spring.local.postgresql.container.startup")) == LocalPostgreSQLContainer.StartupMode.ASYNC,
+                container);
+    }
+
+    /**
+     * Returns a Spring Bean for the snapshot Image of the fully initialized Container,
+     * tagged with a fingerprint of the base image, the database settings, the init
+     * scripts, the given migration resources, any seed files and any generated tables,
+     * and labelled with the name of the configuration, so that the older snapshot
+     * Images of the same configuration are removed once a new one is committed.
+     *
+     * @param snapshotName      The name of the configuration, by default the database name.
+     * @param snapshotResources Location patterns of additional resources that shape the database,
+     *                          such as migrations (optional).
+     * @param seedProperties    The tables loaded from files once the database is initialized (optional).
+     * @param generatorProperties The tables filled with synthetic rows once the database is initialized (optional).
+     * @return ContainerSnapshot
+     */
+    @Bean
+    @ConditionalOnProperty(name="spring.local.postgresql.container.snapshot.enabled",
+                           havingValue="true")
+    public ContainerSnapshot containerSnapshot(@Value("${spring.local.postgresql.container.snapshot.name:${spring.local.postgresql.database.name:test}}")
+                                               final String snapshotName,
+                                               @Value("${spring.local.postgresql.container.snapshot.resources:classpath*:db/migration/**}")
+                                               final String[] snapshotResources,
+                                               final ObjectProvider<DatabaseSeedProperties> seedProperties,
+                                               final ObjectProvider<DataGeneratorProperties> generatorProperties) {
+        final var fingerprint = new ContainerFingerprint()
+                .with("image", Optional.ofNullable(containerImage).orElse(POSTGRESQL_DEFAULT_IMAGE))
+                .with("database", databaseName)
+                .with("username", username)
+                .with("password", password)
+                .with("replication", replicaCount > 0);
+        Optional.ofNullable(initScripts).ifPresent(scripts -> scripts.getLocations().forEach(location ->
+                fingerprint.withResources("initScripts", InitScripts.pattern(location))));
+        for (final String snapshotResource : snapshotResources) {
+            fingerprint.withResources("resources", snapshotResource.trim());
+        }
+        seedProperties.ifAvailable(seed -> seed.getTables().forEach((table, settings) -> {
+            fingerprint.with("seed.table", table)
+                    .with("seed.columns", settings.getColumns());
+            Optional.ofNullable(settings.getLocation())
+                    .ifPresent(location -> fingerprint.withResources("seed.location", location));
+        }));
+        generatorProperties.ifAvailable(generate -> generate.getTables().forEach((table, settings) -> fingerprint
+                .with("generate.table", table)
+                .with("generate.rows", settings.getRows())
+                .with("generate.columns", settings.getColumns())));
+        return new ContainerSnapshot(snapshotName, fingerprint.toHex());
     }
 
     /**
      * Returns a Testcontainers Bean that runs PostgreSQL inside a Docker Container
      * with the given configuration.
      *
-     * @return PostgreSQLContainer
+     * @param containerSnapshot  The snapshot Image to start from, if snapshots are enabled (optional).
+     * @param applicationStartup The ApplicationStartup to record the phases of startup with (optional).
+     * @param logPipeline        The pipeline to follow the Container's log with, if enabled (optional).
+     * @return LocalPostgreSQLContainer
      */
     @Bean
     @ServiceConnection
-    public PostgreSQLContainer<?> postgreSQLContainer() {
-        final var container = new PostgreSQLContainer<>(
-                DockerImageName.parse(Optional.ofNullable(containerImage)
+    public LocalPostgreSQLContainer postgreSQLContainer(final ObjectProvider<ContainerSnapshot> containerSnapshot,
+                                                        final ObjectProvider<ApplicationStartup> applicationStartup,
+                                                        final ObjectProvider<ContainerLogPipeline> logPipeline) {
+        final var snapshot = containerSnapshot.getIfAvailable();
+        final var pipeline = logPipeline.getIfAvailable();
+        if (shareContainer && network != null) {
+            logger.warn("The Container is not shared, since PgBouncer and read replicas need a Docker Network "
+                    + "of their own.");
+        } else if (shareContainer) {
+            final var key = new ContainerFingerprint()
+                    .with("configuration", fingerprint())
+                    .with("name", containerName)
+                    .with("poolSize", poolSize)
+                    .with("snapshot", Optional.ofNullable(snapshot).map(ContainerSnapshot::getImageName).orElse(null))
+                    .with("startup", startupMode(containerStartup))
+                    .toHex();
+            final var container = ContainerRegistry.acquire(key, pipeline, log ->
+                    startContainer(snapshot, log, applicationStartup));
+            sharedContainerKey = key;
+            sharedContainer = container;
+            sharedLogPipeline = pipeline;
+            return container;
+        }
+        return startContainer(snapshot, pipeline, applicationStartup);
+    }
+
+    /**
+     * Releases this Application Context's reference to a shared Container, which stops
+     * it if no other Application Context uses it, once this context no longer follows
+     * its log, nor has callbacks waiting for it to start.
+     */
+    @Override
+    public void destroy() {
+        if (sharedContainerKey == null) {
+            return;
+        }
+        sharedContainer.removeOnStarted(banner);
+        ContainerRegistry.release(sharedContainerKey, sharedLogPipeline);
+    }
+
+    /**
+     * Creates a Container with the given configuration and starts it, according to
+     * the startup mode.
+     *
+     * @param snapshot           The snapshot Image to start from, if snapshots are enabled (optional).
+     * @param logConsumer        The consumer to follow the Container's log with, if enabled (optional).
+     * @param applicationStartup The ApplicationStartup to record the phases of startup with (optional).
+     * @return LocalPostgreSQLContainer
+     */
+    private LocalPostgreSQLContainer startContainer(final ContainerSnapshot snapshot,
+                                                    final Consumer<OutputFrame> logConsumer,
+                                                    final ObjectProvider<ApplicationStartup> applicationStartup) {
+        final LocalPostgreSQLContainer container;
+        if (poolSize == null) {
+            container = createContainer(snapshot, null, logConsumer);
+        } else {
+            final var fingerprint = fingerprint();
+            // Warmed Containers outlive this Application Context, so they are not
+            // followed by its log consumer, which is closed along with it.
+            final var warmLogConsumer = logConsumer == null ? null
+                    : new Slf4jLogConsumer(logger).withPrefix("pool");
+            final var leased = ContainerPool.lease(fingerprint, poolSize, Optional.ofNullable(readinessTimeout)
+                    .orElse(DEFAULT_READINESS_TIMEOUT));
+            container = createContainer(snapshot, leased, logConsumer)
+                    .onStarted(started -> ContainerPool.warm(fingerprint, poolSize,
+                            slot -> createContainer(snapshot, slot, warmLogConsumer)));
+        }
+        if (captureStatements) {
+            container.onStarted(StatementStatistics::createExtension);
+        }
+        container.withStartupMode(startupMode(containerStartup))
+                .withApplicationStartup(applicationStartup.getIfAvailable(() -> ApplicationStartup.DEFAULT))
+                .onStarted(banner)
+                .start();
+        return container;
+    }
+
+    /**
+     * Creates a Container with the given configuration, without starting it.
+     *
+     * @param snapshot The snapshot Image to start from, if snapshots are enabled (optional).
+     * @param slot        The slot in the Container pool the Container belongs to, if pooled (optional).
+     * @param logConsumer The consumer to follow the Container's log with, if enabled (optional).
+     * @return LocalPostgreSQLContainer
+     */
+    private LocalPostgreSQLContainer createContainer(final ContainerSnapshot snapshot,
+                                                     final Integer slot,
+                                                     final Consumer<OutputFrame> logConsumer) {
+        final var startFromSnapshot = snapshot != null && snapshot.exists();
+        final var container = new LocalPostgreSQLContainer(startFromSnapshot
+                ? snapshot.getDockerImageName()
+                : DockerImageName.parse(Optional.ofNullable(containerImage)
                         .orElse(POSTGRESQL_DEFAULT_IMAGE))
         );
-        Optional.ofNullable(containerPort).ifPresent(cp ->
-                container.withCreateContainerCmdModifier(cmd -> cmd
-                        .withName(containerName)
-                        .withHostConfig(
-                                new HostConfig().withPortBindings(
-                                        new PortBinding(
-                                                Ports.Binding.bindPort(cp),
-                                                new ExposedPort(PostgreSQLContainer.POSTGRESQL_PORT))
-                                ))));
-        if (followContainerLog) {
-            container.withLogConsumer(new Slf4jLogConsumer(logger));
+        if (useHostNetwork()) {
+            // PostgreSQL listens on the host directly, so without a fixed port it
+            // needs a free one of its own, which changes the command of the Container,
+            // so that a reusable one would be created anew (and left running) each time.
+            if (containerPort == null && (reuseContainer || slot != null)) {
+                throw new IllegalStateException("A reusable or pooled Container on the host network needs a fixed "
+                        + "'spring.local.postgresql.container.port', since it would be created anew on every run "
+                        + "with a free port. Set one, or use the 'bridge' network.");
+            }
+            container.withHostNetwork(Optional.ofNullable(containerPort)
+                    .orElseGet(PostgreSQLContainerConfig::freePort));
+            Optional.ofNullable(containerName).ifPresent(name ->
+                    container.withCreateContainerCmdModifier(cmd -> cmd.withName(name)));
+        } else {
+            Optional.ofNullable(containerPort).ifPresent(cp ->
+                    container.withCreateContainerCmdModifier(cmd -> cmd
+                            .withName(containerName)
+                            .withHostConfig(
+                                    Optional.ofNullable(cmd.getHostConfig())
+                                            .orElseGet(HostConfig::new)
+                                            .withPortBindings(
+                                                    new PortBinding(
+                                                            Ports.Binding.bindPort(cp),
+                                                            new ExposedPort(PostgreSQLContainer.POSTGRESQL_PORT))
+                                    ))));
+        }
+        if (!resourceLimits.isEmpty()) {
+            container.withCreateContainerCmdModifier(cmd -> cmd.withHostConfig(resourceLimits.apply(
+                    Optional.ofNullable(cmd.getHostConfig()).orElseGet(HostConfig::new))));
+            // Derived from the memory limit, before any feature sets a setting of its own.
+            resourceLimits.serverSettings().forEach(container::withServerSetting);
+        }
+        Optional.ofNullable(logConsumer).ifPresent(container::withLogConsumer);
+        // A snapshot is not initialized again, so PostgreSQL only reports it is ready
+        // once, and only a JDBC probe can tell when it is.
+        final var probe = READINESS_STRATEGY_JDBC.equalsIgnoreCase(readinessStrategy) || startFromSnapshot;
+        if (probe || readinessTimeout != null) {
+            container.waitingFor(readinessWaitStrategy(probe));
         }
         Optional.ofNullable(databaseName).ifPresent(container::withDatabaseName);
         Optional.ofNullable(username).ifPresent(container::withUsername);
         Optional.ofNullable(password).ifPresent(container::withPassword);
-        Optional.ofNullable(initScript).ifPresent(container::withInitScript);
-        container.start();
+        if (snapshot != null) {
+            container.withEnv("PGDATA", ContainerSnapshot.DATA_DIRECTORY);
+        }
+        if (!startFromSnapshot) {
+            // A snapshot has already been initialized.
+            Optional.ofNullable(initScripts).ifPresent(container::withInitScripts);
+            if (replicaCount > 0) {
+                container.withCopyToContainer(Transferable.of(PostgreSQLReplicaContainer.PRIMARY_INIT_SCRIPT, 0755),
+                        "/docker-entrypoint-initdb.d/00-replication.sh");
+            }
+        }
+        if (replicaCount > 0) {
+            PostgreSQLReplicaContainer.PRIMARY_SERVER_SETTINGS.forEach(container::withServerSetting);
+        }
+        if (PERFORMANCE_MODE_FAST.equalsIgnoreCase(performanceMode)) {
+            // Local and test data is disposable, so keep it in memory and skip
+            // everything PostgreSQL does to survive a crash. Data on tmpfs cannot
+            // be committed, though, so it stays on disk when snapshots are enabled.
+            if (snapshot == null) {
+                container.withTmpFs(Map.of(POSTGRESQL_DATA_DIRECTORY, "rw"));
+            }
+            container.withServerSetting("fsync", "off")
+                    .withServerSetting("synchronous_commit", "off")
+                    .withServerSetting("full_page_writes", "off")
+                    .withServerSetting("checkpoint_timeout", "1h")
+                    .withServerSetting("max_wal_size", "1GB");
+        }
+        if (network != null) {
+            container.withNetwork(network)
+                    .withNetworkAliases(PgBouncerContainer.POSTGRESQL_ALIAS);
+        }
+        if (captureStatements) {
+            StatementStatistics.SERVER_SETTINGS.forEach(container::withServerSetting);
+        }
+        if (reuseContainer || slot != null) {
+            final var fingerprint = fingerprint();
+            if (containerName != null && (useHostNetwork() || containerPort != null)) {
+                assertNameNotTaken(fingerprint);
+            }
+            container.withReuse(true)
+                    .withLabel(ContainerFingerprint.LABEL, fingerprint);
+        }
+        if (slot != null) {
+            container.withLabel(ContainerPool.SLOT_LABEL, String.valueOf(slot));
+        }
+        return container;
+    }
+
+    /**
+     * Fails if a Docker Container with the configured name exists, but was created with
+     * a different configuration. A reusable Container whose configuration has changed is
+     * created anew, and Docker would refuse to give it the name of the one left running.
+     *
+     * @param fingerprint The fingerprint of the Container configuration.
+     */
+    private void assertNameNotTaken(final String fingerprint) {
+        DockerClientFactory.instance().client()
+                .listContainersCmd()
+                .withShowAll(true)
+                .withNameFilter(List.of(containerName))
+                .exec().stream()
+                .filter(existing -> Arrays.asList(existing.getNames()).contains("/" + containerName))
+                .filter(existing -> !fingerprint.equals(Optional.ofNullable(existing.getLabels())
+                        .map(labels -> labels.get(ContainerFingerprint.LABEL))
+                        .orElse(null)))
+                .findFirst()
+                .ifPresent(existing -> {
+                    throw new IllegalStateException("A Docker Container named '" + containerName + "' already "
+                            + "exists, created with a different configuration, so it cannot be reused. Remove it "
+                            + "with 'docker rm -f " + containerName + "' to create it anew.");
+                });
+    }
+
+    /**
+     * Logs connection details and settings of the given Container once it has started.
+     *
+     * @param container The started Container.
+     */
+    private void logBanner(final LocalPostgreSQLContainer container) {
         logger.info(MessageFormat.format("""
                       
                       
@@ -143,6 +581,14 @@ public class PostgreSQLContainerConfig {
                             Container: {0}
                             Image: {1}
                             Port Mapping: {2}:{3}
+                            Network: {15}
+                            Resource Limits: {16}
+                            Reused: {9}
+                            Snapshot: {12}
+                            Performance Mode: {10}
+                            Server Settings: {11}
+                            Startup: {13}
+                            Readiness: {14}
                         
                             Use the credentials below to connect with your client of choice (DBeaver,
                             IntelliJ IDEA, etc.):
@@ -166,8 +612,294 @@ public class PostgreSQLContainerConfig {
                 Optional.ofNullable(applicationUsername)
                         .orElse("[not configured]"),
                 Optional.ofNullable(applicationPassword)
-                        .orElse("[not configured]")));
-        return container;
+                        .orElse("[not configured]"),
+                container.isReused(),
+                PERFORMANCE_MODE_FAST.equalsIgnoreCase(performanceMode)
+                        ? PERFORMANCE_MODE_FAST + (container.getEnvMap().containsKey("PGDATA")
+                                ? ""
+                                : " (data directory on tmpfs)")
+                        : "standard",
+                container.getServerSettings().entrySet().stream()
+                        .map(setting -> setting.getKey() + "=" + setting.getValue())
+                        .collect(Collectors.joining(", ")),
+                container.getDockerImageName().startsWith(ContainerSnapshot.REPOSITORY + ":")
+                        ? "started from snapshot"
+                        : "[not started from snapshot]",
+                container.getStartupPhases().entrySet().stream()
+                        .map(phase -> phase.getKey() + " " + phase.getValue().toMillis() + "ms")
+                        .collect(Collectors.joining(", ")),
+                container.getDockerImageName().startsWith(ContainerSnapshot.REPOSITORY + ":")
+                        || READINESS_STRATEGY_JDBC.equalsIgnoreCase(readinessStrategy)
+                        ? READINESS_STRATEGY_JDBC
+                        : "log",
+                container.isHostNetwork()
+                        ? NETWORK_HOST + " (no port mapping)"
+                        : "bridge",
+                resourceLimits.describe()));
+    }
+
+    /**
+     * Returns the WaitStrategy for the configured readiness strategy. The 'log'
+     * strategy is the same one Testcontainers uses by default, which waits for
+     * PostgreSQL to report it is ready twice, since it is restarted after
+     * initialization.
+     *
+     * @param probe Whether to probe the database over JDBC rather than wait for log messages.
+     * @return WaitStrategy
+     */
+    private WaitStrategy readinessWaitStrategy(final boolean probe) {
+        final AbstractWaitStrategy waitStrategy = probe
+                ? new JdbcProbeWaitStrategy()
+                        .withPollInterval(Optional.ofNullable(readinessPollInterval)
+                                .orElse(JdbcProbeWaitStrategy.DEFAULT_POLL_INTERVAL))
+                : new LogMessageWaitStrategy()
+                        .withRegEx(".*database system is ready to accept connections.*\\s")
+                        .withTimes(2);
+        return waitStrategy.withStartupTimeout(Optional.ofNullable(readinessTimeout)
+                .orElse(DEFAULT_READINESS_TIMEOUT));
+    }
+
+    /**
+     * Returns whether to run the Container on the host's network, which is only
+     * possible when it was asked for, Docker runs natively on this (Linux) host, not
+     * in a VM like Docker Desktop's or on another machine, and PgBouncer is not
+     * enabled and there are no read replicas (since they need a Docker Network).
+     * Logs why not otherwise.
+     *
+     * @return boolean
+     */
+    private boolean useHostNetwork() {
+        if (!NETWORK_HOST.equalsIgnoreCase(containerNetwork)) {
+            return false;
+        }
+        final var reason = network != null
+                ? "PgBouncer and read replicas need a Docker Network"
+                : !System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("linux")
+                        ? "the host is not Linux"
+                        : !"localhost".equals(DockerClientFactory.instance().dockerHostIpAddress())
+                                ? "Docker does not run on this host"
+                                : Optional.ofNullable(DockerClientFactory.instance().getInfo().getOperatingSystem())
+                                        .filter(os -> os.contains("Docker Desktop"))
+                                        .map(os -> "Docker runs in the Docker Desktop VM")
+                                        .orElse(null);
+        if (reason != null) {
+            logger.warn("Host networking is not available, since {}. Falling back to bridge networking.", reason);
+            return false;
+        }
+        return true;
+    }
+
+    private static int freePort() {
+        try (final var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not find a free port for PostgreSQL.", e);
+        }
+    }
+
+    static LocalPostgreSQLContainer.StartupMode startupMode(final String containerStartup) {
+        return Optional.ofNullable(containerStartup)
+                .map(startup -> LocalPostgreSQLContainer.StartupMode.valueOf(startup.toUpperCase(Locale.ROOT)))
+                .orElse(LocalPostgreSQLContainer.StartupMode.EAGER);
+    }
+
+    /**
+     * Returns a fingerprint of the configuration that determines the state of the
+     * Container, so that a reusable Container is only replaced when something that
+     * affects it has changed. The contents of the init scripts are included, unless
+     * they are incremental, in which case new and modified scripts are run in a reused
+     * Container instead.
+     *
+     * @return String
+     */
+    private String fingerprint() {
+        final var fingerprint = new ContainerFingerprint()
+                .with("image", Optional.ofNullable(containerImage).orElse(POSTGRESQL_DEFAULT_IMAGE))
+                .with("port", containerPort)
+                .with("database", databaseName)
+                .with("username", username)
+                .with("password", password)
+                .with("network", containerNetwork)
+                .with("resources", resourceLimits.isEmpty() ? null : resourceLimits.describe())
+                .with("performanceMode", performanceMode)
+                .with("captureStatements", captureStatements)
+                .with("replication", replicaCount > 0)
+                .with("initScripts", Optional.ofNullable(initScripts).map(InitScripts::getLocations).orElse(null));
+        Optional.ofNullable(initScripts)
+                .filter(scripts -> !scripts.isIncremental())
+                .ifPresent(scripts -> scripts.getLocations().forEach(location ->
+                        fingerprint.withResources("initScripts.contents", InitScripts.pattern(location))));
+        return fingerprint.toHex();
+    }
+
+    /**
+     * Returns a Spring Bean holding a private clone of the configured database, so that
+     * each Application Context connects to its own copy of the database as the init
+     * script left it.
+     *
+     * @param container The instance of LocalPostgreSQLContainer holding the template database.
+     * @return DatabaseClone
+     */
+    @Bean
+    @ConditionalOnExpression("${spring.local.postgresql.database.clone:false} "
+            + "or ${spring.local.postgresql.container.pool.size:0} > 0")
+    public DatabaseClone databaseClone(final LocalPostgreSQLContainer container) {
+        return new DatabaseClone(container);
+    }
+
+    /**
+     * Returns a Testcontainers Bean that runs PgBouncer in front of PostgreSQL, on a
+     * shared Docker Network, for the Application to connect through.
+     *
+     * @param container      The instance of LocalPostgreSQLContainer to pool connections to.
+     * @param pgBouncerImage The Docker Image to run PgBouncer with (optional).
+     * @param poolMode       The pool mode, either 'session', 'transaction' or 'statement' (optional).
+     * @param poolSize       The number of server connections per database and user (optional).
+     * @return PgBouncerContainer
+     */
+    @Bean
+    @ConditionalOnProperty(name="spring.local.postgresql.pgbouncer.enabled",
+                           havingValue="true")
+    public PgBouncerContainer pgBouncerContainer(final LocalPostgreSQLContainer container,
+                                                 @Value("${spring.local.postgresql.pgbouncer.image:#{null}}")
+                                                 final String pgBouncerImage,
+                                                 @Value("${spring.local.postgresql.pgbouncer.pool.mode:transaction}")
+                                                 final String poolMode,
+                                                 @Value("${spring.local.postgresql.pgbouncer.pool.size:#{20}}")
+                                                 final Integer poolSize) {
+        final var users = new LinkedHashMap<String, String>();
+        users.put(container.getUsername(), container.getPassword());
+        Optional.ofNullable(applicationUsername).ifPresent(au ->
+                users.put(au, Optional.ofNullable(applicationPassword).orElse("")));
+        final var pgBouncer = new PgBouncerContainer(
+                DockerImageName.parse(Optional.ofNullable(pgBouncerImage).orElse(PgBouncerContainer.DEFAULT_IMAGE)),
+                container, poolMode, poolSize, users);
+        if (followContainerLog) {
+            pgBouncer.withLogConsumer(new Slf4jLogConsumer(logger));
+        }
+        // Started along with PostgreSQL, so that it waits for a lazy or async start too.
+        container.onStarted(started -> {
+            pgBouncer.start();
+            logger.info("Running PgBouncer ({} pooling, {} connections per pool) at {}.",
+                    poolMode, poolSize, pgBouncer.getJdbcUrl(started.getDatabaseName()));
+        });
+        return pgBouncer;
+    }
+
+    /**
+     * Returns a Spring Bean holding streaming replicas of PostgreSQL, each in a
+     * Container of its own on a shared Docker Network, which are cloned from the
+     * primary and started once it has started.
+     *
+     * @param container    The instance of LocalPostgreSQLContainer to replicate.
+     * @param replicaCount The number of replicas.
+     * @return ReadReplicas
+     */
+    @Bean
+    @ConditionalOnExpression("${spring.local.postgresql.replicas.count:0} > 0")
+    public ReadReplicas readReplicas(final LocalPostgreSQLContainer container,
+                                     @Value("${spring.local.postgresql.replicas.count}")
+                                     final Integer replicaCount) {
+        // Replicas must run the primary's major version, but not a snapshot of its data.
+        final var image = DockerImageName.parse(Optional.ofNullable(containerImage).orElse(POSTGRESQL_DEFAULT_IMAGE));
+        final var replicas = new ArrayList<PostgreSQLReplicaContainer>(replicaCount);
+        for (int i = 0; i < replicaCount; i++) {
+            final var replica = new PostgreSQLReplicaContainer(image, container, network);
+            if (followContainerLog) {
+                replica.withLogConsumer(new Slf4jLogConsumer(logger).withPrefix("replica-" + (i + 1)));
+            }
+            replicas.add(replica);
+        }
+        final var readReplicas = new ReadReplicas(replicas);
+        // Started along with PostgreSQL, so that they wait for a lazy or async start too.
+        container.onStarted(started -> {
+            readReplicas.start();
+            logger.info("Running {} read replica(s) at {}.", replicaCount,
+                    String.join(", ", readReplicas.getJdbcUrls(started.getDatabaseName())));
+        });
+        return readReplicas;
+    }
+
+    /**
+     * Returns a Spring Bean that reads and resets the statement statistics gathered by
+     * 'pg_stat_statements' for the database the Application is connected to.
+     *
+     * @param container     The instance of LocalPostgreSQLContainer running PostgreSQL.
+     * @param databaseClone The clone of the database the Application is connected to,
+     *                      if cloning is enabled (optional).
+     * @return StatementStatistics
+     */
+    @Bean
+    @ConditionalOnProperty(name="spring.local.postgresql.database.statements.capture",
+                           havingValue="true")
+    public StatementStatistics statementStatistics(final LocalPostgreSQLContainer container,
+                                                   final ObjectProvider<DatabaseClone> databaseClone) {
+        return new StatementStatistics(container, databaseClone.getIfAvailable());
+    }
+
+    /**
+     * Returns a Spring Bean that samples live statistics of the Container and of the
+     * database the Application is connected to.
+     *
+     * @param container     The instance of LocalPostgreSQLContainer running PostgreSQL.
+     * @param databaseClone The clone of the database the Application is connected to,
+     *                      if cloning is enabled (optional).
+     * @param interval      The interval to sample the statistics on, for the metrics.
+     * @return ContainerStatistics
+     */
+    @Bean
+    public ContainerStatistics containerStatistics(final LocalPostgreSQLContainer container,
+                                                   final ObjectProvider<DatabaseClone> databaseClone,
+                                                   @Value("${spring.local.postgresql.statistics.interval:10s}")
+                                                   final Duration interval) {
+        return new ContainerStatistics(container, databaseClone.getIfAvailable(), interval);
+    }
+
+    /**
+     * Returns a Spring Bean that follows the log of the Container asynchronously, in
+     * batches, parsing each line into a {@link PostgreSQLLogEvent} that listeners can
+     * subscribe to. Lines are logged under the category of this Configuration Class,
+     * like the logs of PgBouncer and the read replicas.
+     *
+     * @param bufferSize      The most log lines to buffer (optional).
+     * @param sampleRate      One line in how many to keep when the buffer is filling up (optional).
+     * @param minimumSeverity The lowest severity to log (optional).
+     * @return ContainerLogPipeline
+     */
+    @Bean
+    @ConditionalOnProperty(name="spring.local.postgresql.container.log.follow",
+                           havingValue="true")
+    public ContainerLogPipeline containerLogPipeline(@Value("${spring.local.postgresql.container.log.buffer-size:#{null}}")
+                                                     final Integer bufferSize,
+                                                     @Value("${spring.local.postgresql.container.log.sample-rate:#{null}}")
+                                                     final Integer sampleRate,
+                                                     @Value("${spring.local.postgresql.container.log.min-severity:LOG}")
+                                                     final String minimumSeverity) {
+        return new ContainerLogPipeline(logger, "local-postgresql-log",
+                Optional.ofNullable(bufferSize).orElse(ContainerLogPipeline.DEFAULT_BUFFER_SIZE),
+                Optional.ofNullable(sampleRate).orElse(ContainerLogPipeline.DEFAULT_SAMPLE_RATE),
+                minimumSeverity);
+    }
+
+    /**
+     * Returns a Spring Bean that resets the tables written to by a test to their
+     * baseline, for the database the Application is connected to. Does nothing until
+     * tracking is installed, by {@code @ResetDatabase} for example.
+     *
+     * @param container     The instance of LocalPostgreSQLContainer holding the database.
+     * @param databaseClone The clone of the database the Application is connected to,
+     *                      if cloning is enabled (optional).
+     * @param excludes      The tables not to reset, by name or schema-qualified name (optional).
+     * @return DatabaseReset
+     */
+    @Bean
+    public DatabaseReset databaseReset(final LocalPostgreSQLContainer container,
+                                       final ObjectProvider<DatabaseClone> databaseClone,
+                                       @Value("${spring.local.postgresql.database.reset.exclude:#{null}}")
+                                       final String[] excludes) {
+        return new DatabaseReset(container, databaseClone.getIfAvailable(), Optional.ofNullable(excludes)
+                .map(List::of)
+                .orElse(DatabaseReset.DEFAULT_EXCLUDES));
     }
 
     /**
@@ -178,6 +910,9 @@ public class PostgreSQLContainerConfig {
      * @param applicationPassword The password for the database user the Application should connect with,
      *                            if different from the super/admin user (optional).
      * @param container The instance of PostgreSQLContainer to build the DataSource with.
+     * @param databaseClone The clone of the database to connect to instead of the configured database,
+     *                      if cloning is enabled (optional).
+     * @param pgBouncer The PgBouncer to connect through, if enabled (optional).
      * @return DataSource
      */
     @Bean
@@ -185,23 +920,79 @@ public class PostgreSQLContainerConfig {
                                                        final String applicationUsername,
                                                        @Value("${spring.local.postgresql.database.application.password:#{null}}")
                                                        final String applicationPassword,
-                                                       final PostgreSQLContainer<?> container) {
-        return new LocalPostgreSQLConnectionDetails(applicationUsername, applicationPassword, container);
+                                                       final PostgreSQLContainer<?> container,
+                                                       final ObjectProvider<DatabaseClone> databaseClone,
+                                                       final ObjectProvider<PgBouncerContainer> pgBouncer) {
+        return new LocalPostgreSQLConnectionDetails(applicationUsername, applicationPassword, container,
+                databaseClone.getIfAvailable(), pgBouncer.getIfAvailable());
     }
 
 
+    /**
+     * <p> Creates the Container, in the 'async' startup mode, as soon as the Bean
+     * Factory is ready to create Beans: when the first Bean is post-processed once
+     * all BeanPostProcessors have been registered. This BeanPostProcessor is neither
+     * PriorityOrdered nor Ordered, so it is registered along with the last of them,
+     * and no Bean can reach it before then. The Container and the Beans it depends on
+     * are thus processed by every BeanPostProcessor (binding of configuration
+     * properties, AOP and the Testcontainers lifecycle among them), as they would be
+     * in the 'eager' startup mode.
+     *
+     * <p> Beans are not created any earlier, by a BeanFactoryPostProcessor, since the
+     * configuration properties they depend on would not be bound, nor during ahead-of-time
+     * processing, which does not run BeanPostProcessors.
+     */
+    static class ContainerStartupInitiator implements BeanPostProcessor {
+
+        private final AtomicBoolean initiated;
+        private final ObjectProvider<LocalPostgreSQLContainer> container;
+
+        ContainerStartupInitiator(final boolean enabled,
+                                  final ObjectProvider<LocalPostgreSQLContainer> container) {
+            this.initiated = new AtomicBoolean(!enabled);
+            this.container = container;
+        }
+
+        @Override
+        public Object postProcessBeforeInitialization(final Object bean, final String beanName) {
+            if (initiated.compareAndSet(false, true)) {
+                container.getObject();
+            }
+            return bean;
+        }
+    }
+
     public static class LocalPostgreSQLConnectionDetails implements JdbcConnectionDetails {
 
         private final String applicationUsername;
         private final String applicationPassword;
         private final PostgreSQLContainer<?> container;
+        private final DatabaseClone databaseClone;
+        private final PgBouncerContainer pgBouncer;
 
         public LocalPostgreSQLConnectionDetails(final String applicationUsername,
                                                 final String applicationPassword,
                                                 final PostgreSQLContainer<?> container) {
+            this(applicationUsername, applicationPassword, container, null);
+        }
+
+        public LocalPostgreSQLConnectionDetails(final String applicationUsername,
+                                                final String applicationPassword,
+                                                final PostgreSQLContainer<?> container,
+                                                final DatabaseClone databaseClone) {
+            this(applicationUsername, applicationPassword, container, databaseClone, null);
+        }
+
+        public LocalPostgreSQLConnectionDetails(final String applicationUsername,
+                                                final String applicationPassword,
+                                                final PostgreSQLContainer<?> container,
+                                                final DatabaseClone databaseClone,
+                                                final PgBouncerContainer pgBouncer) {
             this.applicationUsername = applicationUsername;
             this.applicationPassword = applicationPassword;
             this.container = container;
+            this.databaseClone = databaseClone;
+            this.pgBouncer = pgBouncer;
         }
 
         @Override
@@ -218,7 +1009,17 @@ public class PostgreSQLContainerConfig {
 
         @Override
         public String getJdbcUrl() {
-            return container.getJdbcUrl();
+            if (container instanceof LocalPostgreSQLContainer localContainer) {
+                localContainer.awaitStartup();
+            }
+            if (pgBouncer != null) {
+                return pgBouncer.getJdbcUrl(Optional.ofNullable(databaseClone)
+                        .map(DatabaseClone::getDatabaseName)
+                        .orElseGet(container::getDatabaseName));
+            }
+            return Optional.ofNullable(databaseClone)
+                    .map(DatabaseClone::getJdbcUrl)
+                    .orElseGet(container::getJdbcUrl);
         }
 
         @Override
@@ -0,0 +1,201 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * <p> Publishes Micrometer metrics about the PostgreSQL Container, if Micrometer
+ * is on the classpath. With Spring Boot Actuator, the metrics are bound to the
+ * Application's MeterRegistry automatically.
+ *
+ * @author Quinn Andrews
+ */
+@ConditionalOnClass(name="io.micrometer.core.instrument.MeterRegistry")
+@ConditionalOnProperty(name="spring.local.postgresql.engaged",
+                       havingValue="true",
+                       matchIfMissing = true)
+@Configuration
+public class PostgreSQLContainerMetricsConfig {
+
+    /**
+     * Returns a MeterBinder that records how long each phase of starting the Container
+     * took, as the 'local.postgresql.container.startup' Timer tagged with the phase.
+     *
+     * @param container The instance of LocalPostgreSQLContainer to record.
+     * @return MeterBinder
+     */
+    @Bean
+    public MeterBinder postgreSQLContainerStartupMetrics(final LocalPostgreSQLContainer container) {
+        return new ContainerStartupMetrics(container);
+    }
+
+    /**
+     * Returns a MeterBinder that publishes the pool statistics of PgBouncer (summed over
+     * all pools) as the 'local.postgresql.pgbouncer.pools' Gauge tagged with the
+     * statistic, if PgBouncer is enabled.
+     *
+     * @param pgBouncer The PgBouncer the Application connects through (optional).
+     * @return MeterBinder
+     */
+    @Bean
+    public MeterBinder pgBouncerPoolMetrics(final ObjectProvider<PgBouncerContainer> pgBouncer) {
+        return registry -> pgBouncer.ifAvailable(bouncer -> List.of(
+                        "cl_active", "cl_waiting", "sv_active", "sv_idle", "sv_used", "sv_login", "maxwait")
+                .forEach(statistic -> Gauge.builder("local.postgresql.pgbouncer.pools", bouncer,
+                                b -> b.getPoolStatistics().getOrDefault(statistic, 0L))
+                        .description("The pool statistics of PgBouncer, summed over all pools.")
+                        .tag("statistic", statistic)
+                        .register(registry)));
+    }
+
+    /**
+     * Returns a MeterBinder that publishes how far each read replica lags behind the
+     * primary, in seconds, as the 'local.postgresql.replica.lag' Gauge tagged with the
+     * replica, if read replicas are configured.
+     *
+     * @param readReplicas The read replicas (optional).
+     * @return MeterBinder
+     */
+    @Bean
+    public MeterBinder readReplicaLagMetrics(final ObjectProvider<ReadReplicas> readReplicas) {
+        return registry -> readReplicas.ifAvailable(replicas -> {
+            for (int i = 0; i < replicas.getReplicas().size(); i++) {
+                Gauge.builder("local.postgresql.replica.lag", replicas.getReplicas().get(i),
+                                PostgreSQLReplicaContainer::getReplicationLag)
+                        .description("How far the read replica lags behind the primary.")
+                        .baseUnit("seconds")
+                        .tag("replica", "replica-" + (i + 1))
+                        .register(registry);
+            }
+        });
+    }
+
+    /**
+     * Returns a MeterBinder that samples the statistics of the Container and the
+     * database on the interval given by 'spring.local.postgresql.statistics.interval',
+     * and publishes each of them as a Gauge tagged with the statistic: the
+     * 'local.postgresql.container.stats' Gauge for Docker's, and the
+     * 'local.postgresql.stat.database', 'local.postgresql.stat.bgwriter' and
+     * 'local.postgresql.stat.activity' Gauges for PostgreSQL's. The Gauges are
+     * registered with the first sample, since which statistics there are depends on
+     * the versions of Docker and PostgreSQL.
+     *
+     * @param containerStatistics The statistics of the Container (optional).
+     * @return MeterBinder
+     */
+    @Bean
+    public MeterBinder containerStatisticsMetrics(final ObjectProvider<ContainerStatistics> containerStatistics) {
+        return registry -> containerStatistics.ifAvailable(statistics -> statistics.onSample(sample -> {
+            register(registry, statistics, "local.postgresql.container.stats", sample.container().keySet(),
+                    ContainerStatistics.Sample::container,
+                    "The CPU, memory and block IO usage of the PostgreSQL Container, as reported by Docker.");
+            register(registry, statistics, "local.postgresql.stat.database", sample.database().keySet(),
+                    ContainerStatistics.Sample::database,
+                    "The statistics of the Application's database, from 'pg_stat_database'.");
+            register(registry, statistics, "local.postgresql.stat.bgwriter", sample.bgwriter().keySet(),
+                    ContainerStatistics.Sample::bgwriter,
+                    "The statistics of the background writer, from 'pg_stat_bgwriter'.");
+            register(registry, statistics, "local.postgresql.stat.activity", sample.activity().keySet(),
+                    ContainerStatistics.Sample::activity,
+                    "The connections to the Application's database, from 'pg_stat_activity'.");
+        }).startSampling());
+    }
+
+    /**
+     * Registers a Gauge, tagged with the statistic, for each of the given statistics
+     * of the latest sample. Registering a Gauge that already is returns the existing one.
+     *
+     * @param registry    The MeterRegistry.
+     * @param statistics  The statistics of the Container.
+     * @param name        The name of the Gauge.
+     * @param keys        The statistics to register.
+     * @param group       Returns the group of statistics of a sample the Gauge reads.
+     * @param description The description of the Gauge.
+     */
+    private static void register(final MeterRegistry registry,
+                                 final ContainerStatistics statistics,
+                                 final String name,
+                                 final Set<String> keys,
+                                 final Function<ContainerStatistics.Sample, Map<String, Double>> group,
+                                 final String description) {
+        keys.forEach(statistic -> Gauge.builder(name, statistics, s -> s.getLatest()
+                        .map(group)
+                        .map(values -> values.get(statistic))
+                        .orElse(Double.NaN))
+                .description(description)
+                .tag("statistic", statistic)
+                .register(registry));
+    }
+
+    /**
+     * Returns a MeterBinder that publishes the recommended size of the connection pool,
+     * and what it was derived from, as the 'local.postgresql.datasource.pool.sizing'
+     * Gauge tagged with the setting, if pool auto-sizing is enabled.
+     *
+     * @param connectionPoolSizing The recommended size of the connection pool (optional).
+     * @return MeterBinder
+     */
+    @Bean
+    public MeterBinder connectionPoolSizingMetrics(final ObjectProvider<ConnectionPoolSizing> connectionPoolSizing) {
+        return registry -> connectionPoolSizing.ifAvailable(sizing -> Map.<String, ToDoubleFunction<ConnectionPoolSizing>>of(
+                        "maximum-pool-size", ConnectionPoolSizing::getMaximumPoolSize,
+                        "minimum-idle", ConnectionPoolSizing::getMinimumIdle,
+                        "connection-timeout-ms", s -> s.getConnectionTimeout().toMillis(),
+                        "max-connections", ConnectionPoolSizing::getMaxConnections,
+                        "available-connections", ConnectionPoolSizing::getAvailableConnections,
+                        "cpus", ConnectionPoolSizing::getCpus,
+                        "memory-bytes", ConnectionPoolSizing::getMemoryBytes)
+                .forEach((setting, value) -> Gauge.builder("local.postgresql.datasource.pool.sizing", sizing, value)
+                        .description("The recommended size of the connection pool, and what it was derived from.")
+                        .tag("setting", setting)
+                        .register(registry)));
+    }
+
+    /**
+     * Records the phases of starting the Container once it has started, and no longer
+     * waits for it to once the Application Context closes, since the Container may be
+     * shared with other contexts and outlive this one.
+     */
+    static final class ContainerStartupMetrics implements MeterBinder, AutoCloseable {
+
+        private final LocalPostgreSQLContainer container;
+        private final List<Consumer<LocalPostgreSQLContainer>> callbacks = new CopyOnWriteArrayList<>();
+
+        ContainerStartupMetrics(final LocalPostgreSQLContainer container) {
+            this.container = container;
+        }
+
+        @Override
+        public void bindTo(final MeterRegistry registry) {
+            final Consumer<LocalPostgreSQLContainer> callback = started -> started.getStartupPhases()
+                    .forEach((phase, duration) -> Timer.builder("local.postgresql.container.startup")
+                            .description("The time taken by each phase of starting the PostgreSQL Container.")
+                            .tag("phase", phase)
+                            .register(registry)
+                            .record(duration));
+            callbacks.add(callback);
+            container.onStarted(callback);
+        }
+
+        @Override
+        public void close() {
+            callbacks.forEach(container::removeOnStarted);
+            callbacks.clear();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.testcontainers.lifecycle.Startables;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * <p> The additional, named PostgreSQL instances configured under
+ * 'spring.local.postgresql.instances', which are started together, in parallel and
+ * in the background, while the Application Context (and the main Container) starts
+ * up, so that starting all of them takes as long as starting the slowest, and
+ * stopped together when the Application Context closes. They are started as soon
+ * as this Bean is created.
+ *
+ * @author Quinn Andrews
+ */
+public class PostgreSQLInstances implements InitializingBean, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgreSQLInstances.class);
+
+    private final Map<String, LocalPostgreSQLContainer> containers;
+    private CompletableFuture<Void> startup;
+
+    /**
+     * Constructs an instance holding the given Containers.
+     *
+     * @param containers The Containers, by instance name.
+     */
+    public PostgreSQLInstances(final Map<String, LocalPostgreSQLContainer> containers) {
+        this.containers = new LinkedHashMap<>(containers);
+    }
+
+    /**
+     * Returns the names of the instances.
+     *
+     * @return Set of String
+     */
+    public Set<String> getNames() {
+        return containers.keySet();
+    }
+
+    /**
+     * Returns the Container of the given instance, once all instances are ready.
+     *
+     * @param name The name of the instance.
+     * @return LocalPostgreSQLContainer
+     */
+    public LocalPostgreSQLContainer getContainer(final String name) {
+        final var container = Optional.ofNullable(containers.get(name))
+                .orElseThrow(() -> new IllegalStateException("There is no PostgreSQL instance named '" + name + "'."));
+        awaitStartup();
+        return container;
+    }
+
+    /**
+     * Starts the Containers in parallel, in the background, once this Bean has been
+     * created.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        start();
+    }
+
+    /**
+     * Starts the Containers in parallel, in the background, unless that has already
+     * been done.
+     *
+     * @return PostgreSQLInstances
+     */
+    public synchronized PostgreSQLInstances start() {
+        if (startup == null) {
+            final var startedAt = System.nanoTime();
+            startup = Startables.deepStart(containers.values()).thenRun(() -> {
+                containers.forEach((name, container) -> logger.info("Running PostgreSQL instance '{}' at {} ({}ms).",
+                        name, container.getJdbcUrl(), container.getStartupPhases().values().stream()
+                                .mapToLong(Duration::toMillis)
+                                .sum()));
+                logger.info("Started {} PostgreSQL instance(s) in parallel in {}ms.", containers.size(),
+                        (System.nanoTime() - startedAt) / 1_000_000);
+            });
+        }
+        return this;
+    }
+
+    /**
+     * Blocks until all Containers are ready, starting them if that has not been done.
+     */
+    public void awaitStartup() {
+        final CompletableFuture<Void> pending;
+        synchronized (this) {
+            pending = start().startup;
+        }
+        try {
+            pending.join();
+        } catch (final CompletionException e) {
+            throw new IllegalStateException("Could not start the PostgreSQL instances.", e.getCause());
+        }
+    }
+
+    /**
+     * Stops the Containers.
+     */
+    @Override
+    public void close() {
+        containers.values().forEach(LocalPostgreSQLContainer::stop);
+    }
+}
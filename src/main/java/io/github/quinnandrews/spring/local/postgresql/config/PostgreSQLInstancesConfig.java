@@ -0,0 +1,210 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import com.github.dockerjava.api.model.ExposedPort;
+import com.github.dockerjava.api.model.HostConfig;
+import com.github.dockerjava.api.model.PortBinding;
+import com.github.dockerjava.api.model.Ports;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * <p> Starts the additional, named PostgreSQL instances configured under
+ * 'spring.local.postgresql.instances', if any, and registers a
+ * {@link JdbcConnectionDetails} ('&lt;name&gt;JdbcConnectionDetails') and a
+ * {@link DataSource} ('&lt;name&gt;DataSource') for each of them, qualified with
+ * the name of the instance, so that they can be injected with '@Qualifier("&lt;name&gt;")'.
+ *
+ * <p> The Beans are registered once the configuration classes, including Spring
+ * Boot's auto-configuration, have been processed, so that Spring Boot still
+ * configures the Application's own DataSource, which is made the primary one.
+ *
+ * @author Quinn Andrews
+ */
+@ConditionalOnProperty(name="spring.local.postgresql.engaged",
+                       havingValue="true",
+                       matchIfMissing = true)
+@Configuration
+public class PostgreSQLInstancesConfig {
+
+    /**
+     * The name of the Bean holding the instances.
+     */
+    public static final String INSTANCES_BEAN_NAME = "postgreSQLInstances";
+
+    /**
+     * The Beans of the Application's own database, which stay the ones injected by type.
+     */
+    private static final List<String> PRIMARY_BEAN_NAMES = List.of("dataSource", "jdbcConnectionDetails");
+
+    /**
+     * Returns a BeanDefinitionRegistryPostProcessor that registers the Beans of the
+     * configured instances: the Bean holding their Containers, which starts them when
+     * it is created, and the JdbcConnectionDetails and DataSource of each instance.
+     * No Container is created or started here, since BeanFactoryPostProcessors also run
+     * during ahead-of-time processing, and a Container started before its Bean exists
+     * would never be stopped if the Application Context failed to start.
+     *
+     * @param environment The Environment holding the configured instances.
+     * @return BeanDefinitionRegistryPostProcessor
+     */
+    @Bean
+    public static BeanDefinitionRegistryPostProcessor postgreSQLInstancesRegistrar(final Environment environment) {
+        return new BeanDefinitionRegistryPostProcessor() {
+            @Override
+            public void postProcessBeanDefinitionRegistry(final BeanDefinitionRegistry registry) {
+                final var properties = properties(environment);
+                if (properties.getInstances().isEmpty()) {
+                    return;
+                }
+                registry.registerBeanDefinition(INSTANCES_BEAN_NAME,
+                        new RootBeanDefinition(PostgreSQLInstances.class, () -> {
+                            final var containers = new LinkedHashMap<String, LocalPostgreSQLContainer>();
+                            properties.getInstances().forEach((name, instance) ->
+                                    containers.put(name, createContainer(instance, environment)));
+                            return new PostgreSQLInstances(containers);
+                        }));
+                final var beanFactory = (BeanFactory) registry;
+                properties.getInstances().forEach((name, instance) -> {
+                    final var connectionDetails = new RootBeanDefinition(JdbcConnectionDetails.class,
+                            () -> new PostgreSQLContainerConfig.LocalPostgreSQLConnectionDetails(
+                                    instance.getDatabase().getApplication().getUsername(),
+                                    instance.getDatabase().getApplication().getPassword(),
+                                    beanFactory.getBean(INSTANCES_BEAN_NAME, PostgreSQLInstances.class)
+                                            .getContainer(name)));
+                    connectionDetails.addQualifier(new AutowireCandidateQualifier(Qualifier.class, name));
+                    registry.registerBeanDefinition(name + "JdbcConnectionDetails", connectionDetails);
+                    final var dataSource = new RootBeanDefinition(DataSource.class, () -> {
+                        final var details = beanFactory.getBean(name + "JdbcConnectionDetails",
+                                JdbcConnectionDetails.class);
+                        return DataSourceBuilder.create()
+                                .url(details.getJdbcUrl())
+                                .username(details.getUsername())
+                                .password(details.getPassword())
+                                .driverClassName(details.getDriverClassName())
+                                .build();
+                    });
+                    dataSource.addQualifier(new AutowireCandidateQualifier(Qualifier.class, name));
+                    registry.registerBeanDefinition(dataSourceBeanName(name), dataSource);
+                });
+                // Otherwise the instances' Beans would make injecting the Application's own ambiguous.
+                PRIMARY_BEAN_NAMES.stream()
+                        .filter(registry::containsBeanDefinition)
+                        .forEach(beanName -> registry.getBeanDefinition(beanName).setPrimary(true));
+            }
+
+            @Override
+            public void postProcessBeanFactory(final ConfigurableListableBeanFactory beanFactory) {
+                // no-op
+            }
+        };
+    }
+
+    /**
+     * Returns a BeanPostProcessor that creates the Bean holding the instances, which
+     * starts their Containers in parallel in the background, as soon as the Bean
+     * Factory is ready to create Beans, so that the instances boot while the rest of
+     * the Application Context does. Like the one that starts the main Container in the
+     * 'async' startup mode, it is neither PriorityOrdered nor Ordered, so it only sees
+     * Beans created once all BeanPostProcessors have been registered.
+     *
+     * @param instances The Bean holding the instances, if any are configured.
+     * @return BeanPostProcessor
+     */
+    @Bean
+    public static BeanPostProcessor postgreSQLInstancesStartupInitiator(final ObjectProvider<PostgreSQLInstances> instances) {
+        final var initiated = new AtomicBoolean();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(final Object bean, final String beanName) {
+                if (initiated.compareAndSet(false, true)) {
+                    instances.getIfAvailable();
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Returns the names of the DataSource Beans registered for the configured instances.
+     *
+     * @param environment The Environment holding the configured instances.
+     * @return Set of Bean names.
+     */
+    static Set<String> dataSourceBeanNames(final Environment environment) {
+        return properties(environment).getInstances().keySet().stream()
+                .map(PostgreSQLInstancesConfig::dataSourceBeanName)
+                .collect(Collectors.toSet());
+    }
+
+    private static String dataSourceBeanName(final String name) {
+        return name + "DataSource";
+    }
+
+    private static PostgreSQLInstancesProperties properties(final Environment environment) {
+        return Binder.get(environment)
+                .bind("spring.local.postgresql", PostgreSQLInstancesProperties.class)
+                .orElseGet(PostgreSQLInstancesProperties::new);
+    }
+
+    /**
+     * Creates the Container of an instance, without starting it.
+     *
+     * @param instance    The configuration of the instance.
+     * @param environment The Environment holding the image of the main Container, if configured.
+     * @return LocalPostgreSQLContainer
+     */
+    private static LocalPostgreSQLContainer createContainer(final PostgreSQLInstancesProperties.Instance instance,
+                                                            final Environment environment) {
+        final var container = new LocalPostgreSQLContainer(DockerImageName.parse(
+                Optional.ofNullable(instance.getContainer().getImage())
+                        .or(() -> Optional.ofNullable(environment.getProperty("spring.local.postgresql.container.image")))
+                        .orElse(PostgreSQLContainerConfig.POSTGRESQL_DEFAULT_IMAGE)));
+        final var name = instance.getContainer().getName();
+        final var port = instance.getContainer().getPort();
+        if (name != null || port != null) {
+            container.withCreateContainerCmdModifier(cmd -> {
+                Optional.ofNullable(name).ifPresent(cmd::withName);
+                Optional.ofNullable(port).ifPresent(p -> cmd.withHostConfig(Optional.ofNullable(cmd.getHostConfig())
+                        .orElseGet(HostConfig::new)
+                        .withPortBindings(new PortBinding(Ports.Binding.bindPort(p),
+                                new ExposedPort(PostgreSQLContainer.POSTGRESQL_PORT)))));
+            });
+        }
+        final var database = instance.getDatabase();
+        Optional.ofNullable(database.getName()).ifPresent(container::withDatabaseName);
+        Optional.ofNullable(database.getUsername()).ifPresent(container::withUsername);
+        Optional.ofNullable(database.getPassword()).ifPresent(container::withPassword);
+        Optional.of(database.getInit().getScript().stream()
+                        .map(String::trim)
+                        .filter(location -> !location.isEmpty())
+                        .toList())
+                .filter(locations -> !locations.isEmpty())
+                .map(InitScripts::new)
+                .ifPresent(container::withInitScripts);
+        return container;
+    }
+}
@@ -0,0 +1,242 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p> Configures additional, named PostgreSQL instances, each in a Container of its
+ * own, for Applications that connect to more than one database, like one per tenant
+ * or shard. The instances are started in parallel, and each gets a
+ * {@code JdbcConnectionDetails} and a {@code DataSource} qualified with its name.
+ *
+ * <p> Example:
+ * <pre>
+ * spring.local.postgresql.instances.shard1.container.image=postgres:15
+ * spring.local.postgresql.instances.shard1.database.name=pedals_shard1
+ * spring.local.postgresql.instances.shard2.container.image=postgres:15
+ * spring.local.postgresql.instances.shard2.database.name=pedals_shard2
+ * spring.local.postgresql.instances.shard2.database.init.script=data/shard-init.sql
+ * </pre>
+ *
+ * @author Quinn Andrews
+ */
+@ConfigurationProperties(prefix = "spring.local.postgresql")
+public class PostgreSQLInstancesProperties {
+
+    /**
+     * The additional instances, by name.
+     */
+    private Map<String, Instance> instances = new LinkedHashMap<>();
+
+    public Map<String, Instance> getInstances() {
+        return instances;
+    }
+
+    public void setInstances(final Map<String, Instance> instances) {
+        this.instances = instances;
+    }
+
+    /**
+     * An additional instance.
+     */
+    public static class Instance {
+
+        /**
+         * The Container of the instance.
+         */
+        private Container container = new Container();
+
+        /**
+         * The database of the instance.
+         */
+        private Database database = new Database();
+
+        public Container getContainer() {
+            return container;
+        }
+
+        public void setContainer(final Container container) {
+            this.container = container;
+        }
+
+        public Database getDatabase() {
+            return database;
+        }
+
+        public void setDatabase(final Database database) {
+            this.database = database;
+        }
+    }
+
+    /**
+     * The Container of an instance.
+     */
+    public static class Container {
+
+        /**
+         * The Docker Image to run. Defaults to the image of the main Container, if
+         * configured, otherwise to Testcontainers' default.
+         */
+        private String image;
+
+        /**
+         * The name of the Docker Container. Defaults to a random name.
+         */
+        private String name;
+
+        /**
+         * The port on the host to map to PostgreSQL. Defaults to a random port.
+         */
+        private Integer port;
+
+        public String getImage() {
+            return image;
+        }
+
+        public void setImage(final String image) {
+            this.image = image;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        public Integer getPort() {
+            return port;
+        }
+
+        public void setPort(final Integer port) {
+            this.port = port;
+        }
+    }
+
+    /**
+     * The database of an instance.
+     */
+    public static class Database {
+
+        /**
+         * The name of the database. Defaults to Testcontainers' default ('test').
+         */
+        private String name;
+
+        /**
+         * The username of the admin user. Defaults to Testcontainers' default ('test').
+         */
+        private String username;
+
+        /**
+         * The password of the admin user. Defaults to Testcontainers' default ('test').
+         */
+        private String password;
+
+        /**
+         * The user the Application connects with, if not the admin user.
+         */
+        private Application application = new Application();
+
+        /**
+         * The scripts to execute when the Container starts.
+         */
+        private Init init = new Init();
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(final String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(final String password) {
+            this.password = password;
+        }
+
+        public Application getApplication() {
+            return application;
+        }
+
+        public void setApplication(final Application application) {
+            this.application = application;
+        }
+
+        public Init getInit() {
+            return init;
+        }
+
+        public void setInit(final Init init) {
+            this.init = init;
+        }
+    }
+
+    /**
+     * The user the Application connects to an instance with.
+     */
+    public static class Application {
+
+        /**
+         * The username. Defaults to the admin user's.
+         */
+        private String username;
+
+        /**
+         * The password. Defaults to the admin user's.
+         */
+        private String password;
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(final String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(final String password) {
+            this.password = password;
+        }
+    }
+
+    /**
+     * The scripts to execute when the Container of an instance starts.
+     */
+    public static class Init {
+
+        /**
+         * The locations of the scripts, in order, each of which may contain wildcards.
+         */
+        private List<String> script = new ArrayList<>();
+
+        public List<String> getScript() {
+            return script;
+        }
+
+        public void setScript(final List<String> script) {
+            this.script = script;
+        }
+    }
+}
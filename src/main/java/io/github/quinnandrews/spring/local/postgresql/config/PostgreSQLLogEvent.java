@@ -0,0 +1,101 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * <p> A line of the PostgreSQL server log, parsed into its severity, the duration
+ * of the statement it reports (with 'log_min_duration_statement' or
+ * 'log_duration'), and the statement itself (with 'log_statement').
+ *
+ * @param severity       The severity (example: 'LOG', 'ERROR'), or 'UNKNOWN' if the line has none,
+ *                       like the output of the Docker entrypoint.
+ * @param message        The message, without the line prefix and severity.
+ * @param durationMillis The duration of the statement in milliseconds, if reported (may be null).
+ * @param statement      The statement, if reported (may be null).
+ * @param line           The line as PostgreSQL wrote it.
+ * @author Quinn Andrews
+ */
+public record PostgreSQLLogEvent(String severity,
+                                 String message,
+                                 Double durationMillis,
+                                 String statement,
+                                 String line) {
+
+    /**
+     * The severity of lines that do not have one.
+     */
+    public static final String UNKNOWN = "UNKNOWN";
+
+    private static final Pattern LINE = Pattern.compile(
+            "^(?:.*?\\s)?(DEBUG[1-5]?|INFO|NOTICE|WARNING|ERROR|LOG|FATAL|PANIC|STATEMENT|DETAIL|HINT|CONTEXT|QUERY|LOCATION):\\s+(.*)$",
+            Pattern.DOTALL);
+    private static final Pattern DURATION = Pattern.compile("^duration: (\\d+(?:\\.\\d+)?) ms(?:\\s+(.*))?$",
+            Pattern.DOTALL);
+    private static final Pattern STATEMENT = Pattern.compile("^(?:statement|(?:execute|parse|bind) [^:]*): (.*)$",
+            Pattern.DOTALL);
+
+    /**
+     * Parses a line of the server log.
+     *
+     * @param line The line, without its line break.
+     * @return PostgreSQLLogEvent
+     */
+    public static PostgreSQLLogEvent parse(final String line) {
+        final var matcher = LINE.matcher(line);
+        if (!matcher.matches()) {
+            return new PostgreSQLLogEvent(UNKNOWN, line, null, null, line);
+        }
+        final var severity = matcher.group(1);
+        final var message = matcher.group(2);
+        if (severity.equals("STATEMENT")) {
+            // The statement that caused the preceding error.
+            return new PostgreSQLLogEvent(severity, message, null, message, line);
+        }
+        var remainder = message;
+        Double durationMillis = null;
+        final var duration = DURATION.matcher(remainder);
+        if (duration.matches()) {
+            durationMillis = Double.valueOf(duration.group(1));
+            remainder = Optional.ofNullable(duration.group(2)).orElse("");
+        }
+        final var statement = STATEMENT.matcher(remainder);
+        return new PostgreSQLLogEvent(severity, message, durationMillis,
+                statement.matches() ? statement.group(1) : null, line);
+    }
+
+    /**
+     * Returns the rank of the severity, from 0 for 'DEBUG5' to 8 for 'FATAL' and
+     * 'PANIC'. Unlike 'log_min_messages', which ranks 'LOG' above 'ERROR', 'LOG'
+     * ranks with 'INFO' and 'NOTICE', so that filtering for warnings and errors
+     * leaves out logged statements. Lines without a severity, and lines that add
+     * detail to the preceding one ('STATEMENT', 'DETAIL', etc.), rank as 'LOG'.
+     *
+     * @param severity The severity.
+     * @return int
+     */
+    public static int rank(final String severity) {
+        return switch (severity.toUpperCase(Locale.ROOT)) {
+            case "DEBUG5" -> 0;
+            case "DEBUG4" -> 1;
+            case "DEBUG3" -> 2;
+            case "DEBUG2" -> 3;
+            case "DEBUG1", "DEBUG" -> 4;
+            case "INFO", "NOTICE" -> 5;
+            case "WARNING" -> 6;
+            case "ERROR" -> 7;
+            case "FATAL", "PANIC" -> 8;
+            default -> 5;
+        };
+    }
+
+    /**
+     * Returns the rank of this event's severity.
+     *
+     * @return int
+     */
+    public int rank() {
+        return rank(severity);
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * <p> Runs a PostgreSQL hot standby in a Docker Container, streaming the changes of
+ * a primary {@link LocalPostgreSQLContainer} on a shared Docker Network, so that the
+ * Application can send read-only work to it as it does to the replicas in production,
+ * and the effects of replication lag show up locally.
+ *
+ * <p> The standby is cloned from the primary with 'pg_basebackup' when the Container
+ * starts, and then runs the image's own entrypoint, which skips initialization since
+ * the data directory is already populated.
+ *
+ * @author Quinn Andrews
+ */
+public class PostgreSQLReplicaContainer extends GenericContainer<PostgreSQLReplicaContainer> {
+
+    /**
+     * The server settings a primary needs to stream its changes to replicas. Both are
+     * the defaults since PostgreSQL 10, but not before.
+     */
+    public static final Map<String, String> PRIMARY_SERVER_SETTINGS = Map.of(
+            "wal_level", "replica",
+            "max_wal_senders", "10");
+
+    /**
+     * An init script for the primary that allows replication connections from the
+     * Docker Network. The 'md5' method accepts SCRAM passwords as well.
+     */
+    public static final String PRIMARY_INIT_SCRIPT = """
+            #!/bin/bash
+            echo "host replication all all md5" >> "$PGDATA/pg_hba.conf"
+            """;
+
+    private static final String DATA_DIRECTORY = "/var/lib/postgresql/data";
+
+    private static final long LAG_TTL_NANOS = 1_000_000_000L;
+
+    private final String username;
+    private final String password;
+    private final String databaseName;
+    private double lagSeconds;
+    private long lagReadAt;
+
+    /**
+     * Constructs an instance that replicates the given primary, which must be on the
+     * given Network with the alias {@link PgBouncerContainer#POSTGRESQL_ALIAS}.
+     *
+     * @param dockerImageName The Docker Image to run, the same PostgreSQL version as the primary's.
+     * @param primary         The primary Container to replicate.
+     * @param network         The Network the primary is on.
+     */
+    public PostgreSQLReplicaContainer(final DockerImageName dockerImageName,
+                                      final LocalPostgreSQLContainer primary,
+                                      final Network network) {
+        super(dockerImageName);
+        this.username = primary.getUsername();
+        this.password = primary.getPassword();
+        this.databaseName = primary.getDatabaseName();
+        withNetwork(network);
+        withExposedPorts(PostgreSQLContainer.POSTGRESQL_PORT);
+        withEnv("PGDATA", DATA_DIRECTORY);
+        withEnv("PGPASSWORD", password);
+        withEnv("REPLICATION_USER", username);
+        // Retried, since the primary may still be restarting after its initialization.
+        withCreateContainerCmdModifier(cmd -> cmd.withEntrypoint("bash", "-c", """
+                until pg_basebackup -h %s -p %d -U "$REPLICATION_USER" -D "$PGDATA" -R -X stream; do
+                    rm -rf "$PGDATA"/*
+                    sleep 1
+                done
+                exec docker-entrypoint.sh postgres -c hot_standby=on
+                """.formatted(PgBouncerContainer.POSTGRESQL_ALIAS, PostgreSQLContainer.POSTGRESQL_PORT)));
+        waitingFor(Wait.forLogMessage(".*database system is ready to accept read.only connections.*\\s", 1)
+                .withStartupTimeout(Duration.ofMinutes(2)));
+    }
+
+    /**
+     * Returns the JDBC URL of the given database on this replica.
+     *
+     * @param databaseName The name of the database.
+     * @return String
+     */
+    public String getJdbcUrl(final String databaseName) {
+        return "jdbc:postgresql://" + getHost() + ":" + getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT)
+                + "/" + databaseName;
+    }
+
+    /**
+     * Returns how far this replica lags behind the primary, in seconds: the time since
+     * the last transaction it replayed was committed on the primary, or 0 if it has
+     * replayed everything it received. The lag is read at most once a second.
+     *
+     * @return double
+     */
+    public synchronized double getReplicationLag() {
+        if ((lagReadAt != 0 && System.nanoTime() - lagReadAt < LAG_TTL_NANOS) || !isRunning()) {
+            return lagSeconds;
+        }
+        final var properties = new Properties();
+        properties.setProperty("user", username);
+        properties.setProperty("password", password);
+        try (final var connection = DriverManager.getConnection(getJdbcUrl(databaseName), properties);
+             final var statement = connection.createStatement()) {
+            // The functions were renamed from 'xlog' to 'wal' in PostgreSQL 10.
+            final var wal = connection.getMetaData().getDatabaseMajorVersion() >= 10 ? "wal" : "xlog";
+            final var location = wal.equals("wal") ? "lsn" : "location";
+            try (final var resultSet = statement.executeQuery("SELECT CASE WHEN pg_last_" + wal + "_receive_"
+                    + location + "() = pg_last_" + wal + "_replay_" + location + "() THEN 0 "
+                    + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END")) {
+                resultSet.next();
+                lagSeconds = resultSet.getDouble(1);
+            }
+        } catch (final SQLException e) {
+            logger().debug("Could not read the replication lag.", e);
+            return lagSeconds;
+        }
+        lagReadAt = System.nanoTime();
+        return lagSeconds;
+    }
+}
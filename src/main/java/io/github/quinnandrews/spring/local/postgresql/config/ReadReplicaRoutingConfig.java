@@ -0,0 +1,85 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.Optional;
+
+/**
+ * <p> Routes the Application's read-only transactions to the read replicas, if any
+ * are configured with 'spring.local.postgresql.replicas.count' and Spring JDBC is on
+ * the classpath, unless 'spring.local.postgresql.replicas.routing' is disabled. See
+ * {@link ReadReplicaRoutingDataSource}.
+ *
+ * @author Quinn Andrews
+ */
+@ConditionalOnClass(name="org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource")
+@ConditionalOnProperty(name="spring.local.postgresql.engaged",
+                       havingValue="true",
+                       matchIfMissing = true)
+@Configuration
+public class ReadReplicaRoutingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaRoutingConfig.class);
+
+    /**
+     * The name of the Application's DataSource Bean, as Spring Boot registers it.
+     */
+    private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+    /**
+     * Returns a BeanPostProcessor that wraps the Application's DataSource, once it has
+     * been initialized, in a {@link ReadReplicaRoutingDataSource}, with a DataSource of
+     * the same type and credentials for each replica.
+     *
+     * @param container     The instance of LocalPostgreSQLContainer running the primary.
+     * @param databaseClone The clone of the database the Application is connected to,
+     *                      if cloning is enabled (optional).
+     * @param readReplicas  The read replicas.
+     * @return BeanPostProcessor
+     */
+    @Bean
+    @ConditionalOnExpression("${spring.local.postgresql.replicas.count:0} > 0 "
+            + "and ${spring.local.postgresql.replicas.routing:true}")
+    public static BeanPostProcessor readReplicaRouter(final ObjectProvider<LocalPostgreSQLContainer> container,
+                                                      final ObjectProvider<DatabaseClone> databaseClone,
+                                                      final ObjectProvider<ReadReplicas> readReplicas) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ReadReplicaRoutingDataSource
+                        || !DATA_SOURCE_BEAN_NAME.equals(beanName)) {
+                    return bean;
+                }
+                final var replicas = readReplicas.getIfAvailable();
+                if (replicas == null) {
+                    return bean;
+                }
+                final var primary = container.getObject();
+                // The replicas start along with the primary.
+                primary.awaitStartup();
+                final var databaseName = Optional.ofNullable(databaseClone.getIfAvailable())
+                        .map(DatabaseClone::getDatabaseName)
+                        .orElseGet(primary::getDatabaseName);
+                // The replicas' DataSources are derived from the actual DataSource, whatever wraps it.
+                final var template = dataSource instanceof LazyStartDataSource lazyStartDataSource
+                        ? lazyStartDataSource.obtainTargetDataSource()
+                        : dataSource;
+                final var replicaDataSources = replicas.getJdbcUrls(databaseName).stream()
+                        .map(url -> (DataSource) DataSourceBuilder.derivedFrom(template).url(url).build())
+                        .toList();
+                logger.info("Routing read-only transactions to {} read replica(s).", replicaDataSources.size());
+                return new ReadReplicaRoutingDataSource(dataSource, replicaDataSources);
+            }
+        };
+    }
+}
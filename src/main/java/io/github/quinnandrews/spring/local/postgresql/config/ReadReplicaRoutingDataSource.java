@@ -0,0 +1,125 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * <p> Sends the work of read-only transactions ('@Transactional(readOnly = true)')
+ * to the read replicas, round-robin, and everything else to the primary.
+ *
+ * <p> Transaction managers fetch a connection when a transaction begins, before it
+ * is marked as read-only, so the routing is wrapped in a
+ * {@link LazyConnectionDataSourceProxy}, which only fetches the actual connection
+ * once the first statement is executed.
+ *
+ * @author Quinn Andrews
+ */
+public class ReadReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+
+    /**
+     * Constructs an instance routing between the given DataSources.
+     *
+     * @param primary  The DataSource of the primary.
+     * @param replicas The DataSources of the replicas.
+     */
+    public ReadReplicaRoutingDataSource(final DataSource primary,
+                                        final List<DataSource> replicas) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        final var router = new Router(replicas.size());
+        final var targets = new LinkedHashMap<Object, Object>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+        }
+        router.setTargetDataSources(targets);
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        // PostgreSQL's defaults, so that the proxy does not connect to find them out.
+        setDefaultAutoCommit(true);
+        setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Returns the DataSource of the primary.
+     *
+     * @return DataSource
+     */
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    /**
+     * Returns the DataSources of the replicas.
+     *
+     * @return List of DataSource
+     */
+    public List<DataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Closes the DataSources of the primary and the replicas, if they can be closed,
+     * like connection pools. All of them are closed, even if one of them fails to.
+     *
+     * @throws SQLException If a DataSource could not be closed.
+     */
+    @Override
+    public void close() throws SQLException {
+        SQLException failure = null;
+        for (final DataSource dataSource : Stream.concat(replicas.stream(), Stream.of(primary)).toList()) {
+            if (!(dataSource instanceof AutoCloseable closeable)) {
+                continue;
+            }
+            try {
+                closeable.close();
+            } catch (final Exception e) {
+                final var exception = e instanceof SQLException sqlException
+                        ? sqlException
+                        : new SQLException("Could not close DataSource.", e);
+                if (failure == null) {
+                    failure = exception;
+                } else {
+                    failure.addSuppressed(exception);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static final class Router extends AbstractRoutingDataSource {
+
+        private final int replicaCount;
+        private final AtomicInteger next = new AtomicInteger();
+
+        private Router(final int replicaCount) {
+            this.replicaCount = replicaCount;
+        }
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            if (replicaCount == 0 || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                return PRIMARY;
+            }
+            return Math.floorMod(next.getAndIncrement(), replicaCount);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.lifecycle.Startables;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+/**
+ * <p> The streaming replicas of the primary {@link LocalPostgreSQLContainer}, which
+ * are started together, in parallel, once the primary has started, and stopped
+ * together when the Application Context closes.
+ *
+ * @author Quinn Andrews
+ */
+public class ReadReplicas implements AutoCloseable {
+
+    private final List<PostgreSQLReplicaContainer> replicas;
+
+    /**
+     * Constructs an instance holding the given replicas.
+     *
+     * @param replicas The replicas.
+     */
+    public ReadReplicas(final List<PostgreSQLReplicaContainer> replicas) {
+        this.replicas = List.copyOf(replicas);
+    }
+
+    /**
+     * Returns the replicas.
+     *
+     * @return List of PostgreSQLReplicaContainer
+     */
+    public List<PostgreSQLReplicaContainer> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Returns the JDBC URLs of the given database on each replica.
+     *
+     * @param databaseName The name of the database.
+     * @return List of String
+     */
+    public List<String> getJdbcUrls(final String databaseName) {
+        return replicas.stream()
+                .map(replica -> replica.getJdbcUrl(databaseName))
+                .toList();
+    }
+
+    /**
+     * Starts the replicas in parallel, and waits for all of them to accept read-only
+     * connections.
+     */
+    public void start() {
+        try {
+            Startables.deepStart(replicas).join();
+        } catch (final CompletionException e) {
+            throw new IllegalStateException("Could not start the read replicas.", e.getCause());
+        }
+    }
+
+    /**
+     * Stops the replicas.
+     */
+    @Override
+    public void close() {
+        replicas.forEach(GenericContainer::stop);
+    }
+}
@@ -0,0 +1,138 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import com.github.dockerjava.api.model.BlkioRateDevice;
+import com.github.dockerjava.api.model.HostConfig;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * <p> Limits the CPUs, memory, shared memory and, optionally, block IO of a Container,
+ * so that local timings resemble those of a production instance of the same size,
+ * and do not vary with whatever else runs on the host.
+ *
+ * <p> When memory is limited, the memory settings of PostgreSQL are derived from
+ * the limit, as is usual for a dedicated server: 'shared_buffers' is a quarter of it,
+ * 'effective_cache_size' three quarters, 'maintenance_work_mem' a sixteenth (at most
+ * 2GB), and 'work_mem' what is left after 'shared_buffers', spread over three sorts
+ * or hashes for each of the default 100 connections.
+ *
+ * @param cpus           The number of CPUs, which may be fractional (optional).
+ * @param memory         The memory, which is also the limit of memory plus swap, so the
+ *                       Container does not swap (optional).
+ * @param shmSize        The size of '/dev/shm', which parallel queries use (optional).
+ * @param blkioDevice    The host device the block IO limits apply to (example: '/dev/sda'),
+ *                       required for any of them (optional).
+ * @param blkioReadBps   The most bytes read from the device per second (optional).
+ * @param blkioWriteBps  The most bytes written to the device per second (optional).
+ * @param blkioReadIops  The most read operations on the device per second (optional).
+ * @param blkioWriteIops The most write operations on the device per second (optional).
+ * @author Quinn Andrews
+ */
+public record ResourceLimits(Double cpus,
+                             DataSize memory,
+                             DataSize shmSize,
+                             String blkioDevice,
+                             DataSize blkioReadBps,
+                             DataSize blkioWriteBps,
+                             Long blkioReadIops,
+                             Long blkioWriteIops) {
+
+    private static final int DEFAULT_MAX_CONNECTIONS = 100;
+
+    private static final long MAX_MAINTENANCE_WORK_MEM_BYTES = DataSize.ofGigabytes(2).toBytes();
+
+    private static final long MIN_WORK_MEM_BYTES = DataSize.ofKilobytes(64).toBytes();
+
+    /**
+     * Constructs an instance.
+     */
+    public ResourceLimits {
+        if (blkioDevice == null && (blkioReadBps != null || blkioWriteBps != null
+                || blkioReadIops != null || blkioWriteIops != null)) {
+            throw new IllegalStateException("Block IO limits need the device they apply to, given by "
+                    + "'spring.local.postgresql.container.resources.blkio.device'.");
+        }
+    }
+
+    /**
+     * Returns whether no limit is set.
+     *
+     * @return boolean
+     */
+    public boolean isEmpty() {
+        return cpus == null && memory == null && shmSize == null && blkioDevice == null;
+    }
+
+    /**
+     * Applies the limits to the HostConfig of a Container.
+     *
+     * @param hostConfig The HostConfig.
+     * @return HostConfig
+     */
+    public HostConfig apply(final HostConfig hostConfig) {
+        Optional.ofNullable(cpus).ifPresent(c -> hostConfig.withNanoCPUs(Math.round(c * 1_000_000_000L)));
+        Optional.ofNullable(memory).ifPresent(m -> hostConfig.withMemory(m.toBytes())
+                .withMemorySwap(m.toBytes()));
+        Optional.ofNullable(shmSize).ifPresent(s -> hostConfig.withShmSize(s.toBytes()));
+        Optional.ofNullable(blkioReadBps).ifPresent(rate -> hostConfig.withBlkioDeviceReadBps(
+                List.of(new BlkioRateDevice().withPath(blkioDevice).withRate(rate.toBytes()))));
+        Optional.ofNullable(blkioWriteBps).ifPresent(rate -> hostConfig.withBlkioDeviceWriteBps(
+                List.of(new BlkioRateDevice().withPath(blkioDevice).withRate(rate.toBytes()))));
+        Optional.ofNullable(blkioReadIops).ifPresent(rate -> hostConfig.withBlkioDeviceReadIOps(
+                List.of(new BlkioRateDevice().withPath(blkioDevice).withRate(rate))));
+        Optional.ofNullable(blkioWriteIops).ifPresent(rate -> hostConfig.withBlkioDeviceWriteIOps(
+                List.of(new BlkioRateDevice().withPath(blkioDevice).withRate(rate))));
+        return hostConfig;
+    }
+
+    /**
+     * Returns the memory settings of PostgreSQL derived from the memory limit, or none
+     * if memory is not limited.
+     *
+     * @return Map of setting names to values.
+     */
+    public Map<String, String> serverSettings() {
+        final var settings = new LinkedHashMap<String, String>();
+        if (memory == null) {
+            return settings;
+        }
+        final var bytes = memory.toBytes();
+        final var sharedBuffers = bytes / 4;
+        settings.put("shared_buffers", kilobytes(sharedBuffers));
+        settings.put("effective_cache_size", kilobytes(bytes / 4 * 3));
+        settings.put("maintenance_work_mem", kilobytes(Math.min(bytes / 16, MAX_MAINTENANCE_WORK_MEM_BYTES)));
+        settings.put("work_mem", kilobytes(Math.max(MIN_WORK_MEM_BYTES,
+                (bytes - sharedBuffers) / (DEFAULT_MAX_CONNECTIONS * 3L))));
+        return settings;
+    }
+
+    /**
+     * Returns a description of the limits, for the startup banner and fingerprints.
+     *
+     * @return String
+     */
+    public String describe() {
+        if (isEmpty()) {
+            return "[unlimited]";
+        }
+        final var limits = new ArrayList<String>();
+        Optional.ofNullable(cpus).ifPresent(c -> limits.add("cpus=" + c));
+        Optional.ofNullable(memory).ifPresent(m -> limits.add("memory=" + m.toMegabytes() + "MB"));
+        Optional.ofNullable(shmSize).ifPresent(s -> limits.add("shm=" + s.toMegabytes() + "MB"));
+        Optional.ofNullable(blkioReadBps).ifPresent(rate -> limits.add("read=" + rate.toMegabytes() + "MB/s"));
+        Optional.ofNullable(blkioWriteBps).ifPresent(rate -> limits.add("write=" + rate.toMegabytes() + "MB/s"));
+        Optional.ofNullable(blkioReadIops).ifPresent(rate -> limits.add("read=" + rate + "iops"));
+        Optional.ofNullable(blkioWriteIops).ifPresent(rate -> limits.add("write=" + rate + "iops"));
+        Optional.ofNullable(blkioDevice).ifPresent(device -> limits.add("device=" + device));
+        return String.join(", ", limits);
+    }
+
+    private static String kilobytes(final long bytes) {
+        return (bytes / 1024) + "kB";
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * <p> Reads and resets the statistics 'pg_stat_statements' gathers about the
+ * statements executed against the database the Application is connected to
+ * (its clone, if cloning is enabled), so that the statements executed by a
+ * unit of work, such as a test, can be inspected in isolation.
+ *
+ * <p> Statistics are reset for the Application's database only, which leaves
+ * other Application Contexts sharing the Container undisturbed. Statements that
+ * query or reset the statistics themselves, and statements on the 'local_postgresql'
+ * schema (like those restoring tables with {@link DatabaseReset}), are left out.
+ *
+ * @author Quinn Andrews
+ */
+public class StatementStatistics {
+
+    /**
+     * The server settings that load and configure 'pg_stat_statements'. Only the
+     * statements clients issue are tracked, not those nested in functions and triggers
+     * (like the trigger {@link DatabaseReset} tracks writes with), and utility
+     * statements (BEGIN, COMMIT, SET, etc.) are not tracked either, so that statistics
+     * reflect the queries the Application actually issues.
+     */
+    static final Map<String, String> SERVER_SETTINGS = Map.of(
+            "shared_preload_libraries", "pg_stat_statements",
+            "pg_stat_statements.track", "top",
+            "pg_stat_statements.track_utility", "off");
+
+    private final LocalPostgreSQLContainer container;
+    private final DatabaseClone databaseClone;
+
+    /**
+     * Constructs an instance for the database of the given Container, or its clone.
+     *
+     * @param container     The Container running PostgreSQL with 'pg_stat_statements' loaded.
+     * @param databaseClone The clone the Application is connected to, if cloning is enabled (optional).
+     */
+    public StatementStatistics(final LocalPostgreSQLContainer container,
+                               final DatabaseClone databaseClone) {
+        this.container = container;
+        this.databaseClone = databaseClone;
+    }
+
+    /**
+     * Creates the 'pg_stat_statements' extension in the configured database, if it
+     * does not exist yet. Clones created from the database inherit it.
+     *
+     * @param container The started Container.
+     */
+    static void createExtension(final LocalPostgreSQLContainer container) {
+        try (final var connection = container.openConnection(container.getDatabaseName());
+             final var statement = connection.createStatement()) {
+            statement.execute("CREATE EXTENSION IF NOT EXISTS pg_stat_statements");
+        } catch (final SQLException e) {
+            throw new IllegalStateException("Could not create the 'pg_stat_statements' extension.", e);
+        }
+    }
+
+    /**
+     * Discards the statistics gathered so far for the Application's database.
+     */
+    public void reset() {
+        try (final var connection = container.openConnection(getDatabaseName());
+             final var statement = connection.createStatement()) {
+            // Resetting a single database is supported from PostgreSQL 12 on.
+            statement.execute(connection.getMetaData().getDatabaseMajorVersion() >= 12
+                    ? "SELECT pg_stat_statements_reset(0::oid, "
+                            + "(SELECT oid FROM pg_database WHERE datname = current_database()), 0::bigint)"
+                    : "SELECT pg_stat_statements_reset()");
+        } catch (final SQLException e) {
+            throw new IllegalStateException("Could not reset 'pg_stat_statements'.", e);
+        }
+    }
+
+    /**
+     * Returns the statistics gathered since the last reset for the Application's
+     * database, ordered by total execution time, most expensive first.
+     *
+     * @return List of Entry
+     */
+    public List<Entry> collect() {
+        try (final var connection = container.openConnection(getDatabaseName())) {
+            // The column was renamed in PostgreSQL 13.
+            final var totalTime = connection.getMetaData().getDatabaseMajorVersion() >= 13
+                    ? "total_exec_time"
+                    : "total_time";
+            try (final var statement = connection.createStatement();
+                 final var resultSet = statement.executeQuery("SELECT query, calls, " + totalTime + ", rows "
+                         + "FROM pg_stat_statements "
+                         + "WHERE dbid = (SELECT oid FROM pg_database WHERE datname = current_database()) "
+                         + "AND query NOT LIKE '%pg_stat_statements%' "
+                         + "AND query NOT LIKE '%local\\_postgresql.%' "
+                         + "ORDER BY " + totalTime + " DESC")) {
+                final var entries = new ArrayList<Entry>();
+                while (resultSet.next()) {
+                    entries.add(new Entry(resultSet.getString(1), resultSet.getLong(2),
+                            resultSet.getDouble(3), resultSet.getLong(4)));
+                }
+                return entries;
+            }
+        } catch (final SQLException e) {
+            throw new IllegalStateException("Could not read 'pg_stat_statements'.", e);
+        }
+    }
+
+    private String getDatabaseName() {
+        return Optional.ofNullable(databaseClone)
+                .map(DatabaseClone::getDatabaseName)
+                .orElseGet(container::getDatabaseName);
+    }
+
+    /**
+     * The statistics of one normalized statement.
+     *
+     * @param query           The statement, with constants replaced by parameters.
+     * @param calls           How many times the statement was executed.
+     * @param totalTimeMillis The total time spent executing the statement, in milliseconds.
+     * @param rows            The total number of rows retrieved or affected by the statement.
+     */
+    public record Entry(String query, long calls, double totalTimeMillis, long rows) {
+    }
+}
@@ -0,0 +1,213 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p> A set of operations for {@link WorkloadRunner} to run against the database
+ * the Application is connected to, and the schedule to run them on: an optional
+ * warmup, whose latencies are not reported, followed by one or more stages, each
+ * with a number of concurrent workers calling the operations for a duration.
+ *
+ * <p> Each worker picks its next operation at random, in proportion to the weights
+ * of the operations, and calls it as soon as the previous call has returned.
+ *
+ * <p> Example:
+ * <pre>
+ * final var workload = Workload.builder("pedal-lookups")
+ *         .sql("by-id", 9, "SELECT * FROM pedal WHERE id = (random() * 1000)::int + 1")
+ *         .call("by-name", 1, () -&gt; pedalRepository.findByName("Big Muff"))
+ *         .warmup(4, Duration.ofSeconds(5))
+ *         .rampUp(1, 32, 6, Duration.ofSeconds(10))
+ *         .build();
+ * </pre>
+ *
+ * @param name       The name of the workload, used in its report.
+ * @param operations The operations to call.
+ * @param stages     The stages to run, in order, including the warmup.
+ * @author Quinn Andrews
+ */
+public record Workload(String name,
+                       List<Operation> operations,
+                       List<Stage> stages) {
+
+    /**
+     * Calls the database once, over a connection that belongs to the worker making
+     * the call.
+     */
+    @FunctionalInterface
+    public interface Call {
+
+        /**
+         * Calls the database once.
+         *
+         * @param connection The worker's connection.
+         * @throws Exception If the call fails, which is counted as an error.
+         */
+        void call(Connection connection) throws Exception;
+    }
+
+    /**
+     * An operation of the workload.
+     *
+     * @param name   The name of the operation, used in the report.
+     * @param weight How often the operation is called relative to the others.
+     * @param call   The call.
+     */
+    public record Operation(String name, int weight, Call call) {
+    }
+
+    /**
+     * A stage of the workload.
+     *
+     * @param concurrency The number of workers.
+     * @param duration    How long the workers call operations for.
+     * @param warmup      Whether the stage only warms up the database and is not reported.
+     */
+    public record Stage(int concurrency, Duration duration, boolean warmup) {
+    }
+
+    /**
+     * Constructs an instance.
+     */
+    public Workload {
+        if (operations.isEmpty()) {
+            throw new IllegalStateException("The workload '" + name + "' has no operations.");
+        }
+        if (stages.stream().noneMatch(stage -> !stage.warmup())) {
+            throw new IllegalStateException("The workload '" + name + "' has no stages.");
+        }
+        operations = List.copyOf(operations);
+        stages = List.copyOf(stages);
+    }
+
+    /**
+     * Returns a builder for a workload.
+     *
+     * @param name The name of the workload.
+     * @return Builder
+     */
+    public static Builder builder(final String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * Builds a {@link Workload}.
+     */
+    public static final class Builder {
+
+        private final String name;
+        private final List<Operation> operations = new ArrayList<>();
+        private final List<Stage> stages = new ArrayList<>();
+
+        private Builder(final String name) {
+            this.name = name;
+        }
+
+        /**
+         * Adds an operation that executes a statement and reads all the rows it returns.
+         *
+         * @param name   The name of the operation.
+         * @param weight How often the operation is called relative to the others.
+         * @param sql    The statement.
+         * @return Builder
+         */
+        public Builder sql(final String name, final int weight, final String sql) {
+            return operation(name, weight, connection -> {
+                try (final var statement = connection.prepareStatement(sql)) {
+                    if (statement.execute()) {
+                        try (final var resultSet = statement.getResultSet()) {
+                            while (resultSet.next()) {
+                                // Reads every row, as the Application would.
+                            }
+                        }
+                    }
+                }
+            });
+        }
+
+        /**
+         * Adds an operation that calls the Application, a repository method for example,
+         * which uses connections of its own.
+         *
+         * @param name   The name of the operation.
+         * @param weight How often the operation is called relative to the others.
+         * @param call   The call.
+         * @return Builder
+         */
+        public Builder call(final String name, final int weight, final Runnable call) {
+            return operation(name, weight, connection -> call.run());
+        }
+
+        /**
+         * Adds an operation that calls the database over the worker's connection.
+         *
+         * @param name   The name of the operation.
+         * @param weight How often the operation is called relative to the others.
+         * @param call   The call.
+         * @return Builder
+         */
+        public Builder operation(final String name, final int weight, final Call call) {
+            if (weight < 1) {
+                throw new IllegalStateException("The weight of the operation '" + name + "' must be at least 1.");
+            }
+            operations.add(new Operation(name, weight, call));
+            return this;
+        }
+
+        /**
+         * Adds a warmup stage, which is run but not reported.
+         *
+         * @param concurrency The number of workers.
+         * @param duration    How long to warm up for.
+         * @return Builder
+         */
+        public Builder warmup(final int concurrency, final Duration duration) {
+            stages.add(new Stage(Math.max(1, concurrency), duration, true));
+            return this;
+        }
+
+        /**
+         * Adds a stage.
+         *
+         * @param concurrency The number of workers.
+         * @param duration    How long the stage runs.
+         * @return Builder
+         */
+        public Builder stage(final int concurrency, final Duration duration) {
+            stages.add(new Stage(Math.max(1, concurrency), duration, false));
+            return this;
+        }
+
+        /**
+         * Adds stages that ramp the number of workers up from one number to another,
+         * in evenly spaced steps.
+         *
+         * @param from     The number of workers of the first stage.
+         * @param to       The number of workers of the last stage.
+         * @param steps    The number of stages.
+         * @param duration How long each stage runs.
+         * @return Builder
+         */
+        public Builder rampUp(final int from, final int to, final int steps, final Duration duration) {
+            if (steps <= 1) {
+                return stage(to, duration);
+            }
+            for (int step = 0; step < steps; step++) {
+                stage(Math.round(from + (to - from) * (float) step / (steps - 1)), duration);
+            }
+            return this;
+        }
+
+        /**
+         * Builds the workload.
+         *
+         * @return Workload
+         */
+        public Workload build() {
+            return new Workload(name, operations, stages);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * <p> Provides a {@link WorkloadRunner} that runs workloads against the database,
+ * and reports their latencies, if HdrHistogram is on the classpath.
+ *
+ * @author Quinn Andrews
+ */
+@ConditionalOnClass(name="org.HdrHistogram.Histogram")
+@ConditionalOnProperty(name="spring.local.postgresql.engaged",
+                       havingValue="true",
+                       matchIfMissing = true)
+@EnableConfigurationProperties(WorkloadProperties.class)
+@Configuration
+public class WorkloadConfig {
+
+    /**
+     * Returns a Spring Bean that runs workloads against the database the Application
+     * is connected to.
+     *
+     * @param container     The instance of LocalPostgreSQLContainer holding the database.
+     * @param databaseClone The clone of the database the Application is connected to,
+     *                      if cloning is enabled (optional).
+     * @param properties    The configured workload.
+     * @return WorkloadRunner
+     */
+    @Bean
+    public WorkloadRunner workloadRunner(final LocalPostgreSQLContainer container,
+                                         final ObjectProvider<DatabaseClone> databaseClone,
+                                         final WorkloadProperties properties) {
+        return new WorkloadRunner(container, databaseClone.getIfAvailable(), properties);
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p> Configures the workload {@link WorkloadRunner} runs against the database once
+ * the Application is ready, if 'run-on-startup' is enabled, or whenever
+ * {@link WorkloadRunner#run()} is called.
+ *
+ * <p> Example:
+ * <pre>
+ * spring.local.postgresql.workload.operations.by-id.sql=SELECT * FROM pedal WHERE id = (random() * 1000)::int + 1
+ * spring.local.postgresql.workload.operations.by-id.weight=9
+ * spring.local.postgresql.workload.operations.by-brand.sql=SELECT * FROM pedal WHERE brand = 'Electro-Harmonix'
+ * spring.local.postgresql.workload.concurrency=1,4,16,64
+ * spring.local.postgresql.workload.duration=10s
+ * spring.local.postgresql.workload.run-on-startup=true
+ * </pre>
+ *
+ * @author Quinn Andrews
+ */
+@ConfigurationProperties(prefix = "spring.local.postgresql.workload")
+public class WorkloadProperties {
+
+    /**
+     * The operations to run, by name.
+     */
+    private Map<String, Operation> operations = new LinkedHashMap<>();
+
+    /**
+     * The numbers of workers of each stage, in the order the stages run, to ramp the
+     * load up. Defaults to a single stage with a worker per available processor.
+     */
+    private List<Integer> concurrency = new ArrayList<>();
+
+    /**
+     * How long each stage runs.
+     */
+    private Duration duration = Duration.ofSeconds(10);
+
+    /**
+     * How long to warm up for, with the workers of the first stage, before the
+     * stages are measured.
+     */
+    private Duration warmup = Duration.ofSeconds(2);
+
+    /**
+     * Whether to run the workload once the Application is ready, and log its report.
+     */
+    private boolean runOnStartup;
+
+    /**
+     * The file to write the report to as JSON, if any.
+     */
+    private String reportFile;
+
+    public Map<String, Operation> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(final Map<String, Operation> operations) {
+        this.operations = operations;
+    }
+
+    public List<Integer> getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(final List<Integer> concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public void setDuration(final Duration duration) {
+        this.duration = duration;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public void setWarmup(final Duration warmup) {
+        this.warmup = warmup;
+    }
+
+    public boolean isRunOnStartup() {
+        return runOnStartup;
+    }
+
+    public void setRunOnStartup(final boolean runOnStartup) {
+        this.runOnStartup = runOnStartup;
+    }
+
+    public String getReportFile() {
+        return reportFile;
+    }
+
+    public void setReportFile(final String reportFile) {
+        this.reportFile = reportFile;
+    }
+
+    /**
+     * An operation to run.
+     */
+    public static class Operation {
+
+        /**
+         * The statement to execute.
+         */
+        private String sql;
+
+        /**
+         * How often the operation is called relative to the others.
+         */
+        private int weight = 1;
+
+        public String getSql() {
+            return sql;
+        }
+
+        public void setSql(final String sql) {
+            this.sql = sql;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public void setWeight(final int weight) {
+            this.weight = weight;
+        }
+    }
+}
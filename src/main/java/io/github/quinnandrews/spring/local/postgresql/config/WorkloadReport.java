@@ -0,0 +1,99 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * <p> The throughput and latency of each operation of a {@link Workload}, for each
+ * of its stages, as measured by {@link WorkloadRunner}. Latencies are recorded in
+ * HdrHistograms with microsecond resolution, and reported in milliseconds.
+ *
+ * @param workload The name of the workload.
+ * @param stages   The reports of the stages, in the order they ran, without the warmup.
+ * @author Quinn Andrews
+ */
+public record WorkloadReport(String workload,
+                             List<StageReport> stages) {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * The report of one stage.
+     *
+     * @param concurrency    The number of workers.
+     * @param durationMillis How long the stage ran, in milliseconds.
+     * @param throughput     The calls per second of all operations.
+     * @param operations     The reports of the operations.
+     */
+    public record StageReport(int concurrency,
+                              long durationMillis,
+                              double throughput,
+                              List<OperationReport> operations) {
+    }
+
+    /**
+     * The report of one operation in one stage. Only successful calls count toward
+     * the throughput and latencies.
+     *
+     * @param name       The name of the operation.
+     * @param calls      The number of successful calls.
+     * @param errors     The number of failed calls.
+     * @param throughput The successful calls per second.
+     * @param meanMillis The mean latency.
+     * @param p50Millis  The median latency.
+     * @param p99Millis  The 99th percentile latency.
+     * @param p999Millis The 99.9th percentile latency.
+     * @param maxMillis  The highest latency.
+     */
+    public record OperationReport(String name,
+                                  long calls,
+                                  long errors,
+                                  double throughput,
+                                  double meanMillis,
+                                  double p50Millis,
+                                  double p99Millis,
+                                  double p999Millis,
+                                  double maxMillis) {
+    }
+
+    /**
+     * Returns the report as a table, one row per operation and stage.
+     *
+     * @return String
+     */
+    public String toText() {
+        final var text = new StringBuilder("Workload '").append(workload).append("'\n");
+        text.append(String.format(Locale.ROOT, "%8s %-24s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "workers", "operation", "calls", "errors", "calls/s", "mean ms", "p50 ms", "p99 ms", "p99.9 ms",
+                "max ms"));
+        for (final StageReport stage : stages) {
+            for (final OperationReport operation : stage.operations()) {
+                text.append(String.format(Locale.ROOT, "%8d %-24s %10d %8d %10.1f %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                        stage.concurrency(), operation.name(), operation.calls(), operation.errors(),
+                        operation.throughput(), operation.meanMillis(), operation.p50Millis(),
+                        operation.p99Millis(), operation.p999Millis(), operation.maxMillis()));
+            }
+            text.append(String.format(Locale.ROOT, "%8d %-24s %10s %8s %10.1f%n",
+                    stage.concurrency(), "(all)", "", "", stage.throughput()));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Returns the report as JSON.
+     *
+     * @return String
+     */
+    public String toJson() {
+        try {
+            return objectMapper.writeValueAsString(this);
+        } catch (final JsonProcessingException e) {
+            throw new IllegalStateException("Could not write the workload report as JSON.", e);
+        }
+    }
+}
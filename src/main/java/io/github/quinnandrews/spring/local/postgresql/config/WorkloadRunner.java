@@ -0,0 +1,265 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p> Runs a {@link Workload} against the database the Application is connected to
+ * (its clone, if cloning is enabled), and reports the throughput and latency
+ * percentiles of each of its operations, for each of its stages, as a
+ * {@link WorkloadReport}.
+ *
+ * <p> Each stage opens a connection per worker before it starts, so that connecting
+ * is not measured, and runs each worker on a thread of its own. Each worker records
+ * the latency of its calls in HdrHistograms of its own, which are added up once the
+ * stage is over, so that recording does not contend between workers.
+ *
+ * <p> The workload configured under 'spring.local.postgresql.workload' is run by
+ * {@link #run()}, and once the Application is ready, if 'run-on-startup' is enabled.
+ *
+ * @author Quinn Andrews
+ */
+public class WorkloadRunner implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkloadRunner.class);
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final LocalPostgreSQLContainer container;
+    private final DatabaseClone databaseClone;
+    private final WorkloadProperties properties;
+
+    /**
+     * Constructs an instance for the database of the given Container, or its clone.
+     *
+     * @param container     The Container holding the database.
+     * @param databaseClone The clone the Application is connected to, if cloning is enabled (optional).
+     * @param properties    The configured workload.
+     */
+    public WorkloadRunner(final LocalPostgreSQLContainer container,
+                          final DatabaseClone databaseClone,
+                          final WorkloadProperties properties) {
+        this.container = container;
+        this.databaseClone = databaseClone;
+        this.properties = properties;
+    }
+
+    @Override
+    public void onApplicationEvent(final ApplicationReadyEvent event) {
+        if (!properties.isRunOnStartup()) {
+            return;
+        }
+        final var report = run();
+        logger.info("Ran the configured workload:\n{}", report.toText());
+        Optional.ofNullable(properties.getReportFile()).ifPresent(reportFile -> {
+            try {
+                Files.writeString(Path.of(reportFile), report.toJson());
+            } catch (final IOException e) {
+                throw new IllegalStateException("Could not write the workload report to " + reportFile + ".", e);
+            }
+        });
+    }
+
+    /**
+     * Runs the workload configured under 'spring.local.postgresql.workload'.
+     *
+     * @return WorkloadReport
+     */
+    public WorkloadReport run() {
+        final var builder = Workload.builder("spring.local.postgresql.workload");
+        properties.getOperations().forEach((name, operation) -> builder.sql(name, operation.getWeight(),
+                Optional.ofNullable(operation.getSql())
+                        .orElseThrow(() -> new IllegalStateException("The workload operation '" + name
+                                + "' has no SQL."))));
+        final var concurrency = properties.getConcurrency().isEmpty()
+                ? List.of(Runtime.getRuntime().availableProcessors())
+                : properties.getConcurrency();
+        if (!properties.getWarmup().isZero()) {
+            builder.warmup(concurrency.get(0), properties.getWarmup());
+        }
+        concurrency.forEach(workers -> builder.stage(workers, properties.getDuration()));
+        return run(builder.build());
+    }
+
+    /**
+     * Runs the given workload.
+     *
+     * @param workload The workload.
+     * @return WorkloadReport
+     */
+    public WorkloadReport run(final Workload workload) {
+        final var stages = new ArrayList<WorkloadReport.StageReport>();
+        for (final Workload.Stage stage : workload.stages()) {
+            logger.info("Running the {} of workload '{}' with {} workers for {}s.",
+                    stage.warmup() ? "warmup" : "stage " + (stages.size() + 1), workload.name(),
+                    stage.concurrency(), stage.duration().toMillis() / 1000.0);
+            final var report = runStage(workload, stage);
+            if (!stage.warmup()) {
+                stages.add(report);
+            }
+        }
+        return new WorkloadReport(workload.name(), stages);
+    }
+
+    private WorkloadReport.StageReport runStage(final Workload workload, final Workload.Stage stage) {
+        final var operations = workload.operations();
+        final var workers = new ArrayList<Worker>(stage.concurrency());
+        final var start = new CountDownLatch(1);
+        final long startedAt;
+        final long finishedAt;
+        try {
+            for (int i = 0; i < stage.concurrency(); i++) {
+                workers.add(new Worker(operations, openConnection(), start,
+                        "local-postgresql-workload-" + (i + 1)));
+            }
+            startedAt = System.nanoTime();
+            final var deadline = startedAt + stage.duration().toNanos();
+            workers.forEach(worker -> worker.start(deadline));
+            start.countDown();
+            for (final Worker worker : workers) {
+                worker.thread.join();
+            }
+            finishedAt = System.nanoTime();
+        } catch (final SQLException e) {
+            throw new IllegalStateException("Could not connect the workers of workload '" + workload.name() + "'.", e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running workload '" + workload.name() + "'.", e);
+        } finally {
+            start.countDown();
+            workers.forEach(Worker::close);
+        }
+        final var seconds = Math.max(1, finishedAt - startedAt) / 1_000_000_000.0;
+        final var reports = new ArrayList<WorkloadReport.OperationReport>(operations.size());
+        long calls = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            final var histogram = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+            long errors = 0;
+            Exception failure = null;
+            for (final Worker worker : workers) {
+                histogram.add(worker.histograms[i]);
+                errors += worker.errors[i];
+                failure = Optional.ofNullable(failure).orElse(worker.failures[i]);
+            }
+            if (failure != null) {
+                logger.warn("{} calls of operation '{}' failed, the first with:", errors, operations.get(i).name(),
+                        failure);
+            }
+            calls += histogram.getTotalCount();
+            reports.add(new WorkloadReport.OperationReport(operations.get(i).name(),
+                    histogram.getTotalCount(),
+                    errors,
+                    histogram.getTotalCount() / seconds,
+                    histogram.getTotalCount() == 0 ? 0 : histogram.getMean() / 1000.0,
+                    histogram.getValueAtPercentile(50.0) / 1000.0,
+                    histogram.getValueAtPercentile(99.0) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0));
+        }
+        return new WorkloadReport.StageReport(stage.concurrency(), (finishedAt - startedAt) / 1_000_000,
+                calls / seconds, reports);
+    }
+
+    private Connection openConnection() throws SQLException {
+        return container.openConnection(Optional.ofNullable(databaseClone)
+                .map(DatabaseClone::getDatabaseName)
+                .orElseGet(container::getDatabaseName));
+    }
+
+    /**
+     * Calls operations, picked at random by weight, until the deadline, on a thread
+     * and connection of its own.
+     */
+    private static final class Worker {
+
+        private final List<Workload.Operation> operations;
+        private final int[] cumulativeWeights;
+        private final Connection connection;
+        private final CountDownLatch start;
+        private final Thread thread;
+        private final Histogram[] histograms;
+        private final long[] errors;
+        private final Exception[] failures;
+        private long deadline;
+
+        private Worker(final List<Workload.Operation> operations,
+                       final Connection connection,
+                       final CountDownLatch start,
+                       final String name) {
+            this.operations = operations;
+            this.cumulativeWeights = new int[operations.size()];
+            int weight = 0;
+            for (int i = 0; i < operations.size(); i++) {
+                weight += operations.get(i).weight();
+                cumulativeWeights[i] = weight;
+            }
+            this.connection = connection;
+            this.start = start;
+            this.histograms = new Histogram[operations.size()];
+            for (int i = 0; i < operations.size(); i++) {
+                histograms[i] = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+            }
+            this.errors = new long[operations.size()];
+            this.failures = new Exception[operations.size()];
+            // Java 17 has no virtual threads, so each worker gets a daemon platform thread.
+            this.thread = new Thread(this::work, name);
+            this.thread.setDaemon(true);
+        }
+
+        private void start(final long deadline) {
+            this.deadline = deadline;
+            thread.start();
+        }
+
+        private void work() {
+            try {
+                start.await();
+            } catch (final InterruptedException e) {
+                return;
+            }
+            final var random = ThreadLocalRandom.current();
+            final var totalWeight = cumulativeWeights[cumulativeWeights.length - 1];
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                final var pick = random.nextInt(totalWeight);
+                int i = 0;
+                while (cumulativeWeights[i] <= pick) {
+                    i++;
+                }
+                final var calledAt = System.nanoTime();
+                try {
+                    operations.get(i).call().call(connection);
+                    final var micros = (System.nanoTime() - calledAt) / 1000;
+                    histograms[i].recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, micros)));
+                } catch (final Exception e) {
+                    errors[i]++;
+                    failures[i] = Optional.ofNullable(failures[i]).orElse(e);
+                }
+            }
+        }
+
+        private void close() {
+            try {
+                connection.close();
+            } catch (final SQLException e) {
+                logger.debug("Could not close a workload connection.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.quinnandrews.spring.local.postgresql.junit;
+
+import io.github.quinnandrews.spring.local.postgresql.config.DatabaseReset;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Optional;
+
+/**
+ * <p> A JUnit Extension that installs the tracking of the tables written to
+ * before the first test, and resets the tables written to by each test after it.
+ *
+ * <p> Requires the test to run with a Spring Application Context (example:
+ * {@code @SpringBootTest}) that runs PostgreSQL with this library. Otherwise it
+ * does nothing. Register it with {@link ResetDatabase}, or with
+ * {@code @ExtendWith(DatabaseResetExtension.class)}.
+ *
+ * @author Quinn Andrews
+ */
+public class DatabaseResetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(final ExtensionContext context) {
+        databaseReset(context).ifPresent(DatabaseReset::install);
+    }
+
+    @Override
+    public void afterEach(final ExtensionContext context) {
+        databaseReset(context).ifPresent(databaseReset -> {
+            final var tables = databaseReset.reset();
+            if (tables > 0) {
+                context.publishReportEntry("reset", tables + " tables");
+            }
+        });
+    }
+
+    private static Optional<DatabaseReset> databaseReset(final ExtensionContext context) {
+        return Optional.ofNullable(SpringExtension.getApplicationContext(context)
+                .getBeanProvider(DatabaseReset.class)
+                .getIfAvailable());
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.quinnandrews.spring.local.postgresql.junit;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p> Fails a test if the statements it executes against the database exceed
+ * the given budget, and reports the most expensive of them after each test.
+ * On a test class, the budget applies to each of its test methods, unless a
+ * method declares a budget of its own.
+ *
+ * <p> Requires 'spring.local.postgresql.database.statements.capture=true'. Only
+ * statements the test executes count, since statistics are reset before each
+ * test. Negative limits are not enforced.
+ *
+ * <p> Example:
+ * <pre>{@code
+ * @Test
+ * @QueryBudget(maxStatements = 5)
+ * void findPedals_noNPlusOne() { ... }
+ * }</pre>
+ *
+ * @author Quinn Andrews
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@ExtendWith(StatementStatisticsExtension.class)
+public @interface QueryBudget {
+
+    /**
+     * The most statements the test may execute, counting each execution.
+     *
+     * @return int
+     */
+    int maxStatements() default -1;
+
+    /**
+     * The most distinct (normalized) statements the test may execute.
+     *
+     * @return int
+     */
+    int maxDistinctStatements() default -1;
+
+    /**
+     * The most time, in milliseconds, the database may spend executing the test's statements.
+     *
+     * @return long
+     */
+    long maxTotalTimeMillis() default -1;
+
+    /**
+     * How many of the most expensive statements to report.
+     *
+     * @return int
+     */
+    int report() default StatementStatisticsExtension.DEFAULT_REPORT_SIZE;
+}
@@ -0,0 +1,37 @@
+package io.github.quinnandrews.spring.local.postgresql.junit;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p> Resets the tables each test of the annotated class writes to after the
+ * test, so that every test starts from the same data without restarting the
+ * Application Context, as {@code @DirtiesContext} would.
+ *
+ * <p> The data the tables hold before the first test runs (from init scripts,
+ * migrations, 'data.sql' or seeding) is the baseline they are reset to. Only the
+ * tables that were written to, and the tables that reference them, are reset,
+ * with a single 'TRUNCATE', which takes milliseconds.
+ *
+ * <p> Example:
+ * <pre>{@code
+ * @SpringBootTest
+ * @ResetDatabase
+ * class GuitarPedalServiceTest { ... }
+ * }</pre>
+ *
+ * @author Quinn Andrews
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@ExtendWith(DatabaseResetExtension.class)
+public @interface ResetDatabase {
+}
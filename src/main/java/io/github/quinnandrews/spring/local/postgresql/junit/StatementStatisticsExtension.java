@@ -0,0 +1,126 @@
+package io.github.quinnandrews.spring.local.postgresql.junit;
+
+import io.github.quinnandrews.spring.local.postgresql.config.StatementStatistics;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * <p> A JUnit Extension that resets the statement statistics of the database
+ * before each test and reports the most expensive statements the test executed
+ * after it, failing the test if it exceeded its {@link QueryBudget}.
+ *
+ * <p> Requires the test to run with a Spring Application Context (example:
+ * {@code @SpringBootTest}) in which 'spring.local.postgresql.database.statements.capture'
+ * is enabled. Otherwise it does nothing: a test class that is not extended with the
+ * {@link SpringExtension}, directly or through an enclosing class, is left alone, and
+ * no Application Context is loaded for it. Register it with {@link QueryBudget}, or
+ * with {@code @ExtendWith(StatementStatisticsExtension.class)} to report without
+ * a budget.
+ *
+ * @author Quinn Andrews
+ */
+public class StatementStatisticsExtension implements BeforeEachCallback, AfterEachCallback {
+
+    /**
+     * How many of the most expensive statements are reported by default.
+     */
+    public static final int DEFAULT_REPORT_SIZE = 10;
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementStatisticsExtension.class);
+
+    @Override
+    public void beforeEach(final ExtensionContext context) {
+        statementStatistics(context).ifPresent(StatementStatistics::reset);
+    }
+
+    @Override
+    public void afterEach(final ExtensionContext context) {
+        final var statementStatistics = statementStatistics(context);
+        if (statementStatistics.isEmpty()) {
+            return;
+        }
+        final var entries = statementStatistics.get().collect();
+        final var budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), QueryBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), QueryBudget.class));
+        final var statements = entries.stream().mapToLong(StatementStatistics.Entry::calls).sum();
+        final var totalTimeMillis = entries.stream().mapToDouble(StatementStatistics.Entry::totalTimeMillis).sum();
+        final var summary = String.format(Locale.ROOT, "%d statements, %d distinct, %.2fms",
+                statements, entries.size(), totalTimeMillis);
+        context.publishReportEntry("statements", summary);
+        logger.info(report(context.getDisplayName(), summary, entries,
+                budget.map(QueryBudget::report).orElse(DEFAULT_REPORT_SIZE)));
+        if (budget.isEmpty() || context.getExecutionException().isPresent()) {
+            return;
+        }
+        final var violations = new ArrayList<String>();
+        if (budget.get().maxStatements() >= 0 && statements > budget.get().maxStatements()) {
+            violations.add(statements + " statements executed, but at most "
+                    + budget.get().maxStatements() + " are allowed");
+        }
+        if (budget.get().maxDistinctStatements() >= 0 && entries.size() > budget.get().maxDistinctStatements()) {
+            violations.add(entries.size() + " distinct statements executed, but at most "
+                    + budget.get().maxDistinctStatements() + " are allowed");
+        }
+        if (budget.get().maxTotalTimeMillis() >= 0 && totalTimeMillis > budget.get().maxTotalTimeMillis()) {
+            violations.add(String.format(Locale.ROOT, "%.2fms spent executing statements, but at most %dms is allowed",
+                    totalTimeMillis, budget.get().maxTotalTimeMillis()));
+        }
+        if (!violations.isEmpty()) {
+            throw new AssertionError("Query budget exceeded by " + context.getDisplayName() + ": "
+                    + String.join("; ", violations) + ".");
+        }
+    }
+
+    private static Optional<StatementStatistics> statementStatistics(final ExtensionContext context) {
+        if (!hasSpringExtension(context.getRequiredTestClass())) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(SpringExtension.getApplicationContext(context)
+                .getBeanProvider(StatementStatistics.class)
+                .getIfAvailable());
+    }
+
+    /**
+     * Returns whether the given test class, or a class enclosing it ('@Nested'), is
+     * extended with the SpringExtension, which '@SpringBootTest' and
+     * '@SpringJUnitConfig', for example, are meta-annotated with.
+     */
+    private static boolean hasSpringExtension(final Class<?> testClass) {
+        for (Class<?> type = testClass; type != null; type = type.getEnclosingClass()) {
+            final var extended = AnnotationSupport.findRepeatableAnnotations(type, ExtendWith.class).stream()
+                    .flatMap(extendWith -> Arrays.stream(extendWith.value()))
+                    .anyMatch(SpringExtension.class::isAssignableFrom);
+            if (extended) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String report(final String test,
+                                 final String summary,
+                                 final List<StatementStatistics.Entry> entries,
+                                 final int size) {
+        final var report = new StringBuilder()
+                .append("Statements executed by ").append(test).append(": ").append(summary).append('\n')
+                .append(String.format(Locale.ROOT, "%10s %12s %10s  %s%n", "calls", "total ms", "rows", "query"));
+        entries.stream()
+                .limit(size)
+                .forEach(entry -> report.append(String.format(Locale.ROOT, "%10d %12.2f %10d  %s%n",
+                        entry.calls(), entry.totalTimeMillis(), entry.rows(),
+                        entry.query().replaceAll("\\s+", " "))));
+        return report.toString();
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.quinnandrews.spring.local.postgresql;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.quinnandrews.spring.local.postgresql.application.Application;
+import io.github.quinnandrews.spring.local.postgresql.application.data.guitarpedals.repository.GuitarPedalRepository;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext
+@ActiveProfiles("async")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = Application.class)
+@Import(AsyncPostgreSQLContainerConfigTest.PostProcessedBeans.class)
+public class AsyncPostgreSQLContainerConfigTest {
+
+    private static final Set<String> postProcessed = ConcurrentHashMap.newKeySet();
+
+    @Autowired(required = false)
+    private PostgreSQLContainer<?> postgreSQLContainer;
+
+    @Autowired(required = false)
+    private DataSource dataSource;
+
+    @Autowired(required = false)
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Test
+    @Order(1)
+    void container_initialized() {
+        // given the application is initialized
+        // and the 'async' profile is active
+        // and the datasource waited for the container when it read the JDBC URL
+        // then the container is running
+        assertNotNull(postgreSQLContainer);
+        assertTrue(postgreSQLContainer.isRunning());
+        // and matches the 'async' configuration
+        assertEquals("postgres:15", postgreSQLContainer.getDockerImageName());
+        assertEquals("pedals", postgreSQLContainer.getDatabaseName());
+    }
+
+    @Test
+    @Order(2)
+    void container_createdEarly_postProcessed() {
+        // given the application is initialized
+        // and the 'async' profile is active
+        // and the container was created ahead of the other beans
+        // then it was processed by all bean post processors, including plain ones
+        assertTrue(postProcessed.contains("postgreSQLContainer"));
+    }
+
+    @Test
+    @Order(3)
+    void dataSource_initialized() {
+        // given the application is initialized
+        // and the 'async' profile is active
+        // then the datasource is initialized
+        assertNotNull(dataSource);
+        final var hikariDataSource = (HikariDataSource) dataSource;
+        assertTrue(hikariDataSource.isRunning());
+        // and the datasource matches the container
+        assertEquals(postgreSQLContainer.getJdbcUrl(), hikariDataSource.getJdbcUrl());
+        assertEquals(postgreSQLContainer.getUsername(), hikariDataSource.getUsername());
+        assertEquals(postgreSQLContainer.getPassword(), hikariDataSource.getPassword());
+    }
+
+    @Test
+    @Order(4)
+    void guitarPedalRepository_initialized_dataAccessible() {
+        // given the application is initialized
+        // and the 'async' profile is active
+        // and three pedals were inserted when data.sql was executed
+        // then the database contains the three pedals
+        assertNotNull(guitarPedalRepository);
+        assertEquals(3, guitarPedalRepository.count());
+    }
+
+    /**
+     * Records the beans processed by a BeanPostProcessor that is neither PriorityOrdered
+     * nor Ordered, and is therefore registered last.
+     */
+    @TestConfiguration
+    static class PostProcessedBeans {
+
+        @Bean
+        static BeanPostProcessor postProcessedBeanRecorder() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                    postProcessed.add(beanName);
+                    return bean;
+                }
+            };
+        }
+    }
+}
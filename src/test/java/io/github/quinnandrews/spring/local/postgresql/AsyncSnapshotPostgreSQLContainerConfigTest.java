@@ -0,0 +1,65 @@
+package io.github.quinnandrews.spring.local.postgresql;
+
+import io.github.quinnandrews.spring.local.postgresql.application.Application;
+import io.github.quinnandrews.spring.local.postgresql.config.ContainerSnapshot;
+import io.github.quinnandrews.spring.local.postgresql.config.DatabaseSeedProperties;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext
+@ActiveProfiles("asyncsnapshot")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = Application.class)
+public class AsyncSnapshotPostgreSQLContainerConfigTest {
+
+    @Autowired(required = false)
+    private ContainerSnapshot containerSnapshot;
+
+    @Autowired(required = false)
+    private DatabaseSeedProperties databaseSeedProperties;
+
+    @Autowired(required = false)
+    private DataSource dataSource;
+
+    @Test
+    @Order(1)
+    void seedProperties_bound() {
+        // given the application is initialized
+        // and the 'asyncsnapshot' profile is active
+        // and the container was created ahead of the other beans, along with the snapshot
+        // then the seed properties the snapshot fingerprint is taken from were bound
+        assertNotNull(containerSnapshot);
+        assertNotNull(databaseSeedProperties);
+        assertEquals(2, databaseSeedProperties.getTables().size());
+    }
+
+    @Test
+    @Order(2)
+    void seededTables_loaded() throws SQLException {
+        // given the application is initialized
+        // and the 'asyncsnapshot' profile is active
+        // then both tables were loaded from their files (or started from the snapshot with them)
+        assertEquals(3, count("SELECT count(*) FROM manufacturer"));
+        assertEquals(5, count("SELECT count(*) FROM pedal_model"));
+    }
+
+    private long count(final String query) throws SQLException {
+        try (final var connection = dataSource.getConnection();
+             final var statement = connection.createStatement();
+             final var resultSet = statement.executeQuery(query)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.quinnandrews.spring.local.postgresql;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.quinnandrews.spring.local.postgresql.application.Application;
+import io.github.quinnandrews.spring.local.postgresql.application.data.guitarpedals.repository.GuitarPedalRepository;
+import io.github.quinnandrews.spring.local.postgresql.config.DatabaseClone;
+import io.github.quinnandrews.spring.local.postgresql.config.LocalPostgreSQLContainer;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext
+@ActiveProfiles("clone")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = Application.class)
+public class ClonePostgreSQLContainerConfigTest {
+
+    @Autowired(required = false)
+    private PostgreSQLContainer<?> postgreSQLContainer;
+
+    @Autowired(required = false)
+    private DatabaseClone databaseClone;
+
+    @Autowired(required = false)
+    private DataSource dataSource;
+
+    @Autowired(required = false)
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Test
+    @Order(1)
+    void databaseClone_initialized() {
+        // given the application is initialized
+        // and the 'clone' profile is active
+        // and the container is initialized
+        assertNotNull(postgreSQLContainer);
+        assertTrue(postgreSQLContainer.isRunning());
+        // then the database clone is initialized
+        assertNotNull(databaseClone);
+        // and is named after the configured database, which serves as its template
+        assertTrue(databaseClone.getDatabaseName().startsWith("pedals_"));
+    }
+
+    @Test
+    @Order(2)
+    void dataSource_initialized_connectedToClone() {
+        // given the application is initialized
+        // and the 'clone' profile is active
+        // and the container is initialized
+        // then the datasource is initialized
+        assertNotNull(dataSource);
+        final var hikariDataSource = (HikariDataSource) dataSource;
+        assertTrue(hikariDataSource.isRunning());
+        // and the datasource is connected to the clone rather than the configured database
+        assertNotEquals(postgreSQLContainer.getJdbcUrl(), hikariDataSource.getJdbcUrl());
+        assertEquals(databaseClone.getJdbcUrl(), hikariDataSource.getJdbcUrl());
+        // and the username and password match the configured application user
+        assertEquals("overdrive", hikariDataSource.getUsername());
+        assertEquals("reverb", hikariDataSource.getPassword());
+    }
+
+    @Test
+    @Order(3)
+    void guitarPedalRepository_initialized_dataAccessible() {
+        // given the application is initialized
+        // and the 'clone' profile is active
+        // and the datasource is connected to the clone
+        // and three pedals were inserted into the clone when data.sql was executed
+        // then the guitarPedalRepository is initialized
+        assertNotNull(guitarPedalRepository);
+        // and the clone contains the three pedals
+        assertEquals(3, guitarPedalRepository.count());
+    }
+
+    @Test
+    @Order(4)
+    void databaseClone_sharedContainer_clonePerContext() throws Exception {
+        // given two application contexts sharing one container
+        final var first = sharedContext();
+        try (final var second = sharedContext()) {
+            final var container = first.getBean(LocalPostgreSQLContainer.class);
+            assertSame(container, second.getBean(LocalPostgreSQLContainer.class));
+            // then each context is connected to a clone of its own
+            final var firstClone = first.getBean(DatabaseClone.class).getDatabaseName();
+            final var secondClone = second.getBean(DatabaseClone.class).getDatabaseName();
+            assertNotEquals(firstClone, secondClone);
+            // and a pedal deleted through one context is still there in the other
+            first.getBean(GuitarPedalRepository.class).deleteAll();
+            assertEquals(0, first.getBean(GuitarPedalRepository.class).count());
+            assertEquals(3, second.getBean(GuitarPedalRepository.class).count());
+            // and when the first context is closed
+            first.close();
+            // then its clone has been dropped by the time it is closed
+            try (final var connection = container.openConnection("postgres");
+                 final var statement = connection.prepareStatement(
+                         "SELECT datname FROM pg_database WHERE datname IN (?, ?)")) {
+                statement.setString(1, firstClone);
+                statement.setString(2, secondClone);
+                try (final var resultSet = statement.executeQuery()) {
+                    assertTrue(resultSet.next());
+                    assertEquals(secondClone, resultSet.getString(1));
+                    assertFalse(resultSet.next());
+                }
+            }
+        } finally {
+            // closing a context that is already closed does nothing
+            first.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext sharedContext() {
+        return new SpringApplicationBuilder(Application.class)
+                .profiles("clone")
+                .properties("spring.local.postgresql.container.shared=true")
+                .web(WebApplicationType.NONE)
+                .run();
+    }
+}
@@ -3,12 +3,16 @@ package io.github.quinnandrews.spring.local.postgresql;
 import com.zaxxer.hikari.HikariDataSource;
 import io.github.quinnandrews.spring.local.postgresql.application.Application;
 import io.github.quinnandrews.spring.local.postgresql.application.data.guitarpedals.repository.GuitarPedalRepository;
+import io.github.quinnandrews.spring.local.postgresql.config.LocalPostgreSQLContainer;
 import io.github.quinnandrews.spring.local.postgresql.config.PostgreSQLContainerConfig;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
@@ -16,6 +20,8 @@ import org.springframework.test.context.ActiveProfiles;
 import org.testcontainers.containers.PostgreSQLContainer;
 
 import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -34,6 +40,10 @@ public class DefaultPostgreSQLContainerConfigTest {
     @Autowired(required = false)
     private GuitarPedalRepository guitarPedalRepository;
 
+    @Autowired(required = false)
+    @Qualifier("postgreSQLContainerStartupMetrics")
+    private MeterBinder postgreSQLContainerStartupMetrics;
+
     @Test
     @Order(1)
     void container_initialized() {
@@ -103,4 +113,39 @@ public class DefaultPostgreSQLContainerConfigTest {
         assertEquals(1, users.size());
         assertEquals("test", users.get(0));
     }
+
+    @Test
+    @Order(5)
+    void startupPhases_timed() {
+        // given the application is initialized
+        // and the 'default' profile is active
+        // and the container is initialized
+        // then each phase of starting the container was timed
+        final var phases = ((LocalPostgreSQLContainer) postgreSQLContainer).getStartupPhases();
+        assertEquals(List.of("image", "create", "start", "readiness", "init", "connection"),
+                List.copyOf(phases.keySet()));
+        phases.values().forEach(duration -> assertFalse(duration.isNegative()));
+    }
+
+    @Test
+    @Order(6)
+    void startupMetrics_recorded() {
+        // given the application is initialized
+        // and the 'default' profile is active
+        // and the container is initialized
+        assertNotNull(postgreSQLContainerStartupMetrics);
+        // when the startup metrics are bound to a registry
+        final var registry = new SimpleMeterRegistry();
+        postgreSQLContainerStartupMetrics.bindTo(registry);
+        // then a timer is registered for each phase, with the duration of the phase
+        final var phases = ((LocalPostgreSQLContainer) postgreSQLContainer).getStartupPhases();
+        phases.forEach((phase, duration) -> {
+            final var timer = registry.find("local.postgresql.container.startup")
+                    .tag("phase", phase)
+                    .timer();
+            assertNotNull(timer);
+            assertEquals(1, timer.count());
+            assertEquals(duration.toMillis(), timer.totalTime(TimeUnit.MILLISECONDS), 1.0);
+        });
+    }
 }
@@ -0,0 +1,73 @@
+package io.github.quinnandrews.spring.local.postgresql;
+
+import io.github.quinnandrews.spring.local.postgresql.application.Application;
+import io.github.quinnandrews.spring.local.postgresql.application.data.guitarpedals.repository.GuitarPedalRepository;
+import io.github.quinnandrews.spring.local.postgresql.config.LocalPostgreSQLContainer;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext
+@ActiveProfiles("fast")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = Application.class)
+public class FastPostgreSQLContainerConfigTest {
+
+    @Autowired(required = false)
+    private LocalPostgreSQLContainer postgreSQLContainer;
+
+    @Autowired(required = false)
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Test
+    @Order(1)
+    void container_initialized_dataDirectoryOnTmpfs() {
+        // given the application is initialized
+        // and the 'fast' profile is active
+        // and the container is initialized
+        assertNotNull(postgreSQLContainer);
+        assertTrue(postgreSQLContainer.isRunning());
+        // then the data directory is mounted on tmpfs
+        final var tmpfs = postgreSQLContainer.getContainerInfo().getHostConfig().getTmpFs();
+        assertNotNull(tmpfs);
+        assertTrue(tmpfs.containsKey("/var/lib/postgresql/data"));
+    }
+
+    @Test
+    @Order(2)
+    void serverSettings_durabilityDisabled() throws SQLException {
+        // given the application is initialized
+        // and the 'fast' profile is active
+        // and the container is initialized
+        // then the server runs without durability
+        try (final var connection = postgreSQLContainer.openConnection(postgreSQLContainer.getDatabaseName());
+             final var statement = connection.createStatement();
+             final var resultSet = statement.executeQuery(
+                     "select current_setting('fsync'), current_setting('synchronous_commit'), current_setting('full_page_writes')")) {
+            assertTrue(resultSet.next());
+            assertEquals("off", resultSet.getString(1));
+            assertEquals("off", resultSet.getString(2));
+            assertEquals("off", resultSet.getString(3));
+        }
+    }
+
+    @Test
+    @Order(3)
+    void guitarPedalRepository_initialized_dataAccessible() {
+        // given the application is initialized
+        // and the 'fast' profile is active
+        // and three pedals were inserted when data.sql was executed
+        // then the database contains the three pedals
+        assertNotNull(guitarPedalRepository);
+        assertEquals(3, guitarPedalRepository.count());
+    }
+}
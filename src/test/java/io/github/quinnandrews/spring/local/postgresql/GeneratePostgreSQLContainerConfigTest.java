@@ -0,0 +1,100 @@
+package io.github.quinnandrews.spring.local.postgresql;
+
+import io.github.quinnandrews.spring.local.postgresql.application.Application;
+import io.github.quinnandrews.spring.local.postgresql.application.data.guitarpedals.repository.GuitarPedalRepository;
+import io.github.quinnandrews.spring.local.postgresql.config.DataGenerator;
+import io.github.quinnandrews.spring.local.postgresql.config.DataGeneratorProperties;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext
+@ActiveProfiles("generate")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = Application.class)
+public class GeneratePostgreSQLContainerConfigTest {
+
+    @Autowired(required = false)
+    private DataGenerator dataGenerator;
+
+    @Autowired(required = false)
+    private DataSource dataSource;
+
+    @Autowired(required = false)
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Test
+    @Order(1)
+    void dataGenerator_initialized() {
+        // given the application is initialized
+        // and the 'generate' profile is active
+        // then the generator is initialized
+        assertNotNull(dataGenerator);
+    }
+
+    @Test
+    @Order(2)
+    void generatedTables_filled() throws SQLException {
+        // given the application is initialized
+        // and the 'generate' profile is active
+        // and 'pedal_model' references 'manufacturer', although it is configured first
+        // then both tables were filled with the configured number of rows
+        assertEquals(50, count("SELECT count(*) FROM manufacturer"));
+        assertEquals(100000, count("SELECT count(*) FROM pedal_model"));
+        // and the values follow the configured distributions
+        assertEquals(100000, count("SELECT max(id) FROM pedal_model"));
+        assertTrue(count("SELECT count(DISTINCT name) FROM pedal_model") <= 1000);
+        assertEquals(0, count("SELECT count(*) FROM pedal_model WHERE length(name) <> 24"));
+        assertEquals(0, count("SELECT count(*) FROM manufacturer "
+                + "WHERE name NOT IN ('Electro-Harmonix', 'Strymon', 'Catalinbread')"));
+        // and the index dropped while filling was recreated
+        assertEquals(1, count("SELECT count(*) FROM pg_indexes WHERE indexname = 'pedal_model_manufacturer_id_idx'"));
+    }
+
+    @Test
+    @Order(3)
+    void guitarPedalRepository_initialized_dataAccessible() {
+        // given the application is initialized
+        // and the 'generate' profile is active
+        // and three pedals were inserted when data.sql was executed
+        // then the database contains the three pedals
+        assertNotNull(guitarPedalRepository);
+        assertEquals(3, guitarPedalRepository.count());
+    }
+
+    private long count(final String query) throws SQLException {
+        try (final var connection = dataSource.getConnection();
+             final var statement = connection.createStatement();
+             final var resultSet = statement.executeQuery(query)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    @Test
+    @Order(4)
+    void dataGenerator_invalidBatchSize_refused() {
+        // given a table configured with a batch size of 0, which would never finish
+        final var properties = new DataGeneratorProperties();
+        final var settings = new DataGeneratorProperties.Table();
+        settings.setRows(10);
+        settings.setBatchSize(0);
+        settings.getColumns().put("id", "sequence");
+        properties.getTables().put("pedal", settings);
+        // when the rows are generated
+        // then generating is refused before it starts, naming the property
+        final var e = assertThrows(IllegalStateException.class,
+                () -> new DataGenerator(null, null, properties).generate());
+        assertTrue(e.getMessage().contains("generate.tables.pedal.batch-size"));
+    }
+}
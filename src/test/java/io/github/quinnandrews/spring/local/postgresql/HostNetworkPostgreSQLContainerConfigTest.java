@@ -0,0 +1,154 @@
+package io.github.quinnandrews.spring.local.postgresql;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.quinnandrews.spring.local.postgresql.application.Application;
+import io.github.quinnandrews.spring.local.postgresql.application.data.guitarpedals.repository.GuitarPedalRepository;
+import io.github.quinnandrews.spring.local.postgresql.config.LocalPostgreSQLContainer;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.ServerSocket;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DirtiesContext
+@ActiveProfiles("host")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = Application.class)
+public class HostNetworkPostgreSQLContainerConfigTest {
+
+    @Autowired(required = false)
+    private LocalPostgreSQLContainer postgreSQLContainer;
+
+    @Autowired(required = false)
+    private DataSource dataSource;
+
+    @Autowired(required = false)
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Test
+    @Order(1)
+    void container_initialized() {
+        // given the application is initialized
+        // and the 'host' profile is active
+        // then the container is running
+        assertNotNull(postgreSQLContainer);
+        assertTrue(postgreSQLContainer.isRunning());
+        // and, if host networking is available, postgres listens on the host port directly
+        if (postgreSQLContainer.isHostNetwork()) {
+            assertEquals("host", postgreSQLContainer.getNetworkMode());
+            assertEquals(String.valueOf(postgreSQLContainer.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT)),
+                    postgreSQLContainer.getServerSettings().get("port"));
+        }
+    }
+
+    @Test
+    @Order(2)
+    void dataSource_initialized() {
+        // given the application is initialized
+        // and the 'host' profile is active
+        // then the datasource is initialized
+        assertNotNull(dataSource);
+        final var hikariDataSource = (HikariDataSource) dataSource;
+        assertTrue(hikariDataSource.isRunning());
+        // and the datasource matches the container
+        assertEquals(postgreSQLContainer.getJdbcUrl(), hikariDataSource.getJdbcUrl());
+    }
+
+    @Test
+    @Order(3)
+    void guitarPedalRepository_initialized_dataAccessible() {
+        // given the application is initialized
+        // and the 'host' profile is active
+        // and three pedals were inserted when data.sql was executed
+        // then the database contains the three pedals
+        assertNotNull(guitarPedalRepository);
+        assertEquals(3, guitarPedalRepository.count());
+    }
+
+    @Test
+    @Order(4)
+    void container_reusedWithoutPort_refused() {
+        // given host networking is available
+        assumeTrue(postgreSQLContainer.isHostNetwork());
+        // when an application context reuses a container on the host network without a fixed port
+        // then it is refused, since a free port would create a new container on every run
+        final var e = assertThrows(Exception.class, () -> hostContext("spring.local.postgresql.container.reuse=true")
+                .close());
+        assertTrue(rootCause(e).getMessage().contains("spring.local.postgresql.container.port"));
+    }
+
+    @Test
+    @Order(5)
+    void container_reusedWithPort_attachedTo() throws IOException {
+        // given host networking is available
+        assumeTrue(postgreSQLContainer.isHostNetwork());
+        // and reuse is supported by the environment
+        final var userProperties = TestcontainersConfiguration.getInstance().getUserProperties();
+        final var supportsReuse = userProperties.getProperty("testcontainers.reuse.enable");
+        userProperties.setProperty("testcontainers.reuse.enable", "true");
+        final int port;
+        try (final var socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        LocalPostgreSQLContainer container = null;
+        try {
+            // when an application context reuses a container on the host network with a fixed port
+            try (final var first = hostContext("spring.local.postgresql.container.reuse=true",
+                    "spring.local.postgresql.container.port=" + port)) {
+                container = first.getBean(LocalPostgreSQLContainer.class);
+                assertEquals(String.valueOf(port), container.getServerSettings().get("port"));
+            }
+            // and another application context with the same configuration is started
+            try (final var second = hostContext("spring.local.postgresql.container.reuse=true",
+                    "spring.local.postgresql.container.port=" + port)) {
+                // then it attaches to the same container
+                assertEquals(container.getContainerId(),
+                        second.getBean(LocalPostgreSQLContainer.class).getContainerId());
+            }
+        } finally {
+            if (supportsReuse == null) {
+                userProperties.remove("testcontainers.reuse.enable");
+            } else {
+                userProperties.setProperty("testcontainers.reuse.enable", supportsReuse);
+            }
+            // no longer reused, so it is stopped
+            if (container != null) {
+                container.stop();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext hostContext(final String... properties) {
+        return new SpringApplicationBuilder(Application.class)
+                .profiles("host")
+                .properties(properties)
+                // schema.sql would fail in a container attached to again.
+                .properties("spring.sql.init.mode=never",
+                        "spring.jpa.hibernate.ddl-auto=none")
+                .web(WebApplicationType.NONE)
+                .run();
+    }
+
+    private static Throwable rootCause(final Throwable throwable) {
+        var cause = throwable;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
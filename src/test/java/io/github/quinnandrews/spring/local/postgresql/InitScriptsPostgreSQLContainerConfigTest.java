@@ -0,0 +1,129 @@
+package io.github.quinnandrews.spring.local.postgresql;
+
+import io.github.quinnandrews.spring.local.postgresql.application.Application;
+import io.github.quinnandrews.spring.local.postgresql.application.data.guitarpedals.repository.GuitarPedalRepository;
+import io.github.quinnandrews.spring.local.postgresql.config.LocalPostgreSQLContainer;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext
+@ActiveProfiles("initscripts")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = Application.class)
+public class InitScriptsPostgreSQLContainerConfigTest {
+
+    private static final String HISTORY = "SELECT string_agg(script || ' ' || checksum || ' ' || executed_at, ', ' "
+            + "ORDER BY script) FROM local_postgresql.init_script_history";
+
+    @Autowired(required = false)
+    private DataSource dataSource;
+
+    @Autowired(required = false)
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Test
+    @Order(1)
+    void initScripts_executedInOrder() throws SQLException {
+        // given the application is initialized
+        // and the 'initscripts' profile is active
+        // then 'data/init.sql' was executed
+        final var users = guitarPedalRepository.getPostgreSQLUsers();
+        assertEquals(List.of("fuzz", "overdrive"), users);
+        // and the scripts matching 'data/init/*.sql' were executed in order, including
+        // the statement that cannot run in a transaction, the dollar-quoted block
+        // and the statement that returns a row
+        assertEquals("3", query(dataSource, "SELECT count(*) FROM pedal_brand"));
+        assertEquals("1", query(dataSource, "SELECT count(*) FROM pg_database WHERE datname = 'pedal_archive'"));
+        assertEquals("100", query(dataSource, "SELECT last_value FROM pedal_brand_id_seq"));
+        // and, since they are not incremental, nothing was recorded in the database
+        assertEquals("0", query(dataSource, "SELECT count(*) FROM pg_namespace WHERE nspname = 'local_postgresql'"));
+    }
+
+    @Test
+    @Order(2)
+    void initScripts_incremental_reusedContainer_unchangedSkipped() throws SQLException {
+        // given reuse is supported by the environment
+        final var userProperties = TestcontainersConfiguration.getInstance().getUserProperties();
+        final var supportsReuse = userProperties.getProperty("testcontainers.reuse.enable");
+        userProperties.setProperty("testcontainers.reuse.enable", "true");
+        LocalPostgreSQLContainer container = null;
+        try {
+            // when an application context with incremental init scripts creates a reused container
+            final String history;
+            try (final var first = incrementalContext()) {
+                container = first.getBean(LocalPostgreSQLContainer.class);
+                // then each script was recorded with its checksum
+                final var firstDataSource = first.getBean(DataSource.class);
+                assertEquals("4", query(firstDataSource, "SELECT count(*) FROM local_postgresql.init_script_history "
+                        + "WHERE length(checksum) = 64"));
+                history = query(firstDataSource, HISTORY);
+            }
+            // when another application context with the same configuration attaches to it
+            try (final var second = incrementalContext()) {
+                // then it is the same container
+                assertEquals(container.getContainerId(), second.getBean(LocalPostgreSQLContainer.class).getContainerId());
+                // and none of the scripts was executed again
+                final var secondDataSource = second.getBean(DataSource.class);
+                assertEquals(history, query(secondDataSource, HISTORY));
+                assertEquals("3", query(secondDataSource, "SELECT count(*) FROM pedal_brand"));
+            }
+        } finally {
+            if (supportsReuse == null) {
+                userProperties.remove("testcontainers.reuse.enable");
+            } else {
+                userProperties.setProperty("testcontainers.reuse.enable", supportsReuse);
+            }
+            // no longer reused, so it is stopped
+            if (container != null) {
+                container.stop();
+            }
+        }
+    }
+
+    @Test
+    @Order(3)
+    void guitarPedalRepository_initialized_dataAccessible() {
+        // given the application is initialized
+        // and the 'initscripts' profile is active
+        // and three pedals were inserted when data.sql was executed
+        // then the database contains the three pedals
+        assertNotNull(guitarPedalRepository);
+        assertEquals(3, guitarPedalRepository.count());
+    }
+
+    private static ConfigurableApplicationContext incrementalContext() {
+        return new SpringApplicationBuilder(Application.class)
+                .profiles("initscripts")
+                .properties("spring.local.postgresql.container.reuse=true",
+                        "spring.local.postgresql.database.init.incremental=true",
+                        "spring.sql.init.mode=never",
+                        "spring.jpa.hibernate.ddl-auto=none")
+                .web(WebApplicationType.NONE)
+                .run();
+    }
+
+    private static String query(final DataSource dataSource, final String query) throws SQLException {
+        try (final var connection = dataSource.getConnection();
+             final var statement = connection.createStatement();
+             final var resultSet = statement.executeQuery(query)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+}
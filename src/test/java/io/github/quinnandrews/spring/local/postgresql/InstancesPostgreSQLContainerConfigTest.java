@@ -0,0 +1,114 @@
+package io.github.quinnandrews.spring.local.postgresql;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.quinnandrews.spring.local.postgresql.application.Application;
+import io.github.quinnandrews.spring.local.postgresql.config.PostgreSQLInstances;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext
+@ActiveProfiles("instances")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = Application.class)
+public class InstancesPostgreSQLContainerConfigTest {
+
+    @Autowired(required = false)
+    private PostgreSQLContainer<?> postgreSQLContainer;
+
+    @Autowired(required = false)
+    private PostgreSQLInstances postgreSQLInstances;
+
+    @Autowired(required = false)
+    private DataSource dataSource;
+
+    @Autowired(required = false)
+    @Qualifier("shard1")
+    private DataSource shard1DataSource;
+
+    @Autowired(required = false)
+    @Qualifier("shard2")
+    private DataSource shard2DataSource;
+
+    @Autowired(required = false)
+    @Qualifier("shard2")
+    private JdbcConnectionDetails shard2ConnectionDetails;
+
+    @Test
+    @Order(1)
+    void instances_initialized() {
+        // given the application is initialized
+        // and the 'instances' profile is active
+        // then both instances are running, next to the main container
+        assertNotNull(postgreSQLContainer);
+        assertTrue(postgreSQLContainer.isRunning());
+        assertNotNull(postgreSQLInstances);
+        assertEquals(Set.of("shard1", "shard2"), postgreSQLInstances.getNames());
+        assertTrue(postgreSQLInstances.getContainer("shard1").isRunning());
+        assertTrue(postgreSQLInstances.getContainer("shard2").isRunning());
+        // and each has connection details of its own
+        assertNotNull(shard2ConnectionDetails);
+        assertEquals(postgreSQLInstances.getContainer("shard2").getJdbcUrl(), shard2ConnectionDetails.getJdbcUrl());
+    }
+
+    @Test
+    @Order(2)
+    void dataSources_initialized_connectToTheirInstances() throws SQLException {
+        // given the application is initialized
+        // and the 'instances' profile is active
+        // then the unqualified datasource connects to the main database
+        assertEquals("pedals", currentDatabase(dataSource));
+        // and the qualified datasources connect to the database of their instance
+        assertEquals("pedals_shard1", currentDatabase(shard1DataSource));
+        assertEquals("pedals_shard2", currentDatabase(shard2DataSource));
+        // and the init script of the second instance was executed in it only
+        assertEquals(2, count(shard2DataSource, "SELECT count(*) FROM pedal_brand"));
+        assertEquals(0, count(shard1DataSource,
+                "SELECT count(*) FROM information_schema.tables WHERE table_name = 'pedal_brand'"));
+    }
+
+    @Test
+    @Order(3)
+    void connectionPools_onlyApplicationPoolSized() {
+        // given the application is initialized
+        // and the 'instances' profile is active
+        // and the connection pool is sized automatically
+        // then the application's own pool is sized
+        assertEquals(4, ((HikariDataSource) dataSource).getMaximumPoolSize());
+        // and the pools of the instances are left alone, since they connect to containers of their own
+        assertEquals(10, ((HikariDataSource) shard1DataSource).getMaximumPoolSize());
+        assertEquals(10, ((HikariDataSource) shard2DataSource).getMaximumPoolSize());
+    }
+
+    private String currentDatabase(final DataSource dataSource) throws SQLException {
+        try (final var connection = dataSource.getConnection();
+             final var statement = connection.createStatement();
+             final var resultSet = statement.executeQuery("SELECT current_database()")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private long count(final DataSource dataSource, final String query) throws SQLException {
+        try (final var connection = dataSource.getConnection();
+             final var statement = connection.createStatement();
+             final var resultSet = statement.executeQuery(query)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
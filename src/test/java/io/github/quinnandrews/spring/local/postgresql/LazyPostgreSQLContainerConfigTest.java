@@ -0,0 +1,95 @@
+package io.github.quinnandrews.spring.local.postgresql;
+
+import io.github.quinnandrews.spring.local.postgresql.application.Application;
+import io.github.quinnandrews.spring.local.postgresql.config.LazyStartDataSource;
+import io.github.quinnandrews.spring.local.postgresql.config.LocalPostgreSQLContainer;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext
+@ActiveProfiles("lazy")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = Application.class)
+public class LazyPostgreSQLContainerConfigTest {
+
+    @Autowired(required = false)
+    private LocalPostgreSQLContainer postgreSQLContainer;
+
+    @Autowired(required = false)
+    private JdbcConnectionDetails jdbcConnectionDetails;
+
+    @Test
+    @Order(1)
+    void container_initialized_notStarted() {
+        // given the application is initialized
+        // and the 'lazy' profile is active
+        // and nothing has used the database
+        // then the container is created, but not started
+        assertNotNull(postgreSQLContainer);
+        assertFalse(postgreSQLContainer.isRunning());
+        assertTrue(postgreSQLContainer.getStartupPhases().isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    void container_firstUse_startedOnce() {
+        // given the application is initialized
+        // and the 'lazy' profile is active
+        // when several threads read the JDBC URL at once
+        final var jdbcUrls = IntStream.range(0, 4)
+                .mapToObj(i -> CompletableFuture.supplyAsync(jdbcConnectionDetails::getJdbcUrl))
+                .map(CompletableFuture::join)
+                .distinct()
+                .toList();
+        // then the container is started once, and they all get its URL
+        assertTrue(postgreSQLContainer.isRunning());
+        assertEquals(1, jdbcUrls.size());
+        assertEquals(postgreSQLContainer.getJdbcUrl(), jdbcUrls.get(0));
+    }
+
+    @Test
+    @Order(3)
+    void dataSource_created_containerNotStarted() throws SQLException {
+        // given an application with a DataSource is initialized
+        // and the 'lazy' profile is active
+        try (final var context = new SpringApplicationBuilder(Application.class)
+                .profiles("lazy")
+                .properties("spring.autoconfigure.exclude="
+                        + "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.sql.init.SqlInitializationAutoConfiguration")
+                .web(WebApplicationType.NONE)
+                .run()) {
+            final var container = context.getBean(LocalPostgreSQLContainer.class);
+            final var dataSource = context.getBean(DataSource.class);
+            // then the DataSource is created, but the container is not started
+            assertInstanceOf(LazyStartDataSource.class, dataSource);
+            assertFalse(((LazyStartDataSource) dataSource).isStarted());
+            assertFalse(container.isRunning());
+            assertTrue(container.getStartupPhases().isEmpty());
+            // when a connection is first opened
+            try (final var connection = dataSource.getConnection()) {
+                // then the container is started, and the connection is to it
+                assertTrue(container.isRunning());
+                assertTrue(connection.isValid(1));
+                assertEquals(container.getDatabaseName(), connection.getCatalog());
+            }
+        }
+    }
+}
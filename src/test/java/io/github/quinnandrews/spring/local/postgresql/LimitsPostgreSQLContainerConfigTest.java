@@ -0,0 +1,65 @@
+package io.github.quinnandrews.spring.local.postgresql;
+
+import io.github.quinnandrews.spring.local.postgresql.application.Application;
+import io.github.quinnandrews.spring.local.postgresql.config.LocalPostgreSQLContainer;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext
+@ActiveProfiles("limits")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = Application.class)
+public class LimitsPostgreSQLContainerConfigTest {
+
+    @Autowired(required = false)
+    private LocalPostgreSQLContainer postgreSQLContainer;
+
+    @Autowired(required = false)
+    private DataSource dataSource;
+
+    @Test
+    @Order(1)
+    void container_initialized_limited() {
+        // given the application is initialized
+        // and the 'limits' profile is active
+        // then the container is limited to 1.5 CPUs, 512MB of memory and 256MB of shared memory
+        assertNotNull(postgreSQLContainer);
+        final var hostConfig = postgreSQLContainer.getContainerInfo().getHostConfig();
+        assertEquals(1_500_000_000L, hostConfig.getNanoCPUs());
+        assertEquals(512L * 1024 * 1024, hostConfig.getMemory());
+        assertEquals(512L * 1024 * 1024, hostConfig.getMemorySwap());
+        assertEquals(256L * 1024 * 1024, hostConfig.getShmSize());
+    }
+
+    @Test
+    @Order(2)
+    void serverSettings_derivedFromMemoryLimit() throws SQLException {
+        // given the application is initialized
+        // and the 'limits' profile is active
+        // then the memory settings are derived from the memory limit
+        assertEquals("128MB", show("shared_buffers"));
+        assertEquals("384MB", show("effective_cache_size"));
+        assertEquals("32MB", show("maintenance_work_mem"));
+        assertEquals("1310kB", show("work_mem"));
+    }
+
+    private String show(final String setting) throws SQLException {
+        try (final var connection = dataSource.getConnection();
+             final var statement = connection.createStatement();
+             final var resultSet = statement.executeQuery("SHOW " + setting)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.quinnandrews.spring.local.postgresql;
+
+import io.github.quinnandrews.spring.local.postgresql.application.Application;
+import io.github.quinnandrews.spring.local.postgresql.application.data.guitarpedals.repository.GuitarPedalRepository;
+import io.github.quinnandrews.spring.local.postgresql.config.ContainerLogPipeline;
+import io.github.quinnandrews.spring.local.postgresql.config.PostgreSQLLogEvent;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext
+@ActiveProfiles("log")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = Application.class)
+public class LogPostgreSQLContainerConfigTest {
+
+    @Autowired(required = false)
+    private ContainerLogPipeline containerLogPipeline;
+
+    @Autowired(required = false)
+    private DataSource dataSource;
+
+    @Autowired(required = false)
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Test
+    @Order(1)
+    void containerLogPipeline_initialized() {
+        // given the application is initialized
+        // and the 'log' profile is active
+        // then the log pipeline is initialized
+        assertNotNull(containerLogPipeline);
+        assertEquals(0, containerLogPipeline.getDroppedLines());
+    }
+
+    @Test
+    @Order(2)
+    void containerLogPipeline_errorParsed() throws Exception {
+        // given the application is initialized
+        // and the 'log' profile is active
+        final var events = new CopyOnWriteArrayList<PostgreSQLLogEvent>();
+        containerLogPipeline.addListener(events::add);
+        // when a statement fails
+        try (final var connection = dataSource.getConnection();
+             final var statement = connection.createStatement()) {
+            statement.execute("SELECT * FROM no_such_pedal");
+            fail("The statement should fail.");
+        } catch (final SQLException e) {
+            // expected
+        }
+        // then the error and the statement that caused it are parsed from the log
+        final var deadline = System.nanoTime() + 10_000_000_000L;
+        while (events.stream().noneMatch(event -> "STATEMENT".equals(event.severity()))
+                && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(events.stream().anyMatch(event -> "ERROR".equals(event.severity())
+                && event.message().contains("no_such_pedal")));
+        assertTrue(events.stream().anyMatch(event -> "STATEMENT".equals(event.severity())
+                && "SELECT * FROM no_such_pedal".equals(event.statement())));
+    }
+
+    @Test
+    @Order(3)
+    void postgreSQLLogEvent_durationAndStatementParsed() {
+        // given a line logged with 'log_min_duration_statement'
+        final var event = PostgreSQLLogEvent.parse(
+                "2024-01-01 12:00:00.000 UTC [63] LOG:  duration: 12.345 ms  statement: SELECT 1");
+        // then its severity, duration and statement are parsed
+        assertEquals("LOG", event.severity());
+        assertEquals(12.345, event.durationMillis());
+        assertEquals("SELECT 1", event.statement());
+    }
+
+    @Test
+    @Order(4)
+    void guitarPedalRepository_initialized_dataAccessible() {
+        // given the application is initialized
+        // and the 'log' profile is active
+        // and three pedals were inserted when data.sql was executed
+        // then the database contains the three pedals
+        assertNotNull(guitarPedalRepository);
+        assertEquals(3, guitarPedalRepository.count());
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.quinnandrews.spring.local.postgresql;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.quinnandrews.spring.local.postgresql.application.Application;
+import io.github.quinnandrews.spring.local.postgresql.application.data.guitarpedals.repository.GuitarPedalRepository;
+import io.github.quinnandrews.spring.local.postgresql.config.PgBouncerContainer;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext
+@ActiveProfiles("pgbouncer")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = Application.class)
+public class PgBouncerPostgreSQLContainerConfigTest {
+
+    @Autowired(required = false)
+    private PostgreSQLContainer<?> postgreSQLContainer;
+
+    @Autowired(required = false)
+    private PgBouncerContainer pgBouncerContainer;
+
+    @Autowired(required = false)
+    private DataSource dataSource;
+
+    @Autowired(required = false)
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Test
+    @Order(1)
+    void containers_initialized() {
+        // given the application is initialized
+        // and the 'pgbouncer' profile is active
+        // then both containers are running
+        assertNotNull(postgreSQLContainer);
+        assertTrue(postgreSQLContainer.isRunning());
+        assertNotNull(pgBouncerContainer);
+        assertTrue(pgBouncerContainer.isRunning());
+        // and share a network
+        assertNotNull(postgreSQLContainer.getNetwork());
+        assertEquals(postgreSQLContainer.getNetwork(), pgBouncerContainer.getNetwork());
+    }
+
+    @Test
+    @Order(2)
+    void dataSource_initialized_connectsThroughPgBouncer() {
+        // given the application is initialized
+        // and the 'pgbouncer' profile is active
+        // then the datasource connects through pgbouncer
+        assertNotNull(dataSource);
+        final var hikariDataSource = (HikariDataSource) dataSource;
+        assertEquals(pgBouncerContainer.getJdbcUrl("pedals"), hikariDataSource.getJdbcUrl());
+        assertEquals(postgreSQLContainer.getUsername(), hikariDataSource.getUsername());
+    }
+
+    @Test
+    @Order(3)
+    void guitarPedalRepository_initialized_dataAccessible() {
+        // given the application is initialized
+        // and the 'pgbouncer' profile is active
+        // and three pedals were inserted when data.sql was executed
+        // then the database contains the three pedals
+        assertNotNull(guitarPedalRepository);
+        assertEquals(3, guitarPedalRepository.count());
+        // and pgbouncer reports its pools
+        assertTrue(pgBouncerContainer.getPoolStatistics().containsKey("sv_idle")
+                || pgBouncerContainer.getPoolStatistics().containsKey("sv_active"));
+    }
+}
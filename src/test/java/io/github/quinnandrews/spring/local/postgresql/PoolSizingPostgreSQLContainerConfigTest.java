@@ -0,0 +1,94 @@
+package io.github.quinnandrews.spring.local.postgresql;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.quinnandrews.spring.local.postgresql.application.Application;
+import io.github.quinnandrews.spring.local.postgresql.application.data.guitarpedals.repository.GuitarPedalRepository;
+import io.github.quinnandrews.spring.local.postgresql.config.ConnectionPoolSizing;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext
+@ActiveProfiles("poolsizing")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = Application.class)
+public class PoolSizingPostgreSQLContainerConfigTest {
+
+    @Autowired(required = false)
+    private ConnectionPoolSizing connectionPoolSizing;
+
+    @Autowired(required = false)
+    private DataSource dataSource;
+
+    @Autowired(required = false)
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Test
+    @Order(1)
+    void connectionPoolSizing_initialized() {
+        // given the application is initialized
+        // and the 'poolsizing' profile is active
+        // then a pool size was recommended
+        assertNotNull(connectionPoolSizing);
+        // and it fits within the connections PostgreSQL can accept
+        assertTrue(connectionPoolSizing.getMaximumPoolSize() >= 1);
+        assertTrue(connectionPoolSizing.getMaximumPoolSize() <= connectionPoolSizing.getMaxConnections());
+        assertTrue(connectionPoolSizing.getMaximumPoolSize() <= connectionPoolSizing.getCpus() * 2 + 1);
+        // and the overridden minimum idle count is used
+        assertEquals(2, connectionPoolSizing.getMinimumIdle());
+    }
+
+    @Test
+    @Order(2)
+    void dataSource_initialized_sized() {
+        // given the application is initialized
+        // and the 'poolsizing' profile is active
+        // then the datasource is sized as recommended
+        assertNotNull(dataSource);
+        final var hikariDataSource = (HikariDataSource) dataSource;
+        assertEquals(connectionPoolSizing.getMaximumPoolSize(), hikariDataSource.getMaximumPoolSize());
+        assertEquals(2, hikariDataSource.getMinimumIdle());
+        assertEquals(ConnectionPoolSizing.DEFAULT_CONNECTION_TIMEOUT.toMillis(), hikariDataSource.getConnectionTimeout());
+    }
+
+    @Test
+    @Order(3)
+    void guitarPedalRepository_initialized_dataAccessible() {
+        // given the application is initialized
+        // and the 'poolsizing' profile is active
+        // and three pedals were inserted when data.sql was executed
+        // then the database contains the three pedals
+        assertNotNull(guitarPedalRepository);
+        assertEquals(3, guitarPedalRepository.count());
+    }
+
+    @Test
+    @Order(4)
+    void dataSource_relaxedHikariSetting_leftAlone() {
+        // given the application is initialized
+        // and the 'poolsizing' profile is active
+        // when another application context sets the maximum pool size in camel case
+        try (final var other = new SpringApplicationBuilder(Application.class)
+                .profiles("poolsizing")
+                .properties("spring.datasource.hikari.maximumPoolSize=7")
+                .web(WebApplicationType.NONE)
+                .run()) {
+            // then the explicit setting is left alone
+            final var hikariDataSource = (HikariDataSource) other.getBean(DataSource.class);
+            assertEquals(7, hikariDataSource.getMaximumPoolSize());
+            // and the settings not set explicitly are still sized
+            assertEquals(2, hikariDataSource.getMinimumIdle());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.github.quinnandrews.spring.local.postgresql;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.quinnandrews.spring.local.postgresql.application.Application;
+import io.github.quinnandrews.spring.local.postgresql.application.data.guitarpedals.repository.GuitarPedalRepository;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext
+@ActiveProfiles("readiness")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = Application.class)
+public class ReadinessPostgreSQLContainerConfigTest {
+
+    @Autowired(required = false)
+    private PostgreSQLContainer<?> postgreSQLContainer;
+
+    @Autowired(required = false)
+    private DataSource dataSource;
+
+    @Autowired(required = false)
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Test
+    @Order(1)
+    void container_initialized() {
+        // given the application is initialized
+        // and the 'readiness' profile is active
+        // and readiness was detected with a JDBC probe
+        // then the container is running
+        assertNotNull(postgreSQLContainer);
+        assertTrue(postgreSQLContainer.isRunning());
+        // and matches the 'readiness' configuration
+        assertEquals("postgres:15", postgreSQLContainer.getDockerImageName());
+        assertEquals("pedals", postgreSQLContainer.getDatabaseName());
+    }
+
+    @Test
+    @Order(2)
+    void dataSource_initialized() {
+        // given the application is initialized
+        // and the 'readiness' profile is active
+        // then the datasource is initialized
+        assertNotNull(dataSource);
+        final var hikariDataSource = (HikariDataSource) dataSource;
+        assertTrue(hikariDataSource.isRunning());
+        // and the datasource matches the container
+        assertEquals(postgreSQLContainer.getJdbcUrl(), hikariDataSource.getJdbcUrl());
+        assertEquals(postgreSQLContainer.getUsername(), hikariDataSource.getUsername());
+        assertEquals(postgreSQLContainer.getPassword(), hikariDataSource.getPassword());
+    }
+
+    @Test
+    @Order(3)
+    void guitarPedalRepository_initialized_dataAccessible() {
+        // given the application is initialized
+        // and the 'readiness' profile is active
+        // and three pedals were inserted when data.sql was executed
+        // then the database contains the three pedals
+        assertNotNull(guitarPedalRepository);
+        assertEquals(3, guitarPedalRepository.count());
+    }
+}
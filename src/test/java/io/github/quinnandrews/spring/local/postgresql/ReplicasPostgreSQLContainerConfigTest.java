@@ -0,0 +1,112 @@
+package io.github.quinnandrews.spring.local.postgresql;
+
+import io.github.quinnandrews.spring.local.postgresql.application.Application;
+import io.github.quinnandrews.spring.local.postgresql.application.data.guitarpedals.repository.GuitarPedalRepository;
+import io.github.quinnandrews.spring.local.postgresql.config.ReadReplicaRoutingDataSource;
+import io.github.quinnandrews.spring.local.postgresql.config.ReadReplicas;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.util.HashSet;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext
+@ActiveProfiles("replicas")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = Application.class)
+public class ReplicasPostgreSQLContainerConfigTest {
+
+    @Autowired(required = false)
+    private PostgreSQLContainer<?> postgreSQLContainer;
+
+    @Autowired(required = false)
+    private ReadReplicas readReplicas;
+
+    @Autowired(required = false)
+    private DataSource dataSource;
+
+    @Autowired(required = false)
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired(required = false)
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired(required = false)
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Test
+    @Order(1)
+    void containers_initialized() {
+        // given the application is initialized
+        // and the 'replicas' profile is active
+        // then the primary and both replicas are running
+        assertNotNull(postgreSQLContainer);
+        assertTrue(postgreSQLContainer.isRunning());
+        assertNotNull(readReplicas);
+        assertEquals(2, readReplicas.getReplicas().size());
+        readReplicas.getReplicas().forEach(replica -> {
+            assertTrue(replica.isRunning());
+            // and share a network with the primary
+            assertEquals(postgreSQLContainer.getNetwork(), replica.getNetwork());
+        });
+    }
+
+    @Test
+    @Order(2)
+    void dataSource_initialized_routesToReplicas() {
+        // given the application is initialized
+        // and the 'replicas' profile is active
+        // then the datasource routes between the primary and the replicas
+        assertInstanceOf(ReadReplicaRoutingDataSource.class, dataSource);
+        // and read-write transactions go to the primary
+        assertFalse(inTransaction(false, () -> jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()",
+                Boolean.class)));
+        // and read-only transactions go to the replicas, round-robin
+        final var servers = new HashSet<String>();
+        for (int i = 0; i < 4; i++) {
+            assertTrue(inTransaction(true, () -> jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()",
+                    Boolean.class)));
+            servers.add(inTransaction(true, () -> jdbcTemplate.queryForObject("SELECT inet_server_addr()::text",
+                    String.class)));
+        }
+        assertEquals(2, servers.size());
+    }
+
+    @Test
+    @Order(3)
+    void guitarPedalRepository_initialized_dataReplicated() throws InterruptedException {
+        // given the application is initialized
+        // and the 'replicas' profile is active
+        // and three pedals were inserted when data.sql was executed
+        // then the pedals are replicated, once the replicas have caught up
+        long count = 0;
+        for (int attempt = 0; attempt < 50 && count != 3; attempt++) {
+            count = inTransaction(true, guitarPedalRepository::count);
+            if (count != 3) {
+                Thread.sleep(200);
+            }
+        }
+        assertEquals(3, count);
+        // and the replication lag is reported
+        readReplicas.getReplicas().forEach(replica -> assertTrue(replica.getReplicationLag() >= 0));
+    }
+
+    private <T> T inTransaction(final boolean readOnly, final Supplier<T> work) {
+        final var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> work.get());
+    }
+}
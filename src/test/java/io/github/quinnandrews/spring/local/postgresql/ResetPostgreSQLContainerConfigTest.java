@@ -0,0 +1,111 @@
+package io.github.quinnandrews.spring.local.postgresql;
+
+import io.github.quinnandrews.spring.local.postgresql.application.Application;
+import io.github.quinnandrews.spring.local.postgresql.application.data.guitarpedals.repository.GuitarPedalRepository;
+import io.github.quinnandrews.spring.local.postgresql.config.DatabaseReset;
+import io.github.quinnandrews.spring.local.postgresql.junit.ResetDatabase;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ResetDatabase
+@DirtiesContext
+@ActiveProfiles("reset")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = Application.class)
+public class ResetPostgreSQLContainerConfigTest {
+
+    @Autowired(required = false)
+    private DatabaseReset databaseReset;
+
+    @Autowired(required = false)
+    private DataSource dataSource;
+
+    @Autowired(required = false)
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Test
+    @Order(1)
+    void databaseReset_initialized() {
+        // given the application is initialized
+        // and the 'reset' profile is active
+        // then the database reset is initialized
+        assertNotNull(databaseReset);
+    }
+
+    @Test
+    @Order(2)
+    void guitarPedals_modified() throws SQLException {
+        // given the application is initialized
+        // and the 'reset' profile is active
+        // when a test deletes and inserts pedals
+        execute("DELETE FROM guitar_pedal WHERE id = 1");
+        execute("INSERT INTO guitar_pedal (id, name) VALUES (4, 'Boss DS-1 Distortion')");
+        // then the table is marked as written to
+        assertEquals(3, guitarPedalRepository.count());
+        assertEquals(1, count("SELECT count(*) FROM local_postgresql.dirty_table"));
+    }
+
+    @Test
+    @Order(3)
+    void guitarPedals_reset() throws SQLException {
+        // given the application is initialized
+        // and the 'reset' profile is active
+        // and the previous test deleted and inserted pedals
+        // then the pedals inserted when data.sql was executed have been restored
+        assertEquals(3, guitarPedalRepository.count());
+        assertTrue(guitarPedalRepository.existsById(1L));
+        assertFalse(guitarPedalRepository.existsById(4L));
+        // and no table is marked as written to anymore
+        assertEquals(0, count("SELECT count(*) FROM local_postgresql.dirty_table"));
+    }
+
+    @Test
+    @Order(4)
+    void databaseReset_untrackedReferencingTable_refused() throws SQLException {
+        // given the application is initialized
+        // and the 'reset' profile is active
+        // and a table referencing the pedals was created after tracking was installed
+        execute("CREATE TABLE pedal_review (id BIGINT PRIMARY KEY, "
+                + "guitar_pedal_id BIGINT NOT NULL REFERENCES guitar_pedal (id))");
+        execute("INSERT INTO pedal_review (id, guitar_pedal_id) VALUES (1, 1)");
+        // when a test writes to the pedals
+        execute("UPDATE guitar_pedal SET name = 'Boss DS-1 Distortion' WHERE id = 2");
+        // then the reset is refused, since it would empty the untracked table
+        final var e = assertThrows(IllegalStateException.class, () -> databaseReset.reset());
+        assertTrue(e.getMessage().contains("public.pedal_review"));
+        // and the untracked table is left as it was
+        assertEquals(1, count("SELECT count(*) FROM pedal_review"));
+        // and once the untracked table is dropped, the pedals are reset
+        execute("DROP TABLE pedal_review");
+        assertEquals(1, databaseReset.reset());
+        assertEquals("Strymon Deco: Tape Saturation and Double Tracker",
+                guitarPedalRepository.findById(2L).orElseThrow().getName());
+    }
+
+    private void execute(final String sql) throws SQLException {
+        try (final var connection = dataSource.getConnection();
+             final var statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private long count(final String query) throws SQLException {
+        try (final var connection = dataSource.getConnection();
+             final var statement = connection.createStatement();
+             final var resultSet = statement.executeQuery(query)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
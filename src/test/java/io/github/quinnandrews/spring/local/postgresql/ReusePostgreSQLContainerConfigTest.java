@@ -0,0 +1,116 @@
+package io.github.quinnandrews.spring.local.postgresql;
+
+import io.github.quinnandrews.spring.local.postgresql.application.Application;
+import io.github.quinnandrews.spring.local.postgresql.application.data.guitarpedals.repository.GuitarPedalRepository;
+import io.github.quinnandrews.spring.local.postgresql.config.LocalPostgreSQLContainer;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext
+@ActiveProfiles("reuse")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = Application.class)
+public class ReusePostgreSQLContainerConfigTest {
+
+    @Autowired(required = false)
+    private LocalPostgreSQLContainer postgreSQLContainer;
+
+    @Autowired(required = false)
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Test
+    @Order(1)
+    void container_initialized_fingerprinted() {
+        // given the application is initialized
+        // and the 'reuse' profile is active
+        // and the container is initialized
+        assertNotNull(postgreSQLContainer);
+        assertTrue(postgreSQLContainer.isRunning());
+        // then the container is labelled with a fingerprint of its configuration
+        final var labels = postgreSQLContainer.getContainerInfo().getConfig().getLabels();
+        assertNotNull(labels.get("io.github.quinnandrews.spring.local.postgresql.fingerprint"));
+        assertEquals(64, labels.get("io.github.quinnandrews.spring.local.postgresql.fingerprint").length());
+    }
+
+    @Test
+    @Order(2)
+    void guitarPedalRepository_initialized_dataAccessible() {
+        // given the application is initialized
+        // and the 'reuse' profile is active
+        // and the container is initialized
+        // then the database contains the three pedals exactly once
+        assertNotNull(guitarPedalRepository);
+        assertEquals(3, guitarPedalRepository.count());
+    }
+
+    @Test
+    @Order(3)
+    void sqlInitScript_executedOnce() {
+        // given the application is initialized
+        // and the 'reuse' profile is active
+        // and the init scripts were executed when the container was created
+        // then the database contains both 'fuzz' and 'overdrive'
+        final var users = guitarPedalRepository.getPostgreSQLUsers();
+        assertEquals(2, users.size());
+        assertEquals("fuzz", users.get(0));
+        assertEquals("overdrive", users.get(1));
+    }
+
+    @Test
+    @Order(4)
+    void container_reusedByNextContext_notInitializedAgain() {
+        // given reuse is supported by the environment
+        final var userProperties = TestcontainersConfiguration.getInstance().getUserProperties();
+        final var supportsReuse = userProperties.getProperty("testcontainers.reuse.enable");
+        userProperties.setProperty("testcontainers.reuse.enable", "true");
+        LocalPostgreSQLContainer container = null;
+        try {
+            // when an application context creates a reusable container, and is closed
+            try (final var first = reuseContext()) {
+                container = first.getBean(LocalPostgreSQLContainer.class);
+                assertEquals(3, first.getBean(GuitarPedalRepository.class).count());
+            }
+            // then the container is left running
+            assertTrue(container.isRunning());
+            // and when another application context with the same configuration is started
+            try (final var second = reuseContext()) {
+                // then it attaches to the same container
+                final var reused = second.getBean(LocalPostgreSQLContainer.class);
+                assertEquals(container.getContainerId(), reused.getContainerId());
+                assertTrue(reused.isReused());
+                // and the init scripts did not run again, so the data is not duplicated
+                assertEquals(3, second.getBean(GuitarPedalRepository.class).count());
+                assertEquals(2, second.getBean(GuitarPedalRepository.class).getPostgreSQLUsers().size());
+            }
+        } finally {
+            if (supportsReuse == null) {
+                userProperties.remove("testcontainers.reuse.enable");
+            } else {
+                userProperties.setProperty("testcontainers.reuse.enable", supportsReuse);
+            }
+            // no longer reused, so it is stopped
+            if (container != null) {
+                container.stop();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext reuseContext() {
+        return new SpringApplicationBuilder(Application.class)
+                .profiles("reuse")
+                .web(WebApplicationType.NONE)
+                .run();
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.quinnandrews.spring.local.postgresql;
+
+import io.github.quinnandrews.spring.local.postgresql.application.Application;
+import io.github.quinnandrews.spring.local.postgresql.application.data.guitarpedals.repository.GuitarPedalRepository;
+import io.github.quinnandrews.spring.local.postgresql.config.DatabaseSeeder;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext
+@ActiveProfiles("seed")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = Application.class)
+public class SeedPostgreSQLContainerConfigTest {
+
+    @Autowired(required = false)
+    private DatabaseSeeder databaseSeeder;
+
+    @Autowired(required = false)
+    private DataSource dataSource;
+
+    @Autowired(required = false)
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Test
+    @Order(1)
+    void databaseSeeder_initialized() {
+        // given the application is initialized
+        // and the 'seed' profile is active
+        // then the seeder is initialized
+        assertNotNull(databaseSeeder);
+    }
+
+    @Test
+    @Order(2)
+    void seededTables_loaded() throws SQLException {
+        // given the application is initialized
+        // and the 'seed' profile is active
+        // and 'pedal_model' references 'manufacturer', although it is configured first
+        // then both tables were loaded from their files
+        assertEquals(3, count("SELECT count(*) FROM manufacturer"));
+        assertEquals(5, count("SELECT count(*) FROM pedal_model"));
+        // and the index dropped for the load was recreated
+        assertEquals(1, count("SELECT count(*) FROM pg_indexes WHERE indexname = 'pedal_model_manufacturer_id_idx'"));
+    }
+
+    @Test
+    @Order(3)
+    void guitarPedalRepository_initialized_dataAccessible() {
+        // given the application is initialized
+        // and the 'seed' profile is active
+        // and three pedals were inserted when data.sql was executed
+        // then the database contains the three pedals
+        assertNotNull(guitarPedalRepository);
+        assertEquals(3, guitarPedalRepository.count());
+    }
+
+    private long count(final String query) throws SQLException {
+        try (final var connection = dataSource.getConnection();
+             final var statement = connection.createStatement();
+             final var resultSet = statement.executeQuery(query)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.quinnandrews.spring.local.postgresql;
+
+import io.github.quinnandrews.spring.local.postgresql.application.Application;
+import io.github.quinnandrews.spring.local.postgresql.application.data.guitarpedals.repository.GuitarPedalRepository;
+import io.github.quinnandrews.spring.local.postgresql.config.ContainerLogPipeline;
+import io.github.quinnandrews.spring.local.postgresql.config.LocalPostgreSQLContainer;
+import io.github.quinnandrews.spring.local.postgresql.config.PostgreSQLLogEvent;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.SQLException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext
+@ActiveProfiles("shared")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = Application.class)
+public class SharedPostgreSQLContainerConfigTest {
+
+    @Autowired(required = false)
+    private LocalPostgreSQLContainer postgreSQLContainer;
+
+    @Autowired(required = false)
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Test
+    @Order(1)
+    void container_sharedWithOtherContext() {
+        // given the application is initialized
+        // and the 'shared' profile is active
+        assertNotNull(postgreSQLContainer);
+        assertTrue(postgreSQLContainer.isRunning());
+        // when another application context with the same configuration is started
+        try (final var other = new SpringApplicationBuilder(Application.class)
+                .profiles("shared")
+                .web(WebApplicationType.NONE)
+                .run()) {
+            // then it shares the running container
+            assertSame(postgreSQLContainer, other.getBean(LocalPostgreSQLContainer.class));
+            // and connects to a clone of its own
+            assertEquals(3, other.getBean(GuitarPedalRepository.class).count());
+        }
+        // and the container keeps running once the other context is closed
+        assertTrue(postgreSQLContainer.isRunning());
+    }
+
+    @Test
+    @Order(2)
+    void guitarPedalRepository_initialized_dataAccessible() {
+        // given the application is initialized
+        // and the 'shared' profile is active
+        // and three pedals were inserted when data.sql was executed
+        // then the database contains the three pedals
+        assertNotNull(guitarPedalRepository);
+        assertEquals(3, guitarPedalRepository.count());
+    }
+
+    @Test
+    @Order(3)
+    void container_logFollowedByLaterContext() throws Exception {
+        // given the application is initialized
+        // and the 'shared' profile is active, without following the container's log
+        // when another application context that follows the log is started
+        try (final var follower = new SpringApplicationBuilder(Application.class)
+                .profiles("shared")
+                .properties("spring.local.postgresql.container.log.follow=true")
+                .web(WebApplicationType.NONE)
+                .run()) {
+            // then it shares the running container
+            assertSame(postgreSQLContainer, follower.getBean(LocalPostgreSQLContainer.class));
+            final var events = new CopyOnWriteArrayList<PostgreSQLLogEvent>();
+            follower.getBean(ContainerLogPipeline.class).addListener(events::add);
+            // and when a statement fails
+            try (final var connection = postgreSQLContainer.openConnection("postgres");
+                 final var statement = connection.createStatement()) {
+                statement.execute("SELECT * FROM no_such_pedal");
+                fail("The statement should fail.");
+            } catch (final SQLException e) {
+                // expected
+            }
+            // then the error is passed on to its log pipeline
+            final var deadline = System.nanoTime() + 10_000_000_000L;
+            while (events.stream().noneMatch(event -> "ERROR".equals(event.severity()))
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            assertTrue(events.stream().anyMatch(event -> "ERROR".equals(event.severity())
+                    && event.message().contains("no_such_pedal")));
+        }
+        // and the container keeps running once the follower is closed
+        assertTrue(postgreSQLContainer.isRunning());
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.quinnandrews.spring.local.postgresql;
+
+import com.github.dockerjava.api.exception.NotFoundException;
+import io.github.quinnandrews.spring.local.postgresql.application.Application;
+import io.github.quinnandrews.spring.local.postgresql.config.ContainerSnapshot;
+import io.github.quinnandrews.spring.local.postgresql.config.LocalPostgreSQLContainer;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.DockerClientFactory;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext
+@ActiveProfiles("snapshot")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = Application.class)
+public class SnapshotPostgreSQLContainerConfigTest {
+
+    @Autowired(required = false)
+    private ContainerSnapshot containerSnapshot;
+
+    @Autowired(required = false)
+    private LocalPostgreSQLContainer postgreSQLContainer;
+
+    @Autowired(required = false)
+    private DataSource dataSource;
+
+    @Test
+    @Order(1)
+    void containerSnapshot_committed() throws SQLException {
+        // given the application is initialized
+        // and the 'snapshot' profile is active
+        // and the init scripts ran, or the container was started from an earlier snapshot
+        assertNotNull(containerSnapshot);
+        assertEquals(1, count(dataSource, "SELECT count(*) FROM init_script_run"));
+        // then the snapshot image exists once the application is ready
+        assertTrue(containerSnapshot.exists());
+    }
+
+    @Test
+    @Order(2)
+    void containerSnapshot_startedFrom_initializedWithoutScripts() throws SQLException {
+        // given the application is initialized
+        // and the 'snapshot' profile is active
+        // and the snapshot image was committed
+        // when another application context with the same configuration is started
+        try (final var other = new SpringApplicationBuilder(Application.class)
+                .profiles("snapshot")
+                .web(WebApplicationType.NONE)
+                .run()) {
+            // then its container is started from the snapshot image
+            final var container = other.getBean(LocalPostgreSQLContainer.class);
+            assertNotSame(postgreSQLContainer, container);
+            assertEquals(containerSnapshot.getImageName(), container.getDockerImageName());
+            // and holds the data of the init scripts, which did not run again
+            final var otherDataSource = other.getBean(DataSource.class);
+            assertEquals(1, count(otherDataSource, "SELECT count(*) FROM init_script_run"));
+            assertEquals(3, count(otherDataSource, "SELECT count(*) FROM guitar_pedal"));
+            // and the seeded tables, which were not loaded again
+            assertEquals(3, count(otherDataSource, "SELECT count(*) FROM manufacturer"));
+            assertEquals(5, count(otherDataSource, "SELECT count(*) FROM pedal_model"));
+        }
+    }
+
+    @Test
+    @Order(3)
+    void containerSnapshot_newCommitted_outdatedRemoved() {
+        // given the application is initialized
+        // and the 'snapshot' profile is active
+        // and an outdated snapshot image of another configuration exists
+        final var name = "snapshot-cleanup-" + UUID.randomUUID();
+        final var client = DockerClientFactory.instance().client();
+        final var outdated = client.commitCmd(postgreSQLContainer.getContainerId())
+                .withRepository(ContainerSnapshot.REPOSITORY)
+                .withTag("outdated-" + UUID.randomUUID())
+                .withLabels(Map.of(DockerClientFactory.TESTCONTAINERS_SESSION_ID_LABEL, "",
+                        ContainerSnapshot.NAME_LABEL, name))
+                .exec();
+        ContainerSnapshot committed = null;
+        try {
+            // when an application context of that configuration, with another fingerprint, is started
+            try (final var other = new SpringApplicationBuilder(Application.class)
+                    .profiles("snapshot")
+                    .properties("spring.local.postgresql.container.snapshot.name=" + name,
+                            "spring.local.postgresql.container.snapshot.resources=classpath:data/snapshot-init.sql")
+                    .web(WebApplicationType.NONE)
+                    .run()) {
+                committed = other.getBean(ContainerSnapshot.class);
+                // then its snapshot is committed
+                assertNotEquals(containerSnapshot.getImageName(), committed.getImageName());
+                assertTrue(committed.exists());
+                // and the outdated snapshot image of the same configuration is removed
+                assertTrue(client.listImagesCmd()
+                        .withLabelFilter(Map.of(ContainerSnapshot.NAME_LABEL, name))
+                        .exec()
+                        .stream()
+                        .noneMatch(image -> image.getId().equals(outdated)));
+                // but the snapshot of this configuration is not
+                assertTrue(containerSnapshot.exists());
+            }
+        } finally {
+            if (committed != null && committed.exists()) {
+                client.removeImageCmd(committed.getImageName()).exec();
+            }
+            try {
+                client.removeImageCmd(outdated).exec();
+            } catch (final NotFoundException e) {
+                // removed, as expected
+            }
+        }
+    }
+
+    private static long count(final DataSource dataSource,
+                              final String query) throws SQLException {
+        try (final var connection = dataSource.getConnection();
+             final var statement = connection.createStatement();
+             final var resultSet = statement.executeQuery(query)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
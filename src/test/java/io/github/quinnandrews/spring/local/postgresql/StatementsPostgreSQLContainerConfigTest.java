@@ -0,0 +1,109 @@
+package io.github.quinnandrews.spring.local.postgresql;
+
+import io.github.quinnandrews.spring.local.postgresql.application.Application;
+import io.github.quinnandrews.spring.local.postgresql.application.data.guitarpedals.repository.GuitarPedalRepository;
+import io.github.quinnandrews.spring.local.postgresql.config.StatementStatistics;
+import io.github.quinnandrews.spring.local.postgresql.junit.QueryBudget;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext
+@ActiveProfiles("statements")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = Application.class)
+public class StatementsPostgreSQLContainerConfigTest {
+
+    @Autowired(required = false)
+    private PostgreSQLContainer<?> postgreSQLContainer;
+
+    @Autowired(required = false)
+    private StatementStatistics statementStatistics;
+
+    @Autowired(required = false)
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Autowired(required = false)
+    private DataSource dataSource;
+
+    @Test
+    @Order(1)
+    void container_initialized() {
+        // given the application is initialized
+        // and the 'statements' profile is active
+        // then the container is running
+        assertNotNull(postgreSQLContainer);
+        assertTrue(postgreSQLContainer.isRunning());
+        // and pg_stat_statements is preloaded
+        assertTrue(String.join(" ", postgreSQLContainer.getCommandParts())
+                .contains("shared_preload_libraries=pg_stat_statements"));
+        // and the statement statistics are initialized
+        assertNotNull(statementStatistics);
+    }
+
+    @Test
+    @Order(2)
+    @QueryBudget(maxStatements = 1)
+    void guitarPedalRepository_count_withinBudget() {
+        // given the application is initialized
+        // and the 'statements' profile is active
+        // and the statistics were reset before this test
+        // when the pedals are counted
+        assertEquals(3, guitarPedalRepository.count());
+        // then the count is the only statement executed
+        final var entries = statementStatistics.collect();
+        assertEquals(1, entries.size());
+        assertEquals(1, entries.get(0).calls());
+        assertTrue(entries.get(0).query().toLowerCase().contains("count("));
+    }
+
+    @Test
+    @Order(3)
+    void statementStatistics_reset_cleared() {
+        // given the application is initialized
+        // and the 'statements' profile is active
+        // and the pedals were counted
+        guitarPedalRepository.count();
+        // when the statistics are reset
+        statementStatistics.reset();
+        // then no statements are reported
+        assertTrue(statementStatistics.collect().isEmpty());
+    }
+
+    @Test
+    @Order(4)
+    void statementStatistics_nestedStatements_notCounted() throws SQLException {
+        // given the application is initialized
+        // and the 'statements' profile is active
+        // and a trigger inserts into another table whenever a pedal is updated
+        try (final var connection = dataSource.getConnection();
+             final var statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE guitar_pedal_audit (id BIGINT NOT NULL)");
+            statement.execute("CREATE FUNCTION audit_guitar_pedal() RETURNS trigger LANGUAGE plpgsql AS $$ "
+                    + "BEGIN INSERT INTO guitar_pedal_audit (id) VALUES (NEW.id); RETURN NULL; END $$");
+            statement.execute("CREATE TRIGGER audit_guitar_pedal AFTER UPDATE ON guitar_pedal "
+                    + "FOR EACH ROW EXECUTE PROCEDURE audit_guitar_pedal()");
+        }
+        statementStatistics.reset();
+        // when a pedal is updated
+        try (final var connection = dataSource.getConnection();
+             final var statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE guitar_pedal SET name = name WHERE id = 1");
+        }
+        // then only the update is reported, not the insert nested in the trigger
+        final var entries = statementStatistics.collect();
+        assertEquals(1, entries.size());
+        assertTrue(entries.get(0).query().toLowerCase().startsWith("update guitar_pedal"));
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.quinnandrews.spring.local.postgresql;
+
+import io.github.quinnandrews.spring.local.postgresql.application.Application;
+import io.github.quinnandrews.spring.local.postgresql.config.LocalPostgreSQLEndpoint;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext
+@ActiveProfiles("statistics")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = Application.class)
+public class StatisticsPostgreSQLContainerConfigTest {
+
+    @Autowired(required = false)
+    private LocalPostgreSQLEndpoint localPostgreSQLEndpoint;
+
+    @Autowired(required = false)
+    @Qualifier("containerStatisticsMetrics")
+    private MeterBinder containerStatisticsMetrics;
+
+    @Test
+    @Order(1)
+    void endpoint_reportsStatistics() {
+        // given the application is initialized
+        // and the 'statistics' profile is active
+        // then the endpoint reports the statistics of the container and the database
+        assertNotNull(localPostgreSQLEndpoint);
+        final var sample = localPostgreSQLEndpoint.statistics();
+        assertNotNull(sample);
+        assertTrue(sample.container().getOrDefault("memory_usage_bytes", 0.0) > 0);
+        assertTrue(sample.database().getOrDefault("xact_commit", 0.0) > 0);
+        assertTrue(sample.bgwriter().containsKey("buffers_alloc"));
+        // the application's connection pool is connected to the database
+        assertTrue(sample.activity().getOrDefault("total", 0.0) > 0);
+    }
+
+    @Test
+    @Order(2)
+    void gauges_publishedOnInterval() throws InterruptedException {
+        // given the application is initialized
+        // and the 'statistics' profile is active
+        // when the metrics are bound to a MeterRegistry
+        assertNotNull(containerStatisticsMetrics);
+        final var registry = new SimpleMeterRegistry();
+        containerStatisticsMetrics.bindTo(registry);
+        // then the statistics are published as gauges once sampled (every second)
+        Gauge gauge = null;
+        final var deadline = System.currentTimeMillis() + 10_000;
+        while (gauge == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(250);
+            gauge = registry.find("local.postgresql.stat.database").tag("statistic", "xact_commit").gauge();
+        }
+        assertNotNull(gauge);
+        assertTrue(gauge.value() > 0);
+        assertNotNull(registry.find("local.postgresql.container.stats").tag("statistic", "memory_usage_bytes").gauge());
+        assertNotNull(registry.find("local.postgresql.stat.bgwriter").tag("statistic", "buffers_alloc").gauge());
+        assertNotNull(registry.find("local.postgresql.stat.activity").tag("statistic", "total").gauge());
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.quinnandrews.spring.local.postgresql;
+
+import io.github.quinnandrews.spring.local.postgresql.application.Application;
+import io.github.quinnandrews.spring.local.postgresql.application.data.guitarpedals.repository.GuitarPedalRepository;
+import io.github.quinnandrews.spring.local.postgresql.config.Workload;
+import io.github.quinnandrews.spring.local.postgresql.config.WorkloadRunner;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext
+@ActiveProfiles("workload")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = Application.class)
+public class WorkloadPostgreSQLContainerConfigTest {
+
+    @Autowired(required = false)
+    private WorkloadRunner workloadRunner;
+
+    @Autowired(required = false)
+    private GuitarPedalRepository guitarPedalRepository;
+
+    @Test
+    @Order(1)
+    void workloadRunner_initialized() {
+        // given the application is initialized
+        // and the 'workload' profile is active
+        // then the workload runner is initialized
+        assertNotNull(workloadRunner);
+    }
+
+    @Test
+    @Order(2)
+    void configuredWorkload_reported() {
+        // given the application is initialized
+        // and the 'workload' profile is active
+        // when the configured workload is run
+        final var report = workloadRunner.run();
+        // then each stage of the ramp-up is reported
+        assertEquals(2, report.stages().size());
+        assertEquals(1, report.stages().get(0).concurrency());
+        assertEquals(2, report.stages().get(1).concurrency());
+        // and each operation was called without errors
+        report.stages().forEach(stage -> stage.operations().forEach(operation -> {
+            assertTrue(operation.calls() > 0);
+            assertEquals(0, operation.errors());
+            assertTrue(operation.p50Millis() <= operation.p99Millis());
+            assertTrue(operation.p99Millis() <= operation.p999Millis());
+            assertTrue(operation.p999Millis() <= operation.maxMillis());
+        }));
+        // and the report is available as text and JSON
+        assertTrue(report.toText().contains("by-id"));
+        assertTrue(report.toJson().contains("\"p999Millis\""));
+    }
+
+    @Test
+    @Order(3)
+    void repositoryWorkload_reported() {
+        // given the application is initialized
+        // and the 'workload' profile is active
+        // when a workload of repository calls is run
+        final var report = workloadRunner.run(Workload.builder("repository")
+                .call("count", 1, guitarPedalRepository::count)
+                .rampUp(1, 3, 2, Duration.ofMillis(500))
+                .build());
+        // then the ramp-up ran from one to three workers
+        assertEquals(2, report.stages().size());
+        assertEquals(3, report.stages().get(1).concurrency());
+        // and the calls were measured
+        assertTrue(report.stages().get(0).operations().get(0).calls() > 0);
+        assertEquals(0, report.stages().get(0).operations().get(0).errors());
+    }
+}
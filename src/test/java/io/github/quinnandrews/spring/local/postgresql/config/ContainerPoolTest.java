@@ -0,0 +1,172 @@
+package io.github.quinnandrews.spring.local.postgresql.config;
+
+import org.junit.jupiter.api.Test;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContainerPoolTest {
+
+    private static final String REUSE_PROPERTY = "testcontainers.reuse.enable";
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Test
+    void warm_reuseDisabled_notWarmed() {
+        // given Container reuse is not enabled
+        // and this JVM has leased a slot of a pool of 2
+        final var fingerprint = UUID.randomUUID().toString().replace("-", "");
+        ContainerPool.lease(fingerprint, 2, TIMEOUT);
+        // when the free slots are warmed
+        // then no Container is created
+        withReuse("false", () -> ContainerPool.warm(fingerprint, 2,
+                slot -> fail("slot " + slot + " is warmed without reuse")));
+    }
+
+    @Test
+    void lease_keptWhileWarming() throws Exception {
+        // given this JVM has leased a slot of a pool of 3
+        final var fingerprint = UUID.randomUUID().toString().replace("-", "");
+        final var leased = ContainerPool.lease(fingerprint, 3, TIMEOUT);
+        assertEquals(0, leased);
+        // when the free slots are warmed (with Containers that start once released)
+        final var warming = new CountDownLatch(2);
+        final var release = new CountDownLatch(1);
+        final var warmed = ConcurrentHashMap.<Integer>newKeySet();
+        withReuse("true", () -> ContainerPool.warm(fingerprint, 3,
+                slot -> new BlockingContainer(slot, warming, release, warmed)));
+        assertTrue(warming.await(10, TimeUnit.SECONDS));
+        // then only the free slots are warmed
+        // and no other JVM can lock the leased slot, nor the slots being warmed
+        assertFalse(lockableByAnotherJvm(ContainerPool.lockFile(fingerprint, 0)));
+        assertFalse(lockableByAnotherJvm(ContainerPool.lockFile(fingerprint, 1)));
+        assertFalse(lockableByAnotherJvm(ContainerPool.lockFile(fingerprint, 2)));
+        // and warming again does not touch the slots held by this JVM
+        withReuse("true", () -> ContainerPool.warm(fingerprint, 3,
+                slot -> fail("slot " + slot + " is held by this JVM")));
+        assertFalse(lockableByAnotherJvm(ContainerPool.lockFile(fingerprint, 0)));
+        // when the warmed Containers have started
+        release.countDown();
+        final var deadline = System.currentTimeMillis() + 10_000;
+        while (!(lockableByAnotherJvm(ContainerPool.lockFile(fingerprint, 1))
+                && lockableByAnotherJvm(ContainerPool.lockFile(fingerprint, 2)))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        // then the warmed slots are free for other JVMs
+        assertEquals(Set.of(1, 2), warmed);
+        assertTrue(lockableByAnotherJvm(ContainerPool.lockFile(fingerprint, 1)));
+        assertTrue(lockableByAnotherJvm(ContainerPool.lockFile(fingerprint, 2)));
+        // but this JVM still holds its lease
+        assertFalse(lockableByAnotherJvm(ContainerPool.lockFile(fingerprint, 0)));
+        assertEquals(leased, ContainerPool.lease(fingerprint, 3, TIMEOUT));
+    }
+
+    @Test
+    void lease_allSlotsHeld_timesOut() throws Exception {
+        // given the only slot of a pool of 1 is held while its Container is warmed
+        final var fingerprint = UUID.randomUUID().toString().replace("-", "");
+        final var warming = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        withReuse("true", () -> ContainerPool.warm(fingerprint, 1,
+                slot -> new BlockingContainer(slot, warming, release, ConcurrentHashMap.newKeySet())));
+        assertTrue(warming.await(10, TimeUnit.SECONDS));
+        try {
+            // when a slot is leased
+            // then the lease gives up once the timeout has passed, naming the lock files
+            final var e = assertThrows(IllegalStateException.class,
+                    () -> ContainerPool.lease(fingerprint, 1, Duration.ofMillis(300)));
+            assertTrue(e.getMessage().contains(ContainerPool.lockFile(fingerprint, 0).getParent().toString()));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    /**
+     * Runs the given action with Container reuse enabled or not, as if it were set in
+     * '~/.testcontainers.properties', unless the environment overrides it.
+     */
+    private static void withReuse(final String enabled,
+                                  final Runnable action) {
+        final var properties = TestcontainersConfiguration.getInstance().getUserProperties();
+        final var previous = properties.getProperty(REUSE_PROPERTY);
+        properties.setProperty(REUSE_PROPERTY, enabled);
+        try {
+            action.run();
+        } finally {
+            if (previous == null) {
+                properties.remove(REUSE_PROPERTY);
+            } else {
+                properties.setProperty(REUSE_PROPERTY, previous);
+            }
+        }
+    }
+
+    private static boolean lockableByAnotherJvm(final Path file) throws IOException, InterruptedException {
+        final var java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        final var process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                LockProbe.class.getName(), file.toString())
+                .inheritIO()
+                .start();
+        assertTrue(process.waitFor(30, TimeUnit.SECONDS));
+        return process.exitValue() == 0;
+    }
+
+    /**
+     * Exits with 0 if the given file can be locked, and 1 if not.
+     */
+    public static class LockProbe {
+
+        public static void main(final String[] args) throws IOException {
+            try (final var channel = FileChannel.open(Path.of(args[0]),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                System.exit(channel.tryLock() != null ? 0 : 1);
+            }
+        }
+    }
+
+    /**
+     * Stands in for a Container that takes until it is released to start.
+     */
+    private static class BlockingContainer extends LocalPostgreSQLContainer {
+
+        private final int slot;
+        private final CountDownLatch warming;
+        private final CountDownLatch release;
+        private final Set<Integer> warmed;
+
+        BlockingContainer(final int slot,
+                          final CountDownLatch warming,
+                          final CountDownLatch release,
+                          final Set<Integer> warmed) {
+            super(DockerImageName.parse("postgres:15"));
+            this.slot = slot;
+            this.warming = warming;
+            this.release = release;
+            this.warmed = warmed;
+        }
+
+        @Override
+        public void start() {
+            warming.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            warmed.add(slot);
+        }
+    }
+}
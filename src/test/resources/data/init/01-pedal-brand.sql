@@ -0,0 +1,7 @@
+CREATE TABLE pedal_brand (
+    id BIGINT NOT NULL PRIMARY KEY,
+    name VARCHAR(63) NOT NULL
+);
+
+INSERT INTO pedal_brand (id, name) VALUES (1, 'Electro-Harmonix');
+INSERT INTO pedal_brand (id, name) VALUES (2, 'Boss');
@@ -0,0 +1,8 @@
+-- Cannot run in a transaction, so it runs on its own.
+CREATE DATABASE pedal_archive;
+
+DO $$
+BEGIN
+    INSERT INTO pedal_brand (id, name) VALUES (3, 'Ibanez');
+END
+$$;
@@ -0,0 +1,4 @@
+CREATE SEQUENCE pedal_brand_id_seq OWNED BY pedal_brand.id;
+
+-- Returns a row, so it cannot be sent in a batch.
+SELECT setval('pedal_brand_id_seq', 100);
@@ -0,0 +1,12 @@
+CREATE TABLE manufacturer (
+    id BIGINT NOT NULL PRIMARY KEY,
+    name VARCHAR(63) NOT NULL
+);
+
+CREATE TABLE pedal_model (
+    id BIGINT NOT NULL PRIMARY KEY,
+    manufacturer_id BIGINT NOT NULL REFERENCES manufacturer (id),
+    name VARCHAR(63) NOT NULL
+);
+
+CREATE INDEX pedal_model_manufacturer_id_idx ON pedal_model (manufacturer_id);
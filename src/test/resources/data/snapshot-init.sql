@@ -0,0 +1,6 @@
+CREATE TABLE IF NOT EXISTS init_script_run (
+    id SERIAL PRIMARY KEY,
+    ran_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+INSERT INTO init_script_run DEFAULT VALUES;